@@ -0,0 +1,123 @@
+package com.example.loanmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files, a baseline and the current build, and prints a Markdown table
+ * of the change in every benchmark.
+ * <p>
+ * A benchmark regressed when it got worse by more than the threshold and the two scores' error
+ * intervals do not overlap, so noise alone does not fail the build. Throughput is better when higher,
+ * the time modes when lower. The exit status is 1 when anything regressed.
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.loanmanagement.benchmark.BaselineReport baseline.json current.json [threshold-percent]
+ * </pre>
+ */
+public final class BaselineReport {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    private BaselineReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: BaselineReport <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        List<String> regressions = new ArrayList<>();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "Regression threshold: %.1f%%%n%n", threshold));
+        report.append("| Benchmark | Mode | Baseline | Current | Change | Verdict |\n");
+        report.append("|-----------|------|----------|---------|--------|---------|\n");
+        Map<String, Result> all = new TreeMap<>(baseline);
+        current.forEach(all::putIfAbsent);
+        for (String key : all.keySet()) {
+            Result before = baseline.get(key);
+            Result after = current.get(key);
+            Result any = before != null ? before : after;
+            String verdict;
+            String change = "";
+            if (before == null) {
+                verdict = "new";
+            } else if (after == null) {
+                verdict = "removed";
+            } else {
+                double percent = (after.score - before.score) / before.score * 100;
+                // Positive when the benchmark got worse
+                double worse = any.higherIsBetter() ? -percent : percent;
+                boolean overlap = after.score - after.error <= before.score + before.error
+                        && before.score - before.error <= after.score + after.error;
+                change = String.format(Locale.ROOT, "%+.1f%%", percent);
+                if (worse > threshold && !overlap) {
+                    verdict = "REGRESSION";
+                    regressions.add(key);
+                } else if (-worse > threshold && !overlap) {
+                    verdict = "improved";
+                } else {
+                    verdict = "unchanged";
+                }
+            }
+            report.append("| ").append(key)
+                    .append(" | ").append(any.mode)
+                    .append(" | ").append(before == null ? "" : before.format())
+                    .append(" | ").append(after == null ? "" : after.format())
+                    .append(" | ").append(change)
+                    .append(" | ").append(verdict)
+                    .append(" |\n");
+        }
+        report.append('\n').append(regressions.isEmpty()
+                ? "No regressions."
+                : regressions.size() + " regression(s): " + String.join(", ", regressions));
+        System.out.println(report);
+        System.exit(regressions.isEmpty() ? 0 : 1);
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            String benchmark = run.get("benchmark").asText();
+            StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+            JsonNode params = run.get("params");
+            if (params != null) {
+                List<String> values = new ArrayList<>();
+                for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> param = it.next();
+                    values.add(param.getKey() + "=" + param.getValue().asText());
+                }
+                key.append(' ').append(values);
+            }
+            JsonNode metric = run.get("primaryMetric");
+            double error = metric.get("scoreError").asDouble();
+            results.put(key.toString(), new Result(run.get("mode").asText(), metric.get("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.get("scoreUnit").asText()));
+        }
+        return results;
+    }
+
+    private record Result(String mode, double score, double error, String unit) {
+
+        private boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+
+        private String format() {
+            return String.format(Locale.ROOT, "%.3f +- %.3f %s", score, error, unit);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.loanmanagement.benchmark;
+
+import com.example.loanmanagement.entity.EmiSchedule;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.LoanStatus;
+import com.example.loanmanagement.mail.MailTemplateRegistry;
+import com.example.loanmanagement.notification.NotificationDigest;
+import com.example.loanmanagement.service.impl.EmailServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message rendering in {@link EmailServiceImpl}: building the model and rendering the compiled
+ * templates for each notification. The mail sender hands the rendered messages to a blackhole
+ * instead of an SMTP server.
+ * <p>
+ * The {@code stringFormat*} benchmarks render the same messages the way the service did before
+ * the templates, with {@code String.format} and one shared {@code NumberFormat}, as the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailRenderingBenchmark {
+
+    private EmailServiceImpl emailService;
+    private StringFormatRendering stringFormat;
+    private RenderingMailSender mailSender;
+    private LoanApplication loan;
+    private EmiSchedule emi;
+    private List<EmiSchedule> reminders;
+    private List<NotificationDigest> digests;
+
+    @Setup
+    public void setUp() {
+        mailSender = new RenderingMailSender();
+        emailService = new EmailServiceImpl(mailSender, new MailTemplateRegistry("en-IN"));
+        stringFormat = new StringFormatRendering(mailSender);
+
+        User user = Fixtures.user();
+        loan = Fixtures.loan(user, 240);
+        List<EmiSchedule> schedule = Fixtures.schedule(loan);
+        emi = schedule.get(6);
+        reminders = schedule.subList(6, 56);
+
+        // A digest with two status changes and three reminders, the case that renders item templates
+        NotificationDigest digest = new NotificationDigest(user.getEmail(), user.getFullName());
+        digest.getStatusChanges().add(new NotificationDigest.StatusChange(loan, List.of(LoanStatus.UNDER_REVIEW, LoanStatus.APPROVED)));
+        digest.getStatusChanges().add(new NotificationDigest.StatusChange(Fixtures.loan(user, 120), List.of(LoanStatus.REJECTED)));
+        digest.getReminders().addAll(schedule.subList(6, 9));
+        digests = List.of(digest);
+    }
+
+    @Benchmark
+    public void loanApplicationConfirmation(Blackhole blackhole) {
+        mailSender.blackhole = blackhole;
+        emailService.sendLoanApplicationConfirmation(loan.getApplicant().getEmail(), loan);
+    }
+
+    @Benchmark
+    public void loanStatusUpdate(Blackhole blackhole) {
+        mailSender.blackhole = blackhole;
+        emailService.sendLoanStatusUpdate(loan.getApplicant().getEmail(), loan);
+    }
+
+    @Benchmark
+    public void emiPaymentConfirmation(Blackhole blackhole) {
+        mailSender.blackhole = blackhole;
+        emailService.sendEmiPaymentConfirmation(loan.getApplicant().getEmail(), emi);
+    }
+
+    @Benchmark
+    public void emiReminderBatchOf50(Blackhole blackhole) {
+        mailSender.blackhole = blackhole;
+        emailService.sendEmiReminders(reminders);
+    }
+
+    @Benchmark
+    public void notificationDigest(Blackhole blackhole) {
+        mailSender.blackhole = blackhole;
+        emailService.sendNotificationDigests(digests);
+    }
+
+    @Benchmark
+    public void stringFormatLoanApplicationConfirmation(Blackhole blackhole) {
+        mailSender.blackhole = blackhole;
+        stringFormat.sendLoanApplicationConfirmation(loan.getApplicant().getEmail(), loan);
+    }
+
+    @Benchmark
+    public void stringFormatLoanStatusUpdate(Blackhole blackhole) {
+        mailSender.blackhole = blackhole;
+        stringFormat.sendLoanStatusUpdate(loan.getApplicant().getEmail(), loan);
+    }
+
+    @Benchmark
+    public void stringFormatEmiPaymentConfirmation(Blackhole blackhole) {
+        mailSender.blackhole = blackhole;
+        stringFormat.sendEmiPaymentConfirmation(loan.getApplicant().getEmail(), emi);
+    }
+
+    @Benchmark
+    public void stringFormatEmiReminderBatchOf50(Blackhole blackhole) {
+        mailSender.blackhole = blackhole;
+        // One message per installment, as the scheduler sent them before batching
+        for (EmiSchedule reminder : reminders) {
+            stringFormat.sendEmiReminder(reminder.getLoan().getApplicant().getEmail(), reminder);
+        }
+    }
+
+    /**
+     * The rendering of the service before the compiled templates, kept verbatim apart from the
+     * error handling and logging, which both sides skip on the happy path.
+     */
+    private static final class StringFormatRendering {
+
+        private static final String FROM_EMAIL = "noreply@loanmanagement.com";
+
+        private final RenderingMailSender mailSender;
+        private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.of("en", "IN"));
+        private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
+
+        private StringFormatRendering(RenderingMailSender mailSender) {
+            this.mailSender = mailSender;
+        }
+
+        void sendLoanApplicationConfirmation(String email, LoanApplication loan) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(FROM_EMAIL);
+            message.setTo(email);
+            message.setSubject("Loan Application Received - Application ID: " + loan.getId());
+            message.setText(String.format(
+                    "Dear %s,\n\n" +
+                    "Your home loan application has been received successfully.\n\n" +
+                    "Application Details:\n" +
+                    "Application ID: %s\n" +
+                    "Loan Amount: %s\n" +
+                    "Property Value: %s\n" +
+                    "Tenure: %d months (%d years)\n" +
+                    "Interest Rate: %.2f%%\n" +
+                    "Application Date: %s\n\n" +
+                    "Your application is currently under review. We will notify you once it's processed.\n\n" +
+                    "Thank you for choosing our services.\n\n" +
+                    "Best Regards,\n" +
+                    "Loan Management Team",
+                    loan.getApplicant().getFullName(),
+                    loan.getId(),
+                    currencyFormatter.format(loan.getAmount()),
+                    currencyFormatter.format(loan.getPropertyValue()),
+                    loan.getTenureMonths(),
+                    loan.getTenureMonths() / 12,
+                    loan.getInterestRate(),
+                    loan.getSubmittedAt().format(dateFormatter)
+            ));
+            mailSender.send(message);
+        }
+
+        void sendLoanStatusUpdate(String email, LoanApplication loan) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(FROM_EMAIL);
+            message.setTo(email);
+            message.setSubject("Loan Application Status Update - ID: " + loan.getId());
+            String statusMessage = "Your loan application status has been updated to: " + loan.getStatus();
+            message.setText(String.format(
+                    "Dear %s,\n\n" +
+                    "%s\n\n" +
+                    "Application ID: %s\n" +
+                    "Loan Amount: %s\n\n" +
+                    "For any queries, please contact our support team.\n\n" +
+                    "Best Regards,\n" +
+                    "Loan Management Team",
+                    loan.getApplicant().getFullName(),
+                    statusMessage,
+                    loan.getId(),
+                    currencyFormatter.format(loan.getAmount())
+            ));
+            mailSender.send(message);
+        }
+
+        void sendEmiPaymentConfirmation(String email, EmiSchedule emi) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(FROM_EMAIL);
+            message.setTo(email);
+            message.setSubject("EMI Payment Confirmation - Loan ID: " + emi.getLoan().getId());
+            message.setText(String.format(
+                    "Dear %s,\n\n" +
+                    "Your EMI payment has been received successfully.\n\n" +
+                    "Payment Details:\n" +
+                    "Loan ID: %s\n" +
+                    "Amount Paid: %s\n" +
+                    "Due Date: %s\n" +
+                    "Transaction ID: %s\n\n" +
+                    "Thank you for your timely payment.\n\n" +
+                    "Best Regards,\n" +
+                    "Loan Management Team",
+                    emi.getLoan().getApplicant().getFullName(),
+                    emi.getLoan().getId(),
+                    currencyFormatter.format(emi.getAmount()),
+                    emi.getDueDate().format(dateFormatter),
+                    emi.getTransactionId()
+            ));
+            mailSender.send(message);
+        }
+
+        void sendEmiReminder(String email, EmiSchedule emi) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(FROM_EMAIL);
+            message.setTo(email);
+            message.setSubject("EMI Payment Reminder - Due Date: " + emi.getDueDate().format(dateFormatter));
+            message.setText(String.format(
+                    "Dear %s,\n\n" +
+                    "This is a reminder that your EMI payment is due.\n\n" +
+                    "EMI Details:\n" +
+                    "Loan ID: %s\n" +
+                    "Due Date: %s\n" +
+                    "Amount Due: %s\n\n" +
+                    "Please ensure sufficient balance in your account to avoid late payment charges.\n\n" +
+                    "Best Regards,\n" +
+                    "Loan Management Team",
+                    emi.getLoan().getApplicant().getFullName(),
+                    emi.getLoan().getId(),
+                    emi.getDueDate().format(dateFormatter),
+                    currencyFormatter.format(emi.getAmount())
+            ));
+            mailSender.send(message);
+        }
+    }
+
+    private static final class RenderingMailSender extends JavaMailSenderImpl {
+
+        private Blackhole blackhole;
+
+        @Override
+        public void send(SimpleMailMessage... messages) {
+            for (SimpleMailMessage message : messages) {
+                blackhole.consume(message.getText());
+            }
+        }
+    }
+}
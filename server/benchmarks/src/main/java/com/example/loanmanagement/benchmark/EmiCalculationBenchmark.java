@@ -0,0 +1,53 @@
+package com.example.loanmanagement.benchmark;
+
+import com.example.loanmanagement.service.impl.LoanServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LoanServiceImpl#calculateMonthlyEMI} across tenures. The cost is dominated by
+ * {@code (1 + R)^N} in {@code BigDecimal}, whose digits grow with the tenure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmiCalculationBenchmark {
+
+    @Param({"12", "60", "120", "240", "360"})
+    public int tenureMonths;
+
+    @Param({"8.50", "0"})
+    public String annualInterestRate;
+
+    private LoanServiceImpl loanService;
+    private BigDecimal principal;
+    private BigDecimal rate;
+
+    @Setup
+    public void setUp() {
+        // The calculation touches none of the collaborators
+        loanService = new LoanServiceImpl(null, null, null, null, null);
+        principal = new BigDecimal("4500000.00");
+        rate = new BigDecimal(annualInterestRate);
+    }
+
+    @Benchmark
+    public BigDecimal calculateMonthlyEmi() {
+        return loanService.calculateMonthlyEMI(principal, rate, tenureMonths);
+    }
+}
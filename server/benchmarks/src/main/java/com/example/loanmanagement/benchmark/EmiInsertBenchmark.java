@@ -0,0 +1,146 @@
+package com.example.loanmanagement.benchmark;
+
+import com.example.loanmanagement.entity.id.UuidV7Generator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of EMI rows keyed by random (v4) versus time-ordered (v7) UUIDs.
+ * <p>
+ * Each invocation writes one loan's schedule as a JDBC batch in its own transaction, the way a
+ * loan approval does. The table is preloaded so the primary key index is already larger than a
+ * few pages; on InnoDB random keys then split pages all over the clustered index while
+ * time-ordered keys only append. The score is rows per second.
+ * <p>
+ * Runs against in-memory H2 by default. For numbers that mean something, point it at MySQL:
+ * {@code -p url=jdbc:mysql://localhost:3306/loan_bench?createDatabaseIfNotExist=true&rewriteBatchedStatements=true -p user=root -p password=root}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class EmiInsertBenchmark {
+
+    private static final int INSTALLMENTS = 240;
+    private static final BigDecimal AMOUNT = new BigDecimal("43391.16");
+
+    @Param({"RANDOM_V4", "TIME_ORDERED_V7"})
+    public IdStrategy ids;
+
+    @Param("jdbc:h2:mem:emi_bench;MODE=MySQL;DB_CLOSE_DELAY=-1")
+    public String url;
+
+    @Param("sa")
+    public String user;
+
+    @Param("")
+    public String password;
+
+    @Param("500000")
+    public int preloadRows;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private String table;
+
+    public enum IdStrategy {
+        RANDOM_V4 {
+            @Override
+            UUID next() {
+                return UUID.randomUUID();
+            }
+        },
+        TIME_ORDERED_V7 {
+            @Override
+            UUID next() {
+                return UuidV7Generator.next();
+            }
+        };
+
+        abstract UUID next();
+    }
+
+    @Setup(Level.Trial)
+    public void createTable() throws SQLException {
+        connection = DriverManager.getConnection(url, user, password);
+        table = "emi_schedule_bench_" + ids.name().toLowerCase();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + table);
+            // Same columns and key as emi_schedule, without the foreign key to loans
+            statement.execute("create table " + table + " ("
+                    + "id binary(16) not null, "
+                    + "loan_id binary(16) not null, "
+                    + "due_date date not null, "
+                    + "amount decimal(15,2) not null, "
+                    + "payment_status varchar(15) not null, "
+                    + "transaction_id varchar(255), "
+                    + "primary key (id))");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("insert into " + table
+                + " (id, loan_id, due_date, amount, payment_status) values (?, ?, ?, ?, 'PENDING')");
+        for (int row = 0; row < preloadRows; row += INSTALLMENTS) {
+            insertSchedule();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void dropTable() throws SQLException {
+        insert.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table " + table);
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSTALLMENTS)
+    public void insertSchedule() throws SQLException {
+        byte[] loanId = toBytes(ids.next());
+        LocalDate dueDate = LocalDate.of(2025, 1, 5);
+        for (int i = 0; i < INSTALLMENTS; i++) {
+            insert.setBytes(1, toBytes(ids.next()));
+            insert.setBytes(2, loanId);
+            insert.setDate(3, Date.valueOf(dueDate.plusMonths(i)));
+            insert.setBigDecimal(4, AMOUNT);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    // Same byte order as Hibernate's UUID to BINARY(16) mapping
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.loanmanagement.benchmark;
+
+import com.example.loanmanagement.entity.EmiSchedule;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.LoanStatus;
+import com.example.loanmanagement.entity.enums.PaymentStatus;
+import com.example.loanmanagement.entity.enums.Role;
+import com.example.loanmanagement.entity.id.UuidV7Generator;
+import com.example.loanmanagement.repository.UserRepository;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sample entities shaped like production data, and repository stubs for benchmarks that run
+ * service code without a database.
+ */
+final class Fixtures {
+
+    // The secret and issuer from application.yml
+    static final String JWT_SECRET = "YourSuperSecretJWTKeyThatIsAtLeast32CharactersLongForHS256Algorithm";
+    static final String JWT_ISSUER = "loan-manager";
+    static final long ACCESS_TOKEN_VALIDITY = 900_000;
+    static final long REFRESH_TOKEN_VALIDITY = 604_800_000;
+
+    private Fixtures() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(UuidV7Generator.next());
+        user.setFullName("Ananya Sharma");
+        user.setEmail("ananya.sharma@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3ZQxFOvYk1lZ8sF0ZJ8F9xW");
+        user.setRole(Role.USER);
+        user.setCreatedAt(OffsetDateTime.parse("2024-11-02T10:15:30+05:30"));
+        return user;
+    }
+
+    static LoanApplication loan(User applicant, int tenureMonths) {
+        LoanApplication loan = new LoanApplication();
+        loan.setId(UuidV7Generator.next());
+        loan.setApplicant(applicant);
+        loan.setAmount(new BigDecimal("4500000.00"));
+        loan.setPropertyValue(new BigDecimal("6200000.00"));
+        loan.setTenureMonths(tenureMonths);
+        loan.setInterestRate(new BigDecimal("8.50"));
+        loan.setPurpose("Purchase of a 2BHK apartment");
+        loan.setStatus(LoanStatus.APPROVED);
+        loan.setSubmittedAt(OffsetDateTime.parse("2025-01-06T09:30:00+05:30"));
+        loan.setUpdatedAt(OffsetDateTime.parse("2025-01-08T16:45:00+05:30"));
+        return loan;
+    }
+
+    static List<LoanApplication> loans(User applicant, int count) {
+        List<LoanApplication> loans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            loans.add(loan(applicant, 240));
+        }
+        return loans;
+    }
+
+    static List<EmiSchedule> schedule(LoanApplication loan) {
+        List<EmiSchedule> schedule = new ArrayList<>(loan.getTenureMonths());
+        LocalDate dueDate = LocalDate.of(2025, 2, 5);
+        for (int i = 0; i < loan.getTenureMonths(); i++) {
+            EmiSchedule emi = new EmiSchedule();
+            emi.setId(UuidV7Generator.next());
+            emi.setLoan(loan);
+            emi.setDueDate(dueDate.plusMonths(i));
+            emi.setAmount(new BigDecimal("39052.43"));
+            emi.setPaymentStatus(i < 6 ? PaymentStatus.PAID : PaymentStatus.PENDING);
+            emi.setTransactionId(i < 6 ? "TXN" + (100000 + i) : null);
+            schedule.add(emi);
+        }
+        return schedule;
+    }
+
+    /**
+     * A repository that finds {@code user} by id and supports nothing else.
+     */
+    static UserRepository userRepository(User user) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findById")) {
+                        return user.getId().equals(args[0]) ? Optional.of(user) : Optional.empty();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
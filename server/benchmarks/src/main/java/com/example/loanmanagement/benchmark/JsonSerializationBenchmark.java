@@ -0,0 +1,64 @@
+package com.example.loanmanagement.benchmark;
+
+import com.example.loanmanagement.entity.EmiSchedule;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the loan list and EMI schedule payloads, with the object mapper
+ * configured the way Spring Boot configures it for the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    // Loans in an admin list, and installments in a schedule
+    @Param({"10", "100"})
+    public int loans;
+
+    @Param({"60", "240"})
+    public int installments;
+
+    private ObjectWriter writer;
+    private List<LoanApplication> loanList;
+    private List<EmiSchedule> emiList;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        User user = Fixtures.user();
+        loanList = Fixtures.loans(user, loans);
+        emiList = Fixtures.schedule(Fixtures.loan(user, installments));
+    }
+
+    @Benchmark
+    public byte[] loanList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(loanList);
+    }
+
+    @Benchmark
+    public byte[] emiSchedule() throws JsonProcessingException {
+        return writer.writeValueAsBytes(emiList);
+    }
+}
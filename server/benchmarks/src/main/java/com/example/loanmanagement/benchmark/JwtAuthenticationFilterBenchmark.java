@@ -0,0 +1,80 @@
+package com.example.loanmanagement.benchmark;
+
+import com.example.loanmanagement.config.filter.JwtAuthenticationFilter;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.service.impl.JwtServiceImpl;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtAuthenticationFilter} end to end, from the {@code Authorization} header to the
+ * populated security context, with the user repository stubbed out so only the filter's own work is
+ * measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"ACCESS", "REFRESH", "INVALID", "NONE"})
+    public TokenKind token;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    public enum TokenKind {
+        ACCESS, REFRESH, INVALID, NONE
+    }
+
+    @Setup
+    public void setUp() {
+        User user = Fixtures.user();
+        JwtServiceImpl jwtService = new JwtServiceImpl(Fixtures.userRepository(user), Fixtures.JWT_SECRET,
+                Fixtures.ACCESS_TOKEN_VALIDITY, Fixtures.REFRESH_TOKEN_VALIDITY, Fixtures.JWT_ISSUER);
+        filter = new JwtAuthenticationFilter(jwtService, Fixtures.userRepository(user));
+
+        String accessToken = jwtService.generateTokens(user).getAccessToken();
+        authorization = switch (token) {
+            case ACCESS -> "Bearer " + accessToken;
+            case REFRESH -> "Bearer " + jwtService.generateTokens(user).getRefreshToken();
+            // A valid token with a tampered signature
+            case INVALID -> "Bearer " + accessToken.substring(0, accessToken.length() - 4) + "AAAA";
+            case NONE -> null;
+        };
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/loans/my-loans");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.loanmanagement.benchmark;
+
+import com.example.loanmanagement.dto.AuthResponse;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.service.impl.JwtServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and parsing tokens with {@link JwtServiceImpl}: a login issues an access and a refresh
+ * token, and every authenticated request parses its access token twice, once for the type and once
+ * for the subject.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtServiceImpl jwtService;
+    private User user;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.user();
+        jwtService = new JwtServiceImpl(Fixtures.userRepository(user), Fixtures.JWT_SECRET,
+                Fixtures.ACCESS_TOKEN_VALIDITY, Fixtures.REFRESH_TOKEN_VALIDITY, Fixtures.JWT_ISSUER);
+        accessToken = jwtService.generateTokens(user).getAccessToken();
+    }
+
+    @Benchmark
+    public AuthResponse generateTokens() {
+        return jwtService.generateTokens(user);
+    }
+
+    @Benchmark
+    public UUID extractUserId() {
+        return jwtService.extractUserId(accessToken);
+    }
+
+    @Benchmark
+    public UUID verifyAccessToken() {
+        // What JwtAuthenticationFilter does per request
+        return jwtService.isRefreshToken(accessToken) ? null : jwtService.extractUserId(accessToken);
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.loanmanagement.benchmark.seed;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fills a database with a synthetic portfolio, to see how queries, indexes and the schedulers
+ * behave at production scale: users, their loans, the loans' EMI schedules with payment history,
+ * and document metadata; see {@link LoanGenerator} for the distributions.
+ * <p>
+ * Work is split into chunks of loans that {@code --writers} threads, each on its own connection,
+ * take in turn; every chunk is written as multi-row inserts and committed on its own. The content
+ * of a chunk, keys included, depends only on {@code --seed}, {@code --as-of} and its number, so the
+ * same options give the same portfolio. A million loans come to about 290 million installments.
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.loanmanagement.benchmark.seed.DataSeeder \
+ *   [--url jdbc:...] [--user root] [--password root] [--users 400000] [--loans 1000000] \
+ *   [--writers 4] [--chunk-loans 200] [--rows-per-statement 500] [--seed 42] [--as-of 2025-01-31] \
+ *   [--no-migrate]
+ * </pre>
+ */
+public final class DataSeeder {
+
+    private static final String DEFAULT_URL = "jdbc:h2:../h2/loan_management;MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+    private static final String PASSWORD = "password";
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(5);
+
+    private static final String[] USER_COLUMNS = {"id", "full_name", "email", "password", "role", "created_at", "updated_at"};
+    private static final String[] LOAN_COLUMNS = {"id", "user_id", "amount", "tenure_months", "property_value",
+            "interest_rate", "purpose", "status", "submitted_at", "updated_at"};
+    private static final String[] EMI_COLUMNS = {"id", "loan_id", "due_date", "amount", "payment_status", "transaction_id"};
+    private static final String[] DOCUMENT_COLUMNS = {"id", "loan_id", "document_type", "file_name", "file_path",
+            "content_hash", "file_size", "content_encoding", "uploaded_at"};
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Vivaan", "Aditya", "Arjun", "Sai", "Rohan", "Ishaan", "Kabir",
+            "Ananya", "Diya", "Priya", "Kavya", "Meera", "Saanvi", "Riya", "Neha", "Rahul", "Vikram", "Pooja", "Sneha"};
+    private static final String[] LAST_NAMES = {"Sharma", "Verma", "Patel", "Reddy", "Iyer", "Nair", "Gupta", "Singh",
+            "Kumar", "Mehta", "Joshi", "Rao", "Das", "Bose", "Kulkarni", "Menon", "Chopra", "Malhotra", "Pillai", "Shah"};
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int users;
+    private final long loanCount;
+    private final int writers;
+    private final int chunkLoans;
+    private final int rowsPerStatement;
+    private final long seed;
+    private final boolean migrate;
+    private final SeedDialect dialect;
+    // The history ends at the start of this day; keys are dated just before it
+    private final Instant now;
+    private final long userChunks;
+    private final long loanChunks;
+    private final long userChunkMillis;
+    private final long loanChunkMillis;
+
+    private final LongAdder userRows = new LongAdder();
+    private final LongAdder loanRows = new LongAdder();
+    private final LongAdder emiRows = new LongAdder();
+    private final LongAdder documentRows = new LongAdder();
+
+    // Filled by the user phase, read by the loan phase
+    private long[] userIdHigh;
+    private long[] userIdLow;
+    private long[] userCreatedAt;
+
+    private DataSeeder(Map<String, String> options) {
+        url = options.getOrDefault("url", DEFAULT_URL);
+        user = options.getOrDefault("user", "sa");
+        password = options.getOrDefault("password", "");
+        loanCount = Long.parseLong(options.getOrDefault("loans", "1000000"));
+        users = Integer.parseInt(options.getOrDefault("users", String.valueOf(Math.max(1, loanCount * 2 / 5))));
+        writers = Integer.parseInt(options.getOrDefault("writers", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        chunkLoans = Integer.parseInt(options.getOrDefault("chunk-loans", "200"));
+        rowsPerStatement = Integer.parseInt(options.getOrDefault("rows-per-statement", "500"));
+        seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        now = LocalDate.parse(options.getOrDefault("as-of", LocalDate.now(ZoneOffset.UTC).toString()))
+                .atStartOfDay(ZoneOffset.UTC).toInstant();
+        migrate = !options.containsKey("no-migrate");
+        dialect = SeedDialect.forUrl(url);
+        userChunks = Math.ceilDiv(users, chunkLoans);
+        loanChunks = Math.ceilDiv(loanCount, chunkLoans);
+        userChunkMillis = Math.ceilDiv(chunkLoans, SeedIds.KEYS_PER_MILLI);
+        loanChunkMillis = Math.ceilDiv((long) chunkLoans * LoanGenerator.MAX_KEYS_PER_LOAN, SeedIds.KEYS_PER_MILLI);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                System.err.println("Unexpected argument: " + args[i]);
+                System.exit(2);
+            }
+            String name = args[i].substring(2);
+            if (name.equals("no-migrate")) {
+                options.put(name, "true");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                System.err.println("Missing value for --" + name);
+                System.exit(2);
+            }
+        }
+        new DataSeeder(options).run();
+    }
+
+    private void run() throws Exception {
+        if (migrate) {
+            Flyway.configure()
+                    .dataSource(url, user, password)
+                    .locations(dialect.migrationLocation())
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .load()
+                    .migrate();
+        }
+        System.out.printf(Locale.ROOT, "Seeding %,d users and %,d loans into %s with %d writers%n", users, loanCount, url, writers);
+
+        long started = System.nanoTime();
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seed-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        progress.scheduleAtFixedRate(() -> report(started), PROGRESS_INTERVAL.toMillis(), PROGRESS_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            seedUsers();
+            seedLoans();
+        } finally {
+            progress.shutdownNow();
+        }
+        report(started);
+        System.out.printf(Locale.ROOT, "Done in %s; seeded users sign in with password '%s'%n",
+                Duration.ofNanos(System.nanoTime() - started).withNanos(0), PASSWORD);
+    }
+
+    private void seedUsers() throws Exception {
+        userIdHigh = new long[users];
+        userIdLow = new long[users];
+        userCreatedAt = new long[users];
+        // One hash for everybody: at BCrypt's cost a hash per user would take longer than the rest
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        // Users of another seed do not clash, so seeding again with a new seed adds to the database
+        String prefix = "seed-" + seed + "-";
+
+        inParallel(userChunks, (connection, chunk) -> {
+            SplittableRandom random = new SplittableRandom(seed * 31 + chunk);
+            SeedIds ids = new SeedIds(random.split(), firstMillis() + chunk * userChunkMillis);
+            LoanGenerator generator = new LoanGenerator(random, ids, now);
+            try (MultiRowInsert inserts = new MultiRowInsert(connection, dialect, "users", USER_COLUMNS, rowsPerStatement, userRows)) {
+                int end = (int) Math.min(users, (chunk + 1) * chunkLoans);
+                for (int index = (int) (chunk * chunkLoans); index < end; index++) {
+                    UUID id = ids.next();
+                    Instant createdAt = generator.signup();
+                    userIdHigh[index] = id.getMostSignificantBits();
+                    userIdLow[index] = id.getLeastSignificantBits();
+                    userCreatedAt[index] = createdAt.toEpochMilli();
+                    String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                    inserts.add(id, name, prefix + index + "@example.com", hash, "USER", createdAt, null);
+                }
+                inserts.flush();
+            }
+        });
+    }
+
+    private void seedLoans() throws Exception {
+        inParallel(loanChunks, (connection, chunk) -> {
+            // Offset from the user chunks' seeds
+            SplittableRandom random = new SplittableRandom(~seed * 31 + chunk);
+            // After all the users' keys
+            SeedIds ids = new SeedIds(random.split(),
+                    firstMillis() + userChunks * userChunkMillis + chunk * loanChunkMillis);
+            LoanGenerator generator = new LoanGenerator(random, ids, now);
+            try (MultiRowInsert loans = new MultiRowInsert(connection, dialect, "home_loan_applications", LOAN_COLUMNS, rowsPerStatement, loanRows);
+                 MultiRowInsert emis = new MultiRowInsert(connection, dialect, "emi_schedule", EMI_COLUMNS, rowsPerStatement, emiRows, loans);
+                 MultiRowInsert documents = new MultiRowInsert(connection, dialect, "loan_documents", DOCUMENT_COLUMNS, rowsPerStatement, documentRows, loans)) {
+                long end = Math.min(loanCount, (chunk + 1) * chunkLoans);
+                for (long loan = chunk * chunkLoans; loan < end; loan++) {
+                    int owner = random.nextInt(users);
+                    generator.generate(new UUID(userIdHigh[owner], userIdLow[owner]),
+                            Instant.ofEpochMilli(userCreatedAt[owner]), loans, emis, documents);
+                }
+                emis.flush();
+                documents.flush();
+                loans.flush();
+            }
+        });
+    }
+
+    /**
+     * The millisecond of the first user's key: every chunk has a range of its own, wide enough for
+     * its largest possible number of keys, and the last one ends at {@link #now}.
+     */
+    private long firstMillis() {
+        return now.toEpochMilli() - userChunks * userChunkMillis - loanChunks * loanChunkMillis;
+    }
+
+    /**
+     * Runs {@code chunks} chunks on the writer threads, committing after each, and fails on the
+     * first chunk that fails.
+     */
+    private void inParallel(long chunks, ChunkWriter writer) throws Exception {
+        AtomicLong nextChunk = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                futures.add(executor.submit(() -> {
+                    try (Connection connection = DriverManager.getConnection(url, user, password)) {
+                        connection.setAutoCommit(false);
+                        dialect.prepareSession(connection);
+                        for (long chunk; (chunk = nextChunk.getAndIncrement()) < chunks; ) {
+                            writer.write(connection, chunk);
+                            connection.commit();
+                        }
+                    } catch (Exception e) {
+                        // Stop the other writers after their current chunk
+                        nextChunk.set(chunks);
+                        throw e;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void report(long started) {
+        double seconds = Math.max(1e-3, (System.nanoTime() - started) / 1e9);
+        long rows = userRows.sum() + loanRows.sum() + emiRows.sum() + documentRows.sum();
+        long loans = loanRows.sum();
+        String eta = loans == 0 || loans >= loanCount
+                ? ""
+                : ", eta " + Duration.ofSeconds((long) (seconds / loans * (loanCount - loans)));
+        System.out.printf(Locale.ROOT, "users %,d  loans %,d/%,d  installments %,d  documents %,d  %,.0f rows/s%s%n",
+                userRows.sum(), loans, loanCount, emiRows.sum(), documentRows.sum(), rows / seconds, eta);
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(Connection connection, long chunk) throws SQLException;
+    }
+}
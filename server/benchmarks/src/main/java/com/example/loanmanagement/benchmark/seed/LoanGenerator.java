@@ -0,0 +1,198 @@
+package com.example.loanmanagement.benchmark.seed;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates one loan with its EMI schedule, payment history and document metadata, the way the
+ * server would have written them over the loan's life:
+ * <ul>
+ *   <li>amounts are log-normal around 35 lakh between 5 lakh and 5 crore, against a property worth
+ *       60-90% more; rates are normal around 8.75% between 7% and 12%; tenures are 15 to 30 years,
+ *       most of them 25 or 30</li>
+ *   <li>most loans are disbursed and paying; applications still in review are recent</li>
+ *   <li>installments of disbursed and approved loans that fell due are paid, except for a few
+ *       borrowers whose last one to three are overdue; closed loans were prepaid in full</li>
+ *   <li>documents are metadata only, stored the pre-deduplication way with no content hash, so
+ *       downloading one answers that the file is missing</li>
+ * </ul>
+ */
+final class LoanGenerator {
+
+    private static final int[] TENURES = {180, 240, 300, 360};
+    private static final int[] TENURE_WEIGHTS = {15, 25, 25, 35};
+
+    private static final String[] STATUSES = {"DISBURSED", "APPROVED", "CLOSED", "REJECTED", "SUBMITTED", "UNDER_REVIEW", "DRAFT"};
+    private static final int[] STATUS_WEIGHTS = {55, 10, 10, 10, 8, 5, 2};
+
+    private static final String[] PURPOSES = {
+            "Purchase of a new apartment", "Purchase of a resale flat", "Construction of an independent house",
+            "Home extension", "Plot purchase and construction", "Balance transfer from another lender"};
+
+    private static final String[] REQUIRED_DOCUMENTS = {"ID_PROOF", "ADDRESS_PROOF", "SALARY_SLIP"};
+
+    // The loan, its longest schedule, and every document including a bank statement and another one
+    static final int MAX_KEYS_PER_LOAN = 1 + TENURES[TENURES.length - 1] + REQUIRED_DOCUMENTS.length + 2;
+
+    private static final double OVERDUE_SHARE = 0.03;
+    private static final int HISTORY_DAYS = 3650;
+    private static final int PENDING_DAYS = 60;
+
+    private static final BigDecimal TWELVE = BigDecimal.valueOf(12);
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final SplittableRandom random;
+    private final SeedIds ids;
+    private final LocalDate today;
+    private final Instant now;
+
+    LoanGenerator(SplittableRandom random, SeedIds ids, Instant now) {
+        this.random = random;
+        this.ids = ids;
+        this.now = now;
+        this.today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+    }
+
+    /**
+     * A user's signup time, uniformly spread over the ten years of history.
+     */
+    Instant signup() {
+        return now.minus(random.nextLong(1, HISTORY_DAYS * 86_400L), ChronoUnit.SECONDS);
+    }
+
+    /**
+     * Writes a loan of the user who signed up at {@code userCreatedAt}, submitted after that.
+     */
+    void generate(UUID userId, Instant userCreatedAt, MultiRowInsert loans, MultiRowInsert emis,
+                  MultiRowInsert documents) throws SQLException {
+        UUID loanId = ids.next();
+        String status = pick(STATUSES, STATUS_WEIGHTS);
+        boolean inReview = status.equals("SUBMITTED") || status.equals("UNDER_REVIEW") || status.equals("DRAFT");
+        Instant from = inReview ? max(userCreatedAt, now.minus(PENDING_DAYS, ChronoUnit.DAYS)) : userCreatedAt;
+        Instant submittedAt = from.plusSeconds(random.nextLong(0, Math.max(1, from.until(now, ChronoUnit.SECONDS))));
+        Instant updatedAt = status.equals("DRAFT") || status.equals("SUBMITTED")
+                ? null
+                : min(submittedAt.plus(random.nextLong(1, 21 * 86_400L), ChronoUnit.SECONDS), now);
+
+        BigDecimal amount = amount();
+        BigDecimal propertyValue = amount.multiply(BigDecimal.valueOf(1 + random.nextDouble(0.6, 0.9)))
+                .setScale(-4, RoundingMode.HALF_UP).setScale(2);
+        BigDecimal rate = rate();
+        int tenure = TENURES[index(TENURE_WEIGHTS)];
+
+        loans.add(loanId, userId, amount, tenure, propertyValue, rate, PURPOSES[random.nextInt(PURPOSES.length)],
+                status, submittedAt, updatedAt);
+        schedule(loanId, status, submittedAt, amount, rate, tenure, emis);
+        documents(loanId, status, submittedAt, documents);
+    }
+
+    // The server builds the schedule when the application is submitted, first installment a month later
+    private void schedule(UUID loanId, String status, Instant submittedAt, BigDecimal amount, BigDecimal rate,
+                          int tenure, MultiRowInsert emis) throws SQLException {
+        BigDecimal emi = emi(amount, rate, tenure);
+        LocalDate start = LocalDate.ofInstant(submittedAt, ZoneOffset.UTC).plusMonths(1);
+        boolean repaying = status.equals("DISBURSED") || status.equals("APPROVED");
+        boolean closed = status.equals("CLOSED");
+
+        int due = 0;
+        while (due < tenure && start.plusMonths(due).isBefore(today)) {
+            due++;
+        }
+        int overdueFrom = repaying && due > 0 && random.nextDouble() < OVERDUE_SHARE
+                ? due - Math.min(due, random.nextInt(1, 4))
+                : due;
+
+        for (int i = 0; i < tenure; i++) {
+            LocalDate dueDate = start.plusMonths(i);
+            String paymentStatus;
+            String transactionId = null;
+            if (closed || (repaying && i < overdueFrom)) {
+                paymentStatus = "PAID";
+                transactionId = "TXN" + Long.toUnsignedString(random.nextLong() >>> 1, 36).toUpperCase(Locale.ROOT);
+            } else if (repaying && i < due) {
+                paymentStatus = "OVERDUE";
+            } else {
+                paymentStatus = "PENDING";
+            }
+            emis.add(ids.next(), loanId, dueDate, emi, paymentStatus, transactionId);
+        }
+    }
+
+    private void documents(UUID loanId, String status, Instant submittedAt, MultiRowInsert documents) throws SQLException {
+        if (status.equals("DRAFT") && random.nextBoolean()) {
+            return;
+        }
+        for (String type : REQUIRED_DOCUMENTS) {
+            document(loanId, type, submittedAt, documents);
+        }
+        if (random.nextDouble() < 0.7) {
+            document(loanId, "BANK_STATEMENT", submittedAt, documents);
+        }
+        if (random.nextDouble() < 0.2) {
+            document(loanId, "OTHER", submittedAt, documents);
+        }
+    }
+
+    private void document(UUID loanId, String type, Instant submittedAt, MultiRowInsert documents) throws SQLException {
+        UUID id = ids.next();
+        String fileName = type.toLowerCase(Locale.ROOT) + (random.nextInt(4) == 0 ? ".jpg" : ".pdf");
+        long size = Math.min(10L * 1024 * 1024, Math.max(20_000, Math.round(Math.exp(12.6 + 0.8 * random.nextGaussian(0, 1)))));
+        Instant uploadedAt = min(submittedAt.plusSeconds(random.nextLong(60, 3 * 86_400L)), now);
+        documents.add(id, loanId, type, fileName, "seed/" + id + "_" + fileName, null, size, null, uploadedAt);
+    }
+
+    private BigDecimal amount() {
+        double amount = Math.exp(Math.log(3_500_000) + 0.6 * random.nextGaussian(0, 1));
+        amount = Math.max(500_000, Math.min(50_000_000, amount));
+        return BigDecimal.valueOf(Math.round(amount / 10_000) * 10_000L).setScale(2);
+    }
+
+    private BigDecimal rate() {
+        double rate = Math.max(7, Math.min(12, random.nextGaussian(8.75, 0.6)));
+        return BigDecimal.valueOf(Math.round(rate * 20) * 5L, 2);
+    }
+
+    // Same formula as EmiServiceImpl; installments are written as the server computes them
+    private static BigDecimal emi(BigDecimal principal, BigDecimal rate, int tenure) {
+        BigDecimal monthlyRate = rate.divide(TWELVE, 10, RoundingMode.HALF_UP)
+                .divide(HUNDRED, 10, RoundingMode.HALF_UP);
+        BigDecimal onePlusRPowerN = BigDecimal.ONE.add(monthlyRate).pow(tenure);
+        return principal.multiply(monthlyRate).multiply(onePlusRPowerN)
+                .divide(onePlusRPowerN.subtract(BigDecimal.ONE), 2, RoundingMode.HALF_UP);
+    }
+
+    private String pick(String[] values, int[] weights) {
+        return values[index(weights)];
+    }
+
+    private int index(int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
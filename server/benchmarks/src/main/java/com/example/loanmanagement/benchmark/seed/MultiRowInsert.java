@@ -0,0 +1,98 @@
+package com.example.loanmanagement.benchmark.seed;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buffers rows for one table and writes them as multi-row {@code INSERT ... VALUES (...), (...)}
+ * statements of {@code rowsPerStatement} rows, reusing one prepared statement for the full ones.
+ * A child table's insert writes the rows buffered for its parent table first, so foreign keys hold
+ * at every statement.
+ */
+class MultiRowInsert implements AutoCloseable {
+
+    private final Connection connection;
+    private final SeedDialect dialect;
+    private final String table;
+    private final String columns;
+    private final int columnCount;
+    private final int rowsPerStatement;
+    private final LongAdder written;
+    private final Object[] buffer;
+    private final PreparedStatement full;
+    private final MultiRowInsert parent;
+    private int rows;
+
+    MultiRowInsert(Connection connection, SeedDialect dialect, String table, String[] columns,
+                   int rowsPerStatement, LongAdder written) throws SQLException {
+        this(connection, dialect, table, columns, rowsPerStatement, written, null);
+    }
+
+    MultiRowInsert(Connection connection, SeedDialect dialect, String table, String[] columns,
+                   int rowsPerStatement, LongAdder written, MultiRowInsert parent) throws SQLException {
+        this.connection = connection;
+        this.parent = parent;
+        this.dialect = dialect;
+        this.table = table;
+        this.columns = String.join(", ", columns);
+        this.columnCount = columns.length;
+        this.rowsPerStatement = rowsPerStatement;
+        this.written = written;
+        this.buffer = new Object[rowsPerStatement * columnCount];
+        this.full = connection.prepareStatement(sql(rowsPerStatement));
+    }
+
+    void add(Object... values) throws SQLException {
+        System.arraycopy(values, 0, buffer, rows * columnCount, columnCount);
+        if (++rows == rowsPerStatement) {
+            flushParent();
+            execute(full);
+        }
+    }
+
+    /**
+     * Writes the rows still buffered.
+     */
+    void flush() throws SQLException {
+        if (rows > 0) {
+            flushParent();
+            try (PreparedStatement partial = connection.prepareStatement(sql(rows))) {
+                execute(partial);
+            }
+        }
+    }
+
+    private void flushParent() throws SQLException {
+        if (parent != null) {
+            parent.flush();
+        }
+    }
+
+    private void execute(PreparedStatement statement) throws SQLException {
+        int values = rows * columnCount;
+        for (int i = 0; i < values; i++) {
+            dialect.bind(statement, i + 1, buffer[i]);
+            buffer[i] = null;
+        }
+        statement.executeUpdate();
+        written.add(rows);
+        rows = 0;
+    }
+
+    private String sql(int rowCount) {
+        String row = "(" + "?, ".repeat(columnCount - 1) + "?)";
+        StringBuilder sql = new StringBuilder(64 + rowCount * (row.length() + 2))
+                .append("insert into ").append(table).append(" (").append(columns).append(") values ");
+        for (int i = 0; i < rowCount; i++) {
+            sql.append(i == 0 ? "" : ", ").append(row);
+        }
+        return sql.toString();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        full.close();
+    }
+}
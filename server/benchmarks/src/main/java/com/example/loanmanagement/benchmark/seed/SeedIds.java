@@ -0,0 +1,36 @@
+package com.example.loanmanagement.benchmark.seed;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Time-ordered UUIDv7 keys, laid out like the server's {@code UuidV7Generator}, for one chunk.
+ * The server's generator reads the clock and draws from a shared {@code SecureRandom}; here each
+ * chunk counts up from its own first millisecond, 4096 keys to a millisecond, with its own random
+ * source, so the keys depend only on the seed and the chunk and the writers share nothing. Chunks
+ * get consecutive ranges and are taken in order, so inserts append to the primary key index as
+ * they do in production.
+ */
+final class SeedIds {
+
+    static final int KEYS_PER_MILLI = 0x1000;
+
+    private final SplittableRandom random;
+    private long millis;
+    private int sequence = -1;
+
+    SeedIds(SplittableRandom random, long firstMillis) {
+        this.random = random;
+        this.millis = firstMillis;
+    }
+
+    UUID next() {
+        if (++sequence == KEYS_PER_MILLI) {
+            millis++;
+            sequence = 0;
+        }
+        long msb = (millis << 16) | 0x7000L | sequence;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.loanmanagement.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts per operation. Latencies are measured from when an
+ * operation was due to start, not from when it actually did, so a server that falls behind is
+ * charged for the queueing it causes.
+ */
+class LatencyStats {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<Operation, Entry> entries = new EnumMap<>(Operation.class);
+
+    LatencyStats() {
+        for (Operation operation : Operation.values()) {
+            entries.put(operation, new Entry());
+        }
+    }
+
+    void recordSuccess(Operation operation, long latencyNanos) {
+        entries.get(operation).latencies.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+    }
+
+    void recordError(Operation operation) {
+        entries.get(operation).errors.increment();
+    }
+
+    Histogram latencies(Operation operation) {
+        return entries.get(operation).latencies;
+    }
+
+    long errors(Operation operation) {
+        return entries.get(operation).errors.sum();
+    }
+
+    private static final class Entry {
+        private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MICROSECONDS.toNanos(1), MAX_LATENCY_NANOS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
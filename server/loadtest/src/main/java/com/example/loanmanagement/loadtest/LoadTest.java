@@ -0,0 +1,142 @@
+package com.example.loanmanagement.loadtest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: operations start at a fixed rate whatever the server's response
+ * times, each on its own virtual thread, drawn at random from the weighted mix. After a warm-up it
+ * measures for the configured duration and prints throughput and latency percentiles per
+ * operation against the SLOs. The exit status is 1 when an SLO was missed.
+ */
+public final class LoadTest {
+
+    private static final int ERRORS_SHOWN = 10;
+
+    private final LoadTestOptions options;
+    private final Workload workload;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final AtomicInteger errorsShown = new AtomicInteger();
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.workload = new Workload(options);
+        this.operations = options.mix().keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        SloReport slo = SloReport.load(options.slo());
+        SmtpSink smtpSink = startSmtpSink(options.smtpSinkPort(), options.smtpLatency());
+        try {
+            List<String> violations = new LoadTest(options).run(slo);
+            System.exit(violations.isEmpty() ? 0 : 1);
+        } finally {
+            if (smtpSink != null) {
+                smtpSink.close();
+            }
+        }
+    }
+
+    private static SmtpSink startSmtpSink(int port, Duration latency) {
+        if (port == 0) {
+            return null;
+        }
+        try {
+            return new SmtpSink(port, latency);
+        } catch (IOException e) {
+            System.err.println("SMTP sink not started on port " + port + " (" + e.getMessage() + "); mail goes to whatever listens there");
+            return null;
+        }
+    }
+
+    private List<String> run(SloReport slo) throws Exception {
+        System.out.printf("Loading %s at %s operations/s: %s%n", options.baseUrl(), options.rate(), describeMix(options.mix()));
+        System.out.printf("Setting up %d borrowers...%n", options.borrowers());
+        workload.setUp();
+
+        System.out.printf("Warming up for %ds...%n", options.warmup().toSeconds());
+        drive(options.warmup(), new LatencyStats());
+
+        System.out.printf("Measuring for %ds...%n", options.duration().toSeconds());
+        LatencyStats stats = new LatencyStats();
+        drive(options.duration(), stats);
+        return slo.print(stats, options.duration(), System.out);
+    }
+
+    /**
+     * Starts operations on schedule for {@code length}, then waits for those in flight. When
+     * {@code max-in-flight} are outstanding the schedule stalls, and the stall shows in the
+     * latencies, since they are measured from each operation's due time.
+     */
+    private void drive(Duration length, LatencyStats stats) throws InterruptedException {
+        long interval = (long) (1_000_000_000 / options.rate());
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            long end = start + length.toNanos();
+            for (long due = start; due < end; due += interval) {
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                inFlight.acquire();
+                Operation operation = next();
+                long dueAt = due;
+                executor.execute(() -> {
+                    try {
+                        Operation ran = workload.run(operation);
+                        stats.recordSuccess(ran, System.nanoTime() - dueAt);
+                    } catch (Exception e) {
+                        stats.recordError(operation);
+                        if (errorsShown.incrementAndGet() <= ERRORS_SHOWN) {
+                            System.err.println(operation.key() + " failed: " + e);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static String describeMix(Map<Operation, Integer> mix) {
+        StringBuilder description = new StringBuilder();
+        mix.forEach((operation, weight) -> description.append(description.isEmpty() ? "" : ", ")
+                .append(operation.key()).append('=').append(weight));
+        return description.toString();
+    }
+}
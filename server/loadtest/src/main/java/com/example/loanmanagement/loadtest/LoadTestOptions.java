@@ -0,0 +1,132 @@
+package com.example.loanmanagement.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line options, as {@code --name value} pairs.
+ */
+record LoadTestOptions(String baseUrl,
+                       double rate,
+                       Duration warmup,
+                       Duration duration,
+                       int borrowers,
+                       Map<Operation, Integer> mix,
+                       int documentSize,
+                       long uploadBandwidth,
+                       int maxInFlight,
+                       String slo,
+                       int smtpSinkPort,
+                       Duration smtpLatency,
+                       String adminEmail,
+                       String adminPassword) {
+
+    static final String DEFAULT_MIX = "login=15,schedule=20,download=20,emi-pay=15,upload=10,apply=8,admin-dashboard=7,signup=5";
+
+    static final String USAGE = """
+            Usage: java -jar loadtest.jar [options]
+              --base-url URL          server to load (default http://localhost:8080)
+              --rate N                operations started per second, whatever the response times (default 50)
+              --warmup DURATION       run before measuring, results discarded (default 30s)
+              --duration DURATION     measured run (default 2m)
+              --borrowers N           borrowers signed up, with a loan and a document each, before the run (default 50)
+              --mix OP=WEIGHT,...     operation mix (default %s)
+              --document-size SIZE    size of each uploaded document (default 256KB)
+              --upload-bandwidth SIZE bytes per second each upload is sent at, like a slow client; 0 for full speed (default 0)
+              --max-in-flight N       operations in flight before the schedule falls behind (default 2000)
+              --slo FILE              SLO properties (default the bundled slo.properties)
+              --smtp-sink-port PORT   port of the built-in SMTP sink, 0 for none (default 2525)
+              --smtp-latency DURATION time the SMTP sink takes to accept each message (default 0)
+              --admin-email EMAIL     admin for the dashboard (default loadtest-admin@example.com)
+              --admin-password PASS   (default loadtest-admin)
+            """.formatted(DEFAULT_MIX);
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --name value, got: " + args[i]);
+            }
+            values.put(args[i].substring(2), args[++i]);
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                stripTrailingSlash(take(values, "base-url", "http://localhost:8080")),
+                Double.parseDouble(take(values, "rate", "50")),
+                parseDuration(take(values, "warmup", "30s")),
+                parseDuration(take(values, "duration", "2m")),
+                Integer.parseInt(take(values, "borrowers", "50")),
+                parseMix(take(values, "mix", DEFAULT_MIX)),
+                (int) parseSize(take(values, "document-size", "256KB")),
+                parseSize(take(values, "upload-bandwidth", "0")),
+                Integer.parseInt(take(values, "max-in-flight", "2000")),
+                take(values, "slo", null),
+                Integer.parseInt(take(values, "smtp-sink-port", "2525")),
+                parseDuration(take(values, "smtp-latency", "0")),
+                take(values, "admin-email", "loadtest-admin@example.com"),
+                take(values, "admin-password", "loadtest-admin"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if (options.rate <= 0 || options.borrowers <= 0 || options.maxInFlight <= 0) {
+            throw new IllegalArgumentException("--rate, --borrowers and --max-in-flight must be positive");
+        }
+        return options;
+    }
+
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in --mix, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.of(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+
+    /**
+     * {@code 500ms}, {@code 30s}, {@code 2m}, {@code 1h}, or a plain number of milliseconds.
+     */
+    static Duration parseDuration(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        long amount = Long.parseLong(text.replaceAll("[smh]$", ""));
+        return switch (text.charAt(text.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> Duration.ofMillis(amount);
+        };
+    }
+
+    private static long parseSize(String value) {
+        String text = value.trim().toUpperCase(Locale.ROOT);
+        if (text.endsWith("MB")) {
+            return Long.parseLong(text.substring(0, text.length() - 2)) * 1024 * 1024;
+        }
+        if (text.endsWith("KB")) {
+            return Long.parseLong(text.substring(0, text.length() - 2)) * 1024;
+        }
+        return Long.parseLong(text.replaceAll("B$", ""));
+    }
+}
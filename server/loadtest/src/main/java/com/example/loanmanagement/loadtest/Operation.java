@@ -0,0 +1,40 @@
+package com.example.loanmanagement.loadtest;
+
+/**
+ * What a virtual user does in one request.
+ */
+enum Operation {
+    SIGNUP("signup", "POST /api/auth/signup"),
+    LOGIN("login", "POST /api/auth/login"),
+    APPLY("apply", "POST /api/loans/apply"),
+    SCHEDULE("schedule", "GET /api/emi/schedule/{loanId}"),
+    EMI_PAY("emi-pay", "PUT /api/emi/{id}/pay"),
+    UPLOAD("upload", "POST /api/documents/upload"),
+    DOWNLOAD("download", "GET /api/documents/{id}/download"),
+    ADMIN_DASHBOARD("admin-dashboard", "GET /api/admin/dashboard");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Operation of(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.loanmanagement.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Throughput and latency percentiles per operation, checked against service level objectives.
+ * <p>
+ * Objectives are properties of the form {@code <operation>.<p50|p99|p999>=<duration>} and
+ * {@code <operation>.errors=<percent>}; {@code *} in place of the operation applies to every
+ * operation without its own value.
+ */
+class SloReport {
+
+    private static final String[] PERCENTILES = {"p50", "p99", "p999"};
+
+    private final Properties objectives;
+
+    private SloReport(Properties objectives) {
+        this.objectives = objectives;
+    }
+
+    static SloReport load(String file) throws IOException {
+        Properties objectives = new Properties();
+        try (InputStream in = file != null ? Files.newInputStream(Path.of(file)) : SloReport.class.getResourceAsStream("/slo.properties")) {
+            objectives.load(in);
+        }
+        return new SloReport(objectives);
+    }
+
+    /**
+     * Prints the report and returns the objectives that were missed.
+     */
+    List<String> print(LatencyStats stats, Duration measured, PrintStream out) {
+        List<String> violations = new ArrayList<>();
+        double seconds = measured.toNanos() / 1e9;
+        long totalRequests = 0;
+        long totalErrors = 0;
+
+        out.println();
+        out.printf(Locale.ROOT, "%-17s %-33s %8s %7s %8s %9s %9s %9s %9s  %s%n",
+                "Operation", "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "SLO");
+        for (Operation operation : Operation.values()) {
+            Histogram latencies = stats.latencies(operation);
+            long errors = stats.errors(operation);
+            long requests = latencies.getTotalCount() + errors;
+            if (requests == 0) {
+                continue;
+            }
+            totalRequests += requests;
+            totalErrors += errors;
+
+            List<String> missed = check(operation, latencies, errors, requests);
+            violations.addAll(missed);
+            out.printf(Locale.ROOT, "%-17s %-33s %8d %7d %8.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                    operation.key(), operation.endpoint(), requests, errors, requests / seconds,
+                    millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()),
+                    missed.isEmpty() ? "ok" : "MISSED " + String.join(", ", missed));
+        }
+        out.printf(Locale.ROOT, "%nTotal: %d requests, %d errors, %.1f req/s over %ds%n",
+                totalRequests, totalErrors, totalRequests / seconds, measured.toSeconds());
+        out.println(violations.isEmpty() ? "All SLOs met." : violations.size() + " SLO(s) missed.");
+        return violations;
+    }
+
+    private List<String> check(Operation operation, Histogram latencies, long errors, long requests) {
+        List<String> missed = new ArrayList<>();
+        for (String percentile : PERCENTILES) {
+            String objective = objective(operation, percentile);
+            if (objective == null || latencies.getTotalCount() == 0) {
+                continue;
+            }
+            double quantile = switch (percentile) {
+                case "p50" -> 50;
+                case "p99" -> 99;
+                default -> 99.9;
+            };
+            Duration limit = LoadTestOptions.parseDuration(objective);
+            if (latencies.getValueAtPercentile(quantile) > limit.toNanos()) {
+                missed.add(operation.key() + "." + percentile + " > " + objective);
+            }
+        }
+        String errorObjective = objective(operation, "errors");
+        if (errorObjective != null && errors * 100.0 / requests > Double.parseDouble(errorObjective)) {
+            missed.add(operation.key() + ".errors > " + errorObjective + "%");
+        }
+        return missed;
+    }
+
+    private String objective(Operation operation, String name) {
+        String value = objectives.getProperty(operation.key() + "." + name);
+        return value != null ? value.trim() : objectives.getProperty("*." + name);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
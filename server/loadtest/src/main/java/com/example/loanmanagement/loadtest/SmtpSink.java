@@ -0,0 +1,92 @@
+package com.example.loanmanagement.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An SMTP server that accepts every message and keeps none, so the server's mail sends cost a local
+ * round trip instead of failing or reaching real inboxes. It advertises no extensions, so clients
+ * send plain SMTP without STARTTLS or AUTH. With a {@code latency} it takes that long to accept each
+ * message, like a relay that scans what it is given.
+ */
+class SmtpSink implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final AtomicLong messages = new AtomicLong();
+    private final Duration latency;
+
+    SmtpSink(int port, Duration latency) throws IOException {
+        this.latency = latency;
+        serverSocket = new ServerSocket(port, 200, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().name("smtp-sink").start(this::accept);
+    }
+
+    long getMessages() {
+        return messages.get();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread.ofVirtual().start(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("SMTP sink: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 localhost SMTP sink");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line.toUpperCase(Locale.ROOT);
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // discarded
+                        }
+                        if (!latency.isZero()) {
+                            Thread.sleep(latency);
+                        }
+                        messages.incrementAndGet();
+                        reply(out, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "250 OK");
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // The client went away or the sink is closing; nothing to keep
+        }
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
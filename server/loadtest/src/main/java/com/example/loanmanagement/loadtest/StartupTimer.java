@@ -0,0 +1,111 @@
+package com.example.loanmanagement.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first request: starts the server command, polls a URL until it answers 200 and reports
+ * the time from the launch, for a number of runs. The server is stopped after each run, so every
+ * run starts cold apart from the OS file cache.
+ */
+public final class StartupTimer {
+
+    private static final String USAGE = """
+            Usage: java -cp loadtest.jar com.example.loanmanagement.loadtest.StartupTimer [options] -- COMMAND...
+              --url URL          polled until it answers 200 (default http://localhost:8081/actuator/health)
+              --runs N           server starts measured (default 5)
+              --timeout DURATION longest a start may take (default 2m)
+              --log FILE         server output of the last run (default startup-timer.log)
+            """;
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            System.err.println("Expected -- followed by the server command");
+            System.err.print(USAGE);
+            System.exit(2);
+            return;
+        }
+        String url = "http://localhost:8081/actuator/health";
+        int runs = 5;
+        Duration timeout = Duration.ofMinutes(2);
+        File log = new File("startup-timer.log");
+        for (int i = 0; i < separator; i += 2) {
+            if (i + 1 == separator) {
+                System.err.println("Expected --name value, got: " + args[i]);
+                System.err.print(USAGE);
+                System.exit(2);
+                return;
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--url" -> url = value;
+                case "--runs" -> runs = Integer.parseInt(value);
+                case "--timeout" -> timeout = LoadTestOptions.parseDuration(value);
+                case "--log" -> log = new File(value);
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    System.err.print(USAGE);
+                    System.exit(2);
+                    return;
+                }
+            }
+        }
+        List<String> command = List.of(Arrays.copyOfRange(args, separator + 1, args.length));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).GET().build();
+        System.out.printf("Starting %s%n%d runs, until %s answers 200%n", String.join(" ", command), runs, url);
+        List<Long> millis = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            long elapsed = measure(command, client, request, timeout, log);
+            millis.add(elapsed);
+            System.out.printf("run %d: %d ms%n", run, elapsed);
+        }
+        millis.sort(null);
+        System.out.printf("time to first request: min %d ms, median %d ms, max %d ms%n",
+                millis.get(0), millis.get(millis.size() / 2), millis.get(millis.size() - 1));
+    }
+
+    private static long measure(List<String> command, HttpClient client, HttpRequest request,
+                                Duration timeout, File log) throws IOException, InterruptedException {
+        long startedAt = System.nanoTime();
+        Process server = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            long deadline = startedAt + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!server.isAlive()) {
+                    throw new IllegalStateException("Server exited with status " + server.exitValue() + "; see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException("No 200 from " + request.uri() + " within " + timeout + "; see " + log);
+        } finally {
+            server.destroy();
+            if (!server.waitFor(30, TimeUnit.SECONDS)) {
+                server.destroyForcibly().waitFor();
+            }
+        }
+    }
+}
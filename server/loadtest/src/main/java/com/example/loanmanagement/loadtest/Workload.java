@@ -0,0 +1,317 @@
+package com.example.loanmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The borrowers, loans and documents the operations work on, and the operations themselves. Each
+ * operation is one HTTP request; what it creates is added to the pools the later operations draw
+ * from, so the data grows the way production data does.
+ */
+class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final String[] DOCUMENT_TYPES = {"SALARY_SLIP", "ID_PROOF", "ADDRESS_PROOF", "BANK_STATEMENT"};
+    private static final int[] TENURES = {60, 120, 180, 240};
+    // Enough installments to pay from without holding every schedule in memory
+    private static final int PENDING_EMI_TARGET = 5_000;
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicInteger signups = new AtomicInteger();
+
+    private final Pool<Borrower> borrowers = new Pool<>();
+    private final Pool<Loan> loans = new Pool<>();
+    private final Pool<Document> documents = new Pool<>();
+    private final Queue<PendingEmi> pendingEmis = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingEmiCount = new AtomicInteger();
+    private volatile String adminToken;
+
+    Workload(LoadTestOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    /**
+     * Signs in the admin and signs up the borrowers, each with a loan, its schedule and a document,
+     * concurrently. Nothing here is measured.
+     */
+    void setUp() throws Exception {
+        adminToken = login(options.adminEmail(), options.adminPassword());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < options.borrowers(); i++) {
+                futures.add(executor.submit(() -> {
+                    Loan loan = apply(signUp());
+                    fetchSchedule(loan);
+                    upload(loan);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    /**
+     * Runs {@code operation}, or the operation that provides what it needs when its pool is still
+     * empty, and returns the one that ran.
+     */
+    Operation run(Operation operation) throws IOException, InterruptedException {
+        switch (operation) {
+            case SIGNUP -> signUp();
+            case LOGIN -> {
+                Borrower borrower = borrowers.random();
+                borrower.token = login(borrower.email, borrower.password);
+            }
+            case APPLY -> apply(borrowers.random());
+            case SCHEDULE -> fetchSchedule(loans.random());
+            case EMI_PAY -> {
+                PendingEmi emi = pendingEmis.poll();
+                if (emi == null) {
+                    return run(Operation.SCHEDULE);
+                }
+                pendingEmiCount.decrementAndGet();
+                pay(emi);
+            }
+            case UPLOAD -> upload(loans.random());
+            case DOWNLOAD -> download(documents.random());
+            case ADMIN_DASHBOARD -> send(get("/api/admin/dashboard", adminToken), HttpResponse.BodyHandlers.discarding());
+        }
+        return operation;
+    }
+
+    private Borrower signUp() throws IOException, InterruptedException {
+        String email = "loadtest-" + runId + "-" + signups.incrementAndGet() + "@example.com";
+        String password = "password-" + ThreadLocalRandom.current().nextInt(1_000_000);
+        JsonNode tokens = json(post("/api/auth/signup", null,
+                Map.of("fullName", "Load Test Borrower", "email", email, "password", password)));
+        Borrower borrower = new Borrower(email, password, tokens.get("accessToken").asText());
+        borrowers.add(borrower);
+        return borrower;
+    }
+
+    private String login(String email, String password) throws IOException, InterruptedException {
+        return json(post("/api/auth/login", null, Map.of("email", email, "password", password)))
+                .get("accessToken").asText();
+    }
+
+    private Loan apply(Borrower borrower) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long amount = random.nextLong(500, 10_000) * 1_000;
+        JsonNode loan = json(post("/api/loans/apply", borrower.token, Map.of(
+                "amount", amount,
+                "propertyValue", amount * 4 / 3,
+                "tenureMonths", TENURES[random.nextInt(TENURES.length)],
+                "interestRate", 7.5 + random.nextInt(30) / 10.0,
+                "purpose", "Home purchase")));
+        Loan created = new Loan(UUID.fromString(loan.get("id").asText()), borrower);
+        loans.add(created);
+        return created;
+    }
+
+    private void fetchSchedule(Loan loan) throws IOException, InterruptedException {
+        JsonNode schedule = json(get("/api/emi/schedule/" + loan.id, loan.borrower.token));
+        if (pendingEmiCount.get() >= PENDING_EMI_TARGET) {
+            return;
+        }
+        for (JsonNode emi : schedule) {
+            if ("PENDING".equals(emi.get("paymentStatus").asText())) {
+                pendingEmis.add(new PendingEmi(UUID.fromString(emi.get("id").asText()), loan.borrower));
+                pendingEmiCount.incrementAndGet();
+            }
+        }
+    }
+
+    private void pay(PendingEmi emi) throws IOException, InterruptedException {
+        HttpRequest request = authorized(emi.borrower.token, "/api/emi/" + emi.id + "/pay")
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(
+                        Map.of("transactionId", "TXN-" + UUID.randomUUID()))))
+                .build();
+        send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private void upload(Loan loan) throws IOException, InterruptedException {
+        String boundary = "loadtest-" + UUID.randomUUID();
+        byte[] content = new byte[options.documentSize()];
+        ThreadLocalRandom.current().nextBytes(content);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(content.length + 512);
+        writePart(body, boundary, "loanId", null, loan.id.toString().getBytes(StandardCharsets.UTF_8));
+        writePart(body, boundary, "documentType", null,
+                DOCUMENT_TYPES[ThreadLocalRandom.current().nextInt(DOCUMENT_TYPES.length)].getBytes(StandardCharsets.UTF_8));
+        writePart(body, boundary, "file", "statement.pdf", content);
+        body.write(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        byte[] bytes = body.toByteArray();
+        HttpRequest.BodyPublisher publisher = options.uploadBandwidth() > 0
+                ? HttpRequest.BodyPublishers.fromPublisher(HttpRequest.BodyPublishers.ofInputStream(
+                        () -> new ThrottledInputStream(bytes, options.uploadBandwidth())), bytes.length)
+                : HttpRequest.BodyPublishers.ofByteArray(bytes);
+        HttpRequest request = authorized(loan.borrower.token, "/api/documents/upload")
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(publisher)
+                .build();
+        JsonNode document = mapper.readTree(send(request, HttpResponse.BodyHandlers.ofByteArray()).body());
+        documents.add(new Document(UUID.fromString(document.get("id").asText()), loan.borrower));
+    }
+
+    private static void writePart(ByteArrayOutputStream body, String boundary, String name, String fileName, byte[] value) throws IOException {
+        StringBuilder header = new StringBuilder("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(name).append('"');
+        if (fileName != null) {
+            header.append("; filename=\"").append(fileName).append("\"\r\nContent-Type: application/pdf");
+        }
+        header.append("\r\n\r\n");
+        body.write(header.toString().getBytes(StandardCharsets.UTF_8));
+        body.write(value);
+        body.write("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void download(Document document) throws IOException, InterruptedException {
+        send(get("/api/documents/" + document.id + "/download", document.borrower.token), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private HttpRequest get(String path, String token) {
+        return authorized(token, path).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, Map<String, ?> body) throws IOException {
+        return authorized(token, path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.baseUrl() + path)).timeout(REQUEST_TIMEOUT);
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private JsonNode json(HttpRequest request) throws IOException, InterruptedException {
+        return mapper.readTree(send(request, HttpResponse.BodyHandlers.ofByteArray()).body());
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException, InterruptedException {
+        HttpResponse<T> response = client.send(request, handler);
+        if (response.statusCode() >= 400) {
+            String detail = response.body() instanceof byte[] body ? ": " + new String(body, StandardCharsets.UTF_8) : "";
+            throw new IOException(request.method() + " " + request.uri().getPath() + " returned " + response.statusCode() + detail);
+        }
+        return response;
+    }
+
+    private static final class Borrower {
+        private final String email;
+        private final String password;
+        private volatile String token;
+
+        private Borrower(String email, String password, String token) {
+            this.email = email;
+            this.password = password;
+            this.token = token;
+        }
+    }
+
+    private record Loan(UUID id, Borrower borrower) {
+    }
+
+    private record Document(UUID id, Borrower borrower) {
+    }
+
+    private record PendingEmi(UUID id, Borrower borrower) {
+    }
+
+    /**
+     * An append-only list to draw random elements from.
+     */
+    private static final class Pool<T> {
+        private final List<T> elements = new ArrayList<>();
+
+        synchronized void add(T element) {
+            elements.add(element);
+        }
+
+        synchronized T random() {
+            if (elements.isEmpty()) {
+                throw new IllegalStateException("Nothing to pick from yet");
+            }
+            return elements.get(ThreadLocalRandom.current().nextInt(elements.size()));
+        }
+    }
+
+    /**
+     * The request body at {@code bandwidth} bytes per second, paced in tenths of a second.
+     */
+    private static final class ThrottledInputStream extends InputStream {
+        private final byte[] bytes;
+        private final long bandwidth;
+        private final int step;
+        private int position;
+        private long startedAt;
+
+        ThrottledInputStream(byte[] bytes, long bandwidth) {
+            this.bytes = bytes;
+            this.bandwidth = bandwidth;
+            this.step = (int) Math.max(1, Math.min(Integer.MAX_VALUE, bandwidth / 10));
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (position == bytes.length) {
+                return -1;
+            }
+            if (startedAt == 0) {
+                startedAt = System.nanoTime();
+            }
+            long due = startedAt + position * 1_000_000_000L / bandwidth;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    Thread.sleep(Duration.ofNanos(wait));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while throttling the upload", e);
+                }
+            }
+            int count = Math.min(Math.min(length, step), bytes.length - position);
+            System.arraycopy(bytes, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
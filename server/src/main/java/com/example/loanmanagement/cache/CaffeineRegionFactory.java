@@ -0,0 +1,126 @@
+package com.example.loanmanagement.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Second-level cache regions held in bounded Caffeine caches on the heap.
+ * <p>
+ * Each region keeps at most {@code cache.entities.max-entries} entries and drops any entry
+ * {@code cache.entities.expire-after-write} after it was stored, which caps how long a copy can
+ * outlive a change that another node failed to announce. Hibernate's read-write strategy does the
+ * locking on top of these plain maps.
+ */
+public class CaffeineRegionFactory extends RegionFactoryTemplate {
+
+    private final long maxEntries;
+    private final Duration expireAfterWrite;
+    private final Map<String, Cache<Object, Object>> regions = new ConcurrentHashMap<>();
+
+    public CaffeineRegionFactory(long maxEntries, Duration expireAfterWrite) {
+        this.maxEntries = maxEntries;
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(Cache::invalidateAll);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                   DomainDataRegionBuildingContext buildingContext) {
+        return new CaffeineStorageAccess(region(regionConfig.getRegionName()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return new CaffeineStorageAccess(region(regionName));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return new CaffeineStorageAccess(region(regionName));
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        regions.forEach((name, cache) -> {
+            CacheStats stats = cache.stats();
+            Map<String, Object> region = new LinkedHashMap<>();
+            region.put("size", cache.estimatedSize());
+            region.put("hitCount", stats.hitCount());
+            region.put("missCount", stats.missCount());
+            region.put("hitRate", stats.hitRate());
+            region.put("evictionCount", stats.evictionCount());
+            statistics.put(name, region);
+        });
+        return statistics;
+    }
+
+    private Cache<Object, Object> region(String name) {
+        return regions.computeIfAbsent(name, n -> Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build());
+    }
+
+    private static final class CaffeineStorageAccess implements DomainDataStorageAccess {
+
+        private final Cache<Object, Object> cache;
+
+        private CaffeineStorageAccess(Cache<Object, Object> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return cache.getIfPresent(key);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            cache.put(key, value);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return cache.asMap().containsKey(key);
+        }
+
+        @Override
+        public void evictData() {
+            cache.invalidateAll();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            cache.invalidate(key);
+        }
+
+        @Override
+        public void release() {
+            cache.invalidateAll();
+        }
+    }
+}
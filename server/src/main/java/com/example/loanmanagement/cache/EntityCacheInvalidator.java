@@ -0,0 +1,197 @@
+package com.example.loanmanagement.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the second-level caches of several nodes coherent through the
+ * {@code entity_cache_invalidations} table instead of a message broker.
+ * <p>
+ * Every update or delete of a cached entity appends a row in the same transaction, so a change
+ * is announced exactly when it commits. Each node polls the rows added since its last poll and
+ * evicts those entities, skipping the ones it wrote itself because Hibernate already refreshed
+ * its own copy. Row ids are handed out in insert order but become visible in commit order, so an
+ * id that is skipped is kept pending for {@code cache.invalidation.gap-timeout} in case its
+ * transaction commits late; after that it is taken for a rollback.
+ * <p>
+ * Inserts are not announced: another node cannot hold a row that did not exist.
+ */
+@Slf4j
+public class EntityCacheInvalidator implements PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String INSERT_SQL =
+            "insert into entity_cache_invalidations (entity_name, entity_id, origin, created_at) values (?, ?, ?, ?)";
+    private static final int POLL_LIMIT = 1000;
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final CaffeineRegionFactory regionFactory;
+    private final String origin = UUID.randomUUID().toString();
+    private final long gapTimeoutNanos;
+    private final Duration retention;
+
+    // Not a monitor: a virtual scheduler thread would stay pinned through the poll query
+    private final ReentrantLock pollLock = new ReentrantLock();
+    // Everything up to the watermark has been applied; above it only the ids in seen
+    private long watermark;
+    private final TreeSet<Long> seen = new TreeSet<>();
+    private final Map<Long, Long> gaps = new HashMap<>();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+
+    public EntityCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                  JdbcTemplate jdbcTemplate,
+                                  CaffeineRegionFactory regionFactory,
+                                  Duration gapTimeout,
+                                  Duration retention) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.jdbcTemplate = jdbcTemplate;
+        this.regionFactory = regionFactory;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.retention = retention;
+
+        // The cache starts empty, so nothing written before this node came up needs evicting
+        Long latest = jdbcTemplate.queryForObject("select max(id) from entity_cache_invalidations", Long.class);
+        this.watermark = latest == null ? 0 : latest;
+
+        EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_UPDATE, this);
+        listeners.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void publish(EventSource session, EntityPersister persister, Object id) {
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                statement.setString(1, persister.getEntityName());
+                statement.setString(2, id.toString());
+                statement.setString(3, origin);
+                statement.setTimestamp(4, Timestamp.from(Instant.now()));
+                statement.executeUpdate();
+            }
+        });
+        published.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval:1000}")
+    public void poll() {
+        pollLock.lock();
+        try {
+            pollOnce();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private void pollOnce() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "select id, entity_name, entity_id, origin from entity_cache_invalidations where id > ? order by id limit " + POLL_LIMIT,
+                watermark);
+        long now = System.nanoTime();
+        for (Map<String, Object> row : rows) {
+            long id = ((Number) row.get("id")).longValue();
+            if (!seen.add(id)) {
+                continue;
+            }
+            gaps.remove(id);
+            if (!origin.equals(row.get("origin"))) {
+                evict((String) row.get("entity_name"), UUID.fromString((String) row.get("entity_id")));
+            }
+        }
+        if (seen.isEmpty()) {
+            return;
+        }
+
+        for (long id = watermark + 1; id < seen.last(); id++) {
+            if (!seen.contains(id)) {
+                gaps.putIfAbsent(id, now);
+            }
+        }
+        gaps.values().removeIf(firstSeen -> now - firstSeen > gapTimeoutNanos);
+        long next = gaps.isEmpty() ? seen.last() : gaps.keySet().stream().min(Long::compare).get() - 1;
+        if (next > watermark) {
+            watermark = next;
+            seen.headSet(watermark, true).clear();
+        }
+    }
+
+    private void evict(String entityName, UUID id) {
+        EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(entityName);
+        if (persister == null) {
+            // Announced by a node running a newer version with an entity this one does not map
+            log.debug("Ignoring cache invalidation for unknown entity {}", entityName);
+            return;
+        }
+        sessionFactory.getCache().evictEntityData(entityName, id);
+        if (persister.hasNaturalIdCache()) {
+            sessionFactory.getCache().evictNaturalIdData(entityName);
+        }
+        applied.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.cleanup-interval:600000}")
+    public void purgeOldInvalidations() {
+        int deleted = jdbcTemplate.update("delete from entity_cache_invalidations where created_at < ?",
+                Timestamp.from(Instant.now().minus(retention)));
+        if (deleted > 0) {
+            log.debug("Purged {} cache invalidations", deleted);
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("regions", regionFactory.getStatistics());
+        statistics.put("invalidationsPublished", published.get());
+        statistics.put("invalidationsApplied", applied.get());
+        pollLock.lock();
+        try {
+            statistics.put("watermark", watermark);
+            statistics.put("pendingGaps", gaps.size());
+        } finally {
+            pollLock.unlock();
+        }
+        return statistics;
+    }
+}
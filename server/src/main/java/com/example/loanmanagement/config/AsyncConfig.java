@@ -0,0 +1,13 @@
+package com.example.loanmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * {@code @Async} methods run on Spring Boot's application task executor, which starts a virtual
+ * thread per task when {@code spring.threads.virtual.enabled} is set.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
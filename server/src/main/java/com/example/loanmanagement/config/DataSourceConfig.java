@@ -0,0 +1,91 @@
+package com.example.loanmanagement.config;
+
+import com.example.loanmanagement.datasource.ReadYourWrites;
+import com.example.loanmanagement.datasource.ReplicaAwareTransactionManager;
+import com.example.loanmanagement.datasource.ReplicaProperties;
+import com.example.loanmanagement.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.TransactionManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single pool with primary plus read replicas once {@code datasource.replicas} lists
+ * at least one. Every pool takes its settings from {@code spring.datasource.hikari}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas[0].url")
+@EnableConfigurationProperties({DataSourceProperties.class, ReplicaProperties.class})
+public class DataSourceConfig {
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReplicaProperties properties) {
+        return new ReadYourWrites(properties.getReadYourWritesWindow());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                               ReplicaProperties replicaProperties,
+                                               ReadYourWrites readYourWrites,
+                                               ObjectProvider<MeterRegistry> meterRegistry,
+                                               Environment environment) {
+        HikariDataSource primary = pool(environment, dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        primary.setPoolName("primary");
+        primary.setDriverClassName(dataSourceProperties.determineDriverClassName());
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaProperties.Replica> configured = replicaProperties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            ReplicaProperties.Replica replica = configured.get(i);
+            HikariDataSource pool = pool(environment, replica.getUrl(),
+                    replica.getUsername() != null ? replica.getUsername() : primary.getUsername(),
+                    replica.getPassword() != null ? replica.getPassword() : primary.getPassword());
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setDriverClassName(primary.getDriverClassName());
+            pool.setReadOnly(true);
+            pool.setConnectionTimeout(replicaProperties.getConnectionTimeout().toMillis());
+            // A replica that is down at startup must not keep the application from starting
+            pool.setInitializationFailTimeout(-1);
+            // Spring Boot only finds the primary behind the routing data source
+            meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.put(pool.getPoolName(), pool);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWrites);
+    }
+
+    @Bean
+    public ReplicaAwareTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                             ReadYourWrites readYourWrites,
+                                                             ObjectProvider<TransactionManagerCustomizers> customizers) {
+        ReplicaAwareTransactionManager transactionManager =
+                new ReplicaAwareTransactionManager(entityManagerFactory, readYourWrites);
+        customizers.ifAvailable(c -> c.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+
+    private static HikariDataSource pool(Environment environment, String url, String username, String password) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        return pool;
+    }
+}
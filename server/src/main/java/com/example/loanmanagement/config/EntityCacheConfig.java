@@ -0,0 +1,42 @@
+package com.example.loanmanagement.config;
+
+import com.example.loanmanagement.cache.CaffeineRegionFactory;
+import com.example.loanmanagement.cache.EntityCacheInvalidator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "cache.entities.enabled", havingValue = "true", matchIfMissing = true)
+public class EntityCacheConfig {
+
+    @Bean
+    public CaffeineRegionFactory entityRegionFactory(@Value("${cache.entities.max-entries:10000}") long maxEntries,
+                                                     @Value("${cache.entities.expire-after-write:10m}") Duration expireAfterWrite) {
+        return new CaffeineRegionFactory(maxEntries, expireAfterWrite);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheProperties(CaffeineRegionFactory regionFactory) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+        };
+    }
+
+    @Bean
+    public EntityCacheInvalidator entityCacheInvalidator(EntityManagerFactory entityManagerFactory,
+                                                         JdbcTemplate jdbcTemplate,
+                                                         CaffeineRegionFactory regionFactory,
+                                                         @Value("${cache.invalidation.gap-timeout:30s}") Duration gapTimeout,
+                                                         @Value("${cache.invalidation.retention:1h}") Duration retention) {
+        return new EntityCacheInvalidator(entityManagerFactory, jdbcTemplate, regionFactory, gapTimeout, retention);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.loanmanagement.config;
+
+import com.example.loanmanagement.jfr.FlightRecording;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "jfr.recording.enabled", havingValue = "true", matchIfMissing = true)
+public class FlightRecordingConfig {
+
+    @Bean
+    public FlightRecording flightRecording(@Value("${jfr.recording.settings:default}") String settings,
+                                           @Value("${jfr.recording.max-age:30m}") Duration maxAge,
+                                           @Value("${jfr.recording.max-size:100MB}") DataSize maxSize) throws IOException, ParseException {
+        return new FlightRecording(settings, maxAge, maxSize.toBytes());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.loanmanagement.config;
+
+import com.example.loanmanagement.mail.PooledJavaMailSender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.time.Duration;
+import java.util.Properties;
+
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailConfig {
+
+    // Created on the first mail, not on the way to the first request
+    @Bean
+    @Lazy
+    public PooledJavaMailSender mailSender(MailProperties properties,
+                                           @Value("${mail.pool.size:4}") int poolSize,
+                                           @Value("${mail.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                                           @Value("${mail.pool.idle-timeout:30s}") Duration idleTimeout,
+                                           @Value("${mail.pool.borrow-timeout:10s}") Duration borrowTimeout) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(
+                poolSize, maxMessagesPerConnection, idleTimeout, borrowTimeout);
+
+        // Same property mapping as Spring Boot's MailSenderPropertiesConfiguration
+        sender.setHost(properties.getHost());
+        if (properties.getPort() != null) {
+            sender.setPort(properties.getPort());
+        }
+        sender.setUsername(properties.getUsername());
+        sender.setPassword(properties.getPassword());
+        sender.setProtocol(properties.getProtocol());
+        if (properties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(properties.getDefaultEncoding().name());
+        }
+        if (!properties.getProperties().isEmpty()) {
+            Properties javaMailProperties = new Properties();
+            javaMailProperties.putAll(properties.getProperties());
+            sender.setJavaMailProperties(javaMailProperties);
+        }
+        return sender;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.loanmanagement.config;
+
+import com.example.loanmanagement.config.filter.StartupRequestsFilter;
+import com.example.loanmanagement.mail.PooledJavaMailSender;
+import com.example.loanmanagement.notification.NotificationAggregator;
+import com.example.loanmanagement.warmup.WarmUp;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.time.Duration;
+
+/**
+ * Gauges for the application's own queues and pools, and the timer of the requests right after
+ * readiness. Connection pools are bound by Spring Boot and {@link DataSourceConfig}; request, JWT,
+ * password, EMI, mail and document timers by their callers.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder notificationQueueMetrics(NotificationAggregator aggregator) {
+        return registry -> Gauge.builder("notification.pending", aggregator, NotificationAggregator::getPendingCount)
+                .description("Notifications waiting in the outbox for their digest window")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder mailTransportMetrics(@Lazy PooledJavaMailSender mailSender) {
+        // Read through the proxy on each scrape, so binding does not create the sender
+        return registry -> {
+            Gauge.builder("mail.connections.idle", mailSender, PooledJavaMailSender::getIdleConnections)
+                    .register(registry);
+            FunctionCounter.builder("mail.messages", mailSender, sender -> sender.getMetrics().getMessagesSent())
+                    .tag("result", "sent")
+                    .register(registry);
+            FunctionCounter.builder("mail.messages", mailSender, sender -> sender.getMetrics().getMessagesFailed())
+                    .tag("result", "failed")
+                    .register(registry);
+            FunctionCounter.builder("mail.connections.opened", mailSender, sender -> sender.getMetrics().getConnectionsOpened())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public StartupRequestsFilter startupRequestsFilter(MeterRegistry meterRegistry,
+                                                       ObjectProvider<WarmUp> warmUp,
+                                                       @Value("${startup.requests.window:1m}") Duration window) {
+        return new StartupRequestsFilter(meterRegistry, warmUp, window);
+    }
+
+    @Bean
+    public FilterRegistrationBean<StartupRequestsFilter> startupRequestsFilterRegistration(StartupRequestsFilter filter) {
+        FilterRegistrationBean<StartupRequestsFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(StartupRequestsFilter.ORDER);
+        return registration;
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.loanmanagement.config;
 
 import com.example.loanmanagement.config.filter.JwtAuthenticationFilter;
+import com.example.loanmanagement.timing.ServerTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -38,6 +41,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints (authentication)
                         .requestMatchers("/api/auth/**").permitAll()
+                        // Probes and the Prometheus scrape, served on management.server.port only
+                        .requestMatchers("/actuator/health/**", "/actuator/info", "/actuator/prometheus").permitAll()
                         // H2 console for development
                         .requestMatchers("/h2-console/**").permitAll()
                         // Admin-only endpoints
@@ -54,8 +59,32 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder();
+        Timer encode = Timer.builder("password.encode").register(meterRegistry);
+        Timer matches = Timer.builder("password.matches").register(meterRegistry);
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                long startedAt = ServerTiming.start();
+                String encoded = encode.record(() -> bcrypt.encode(rawPassword));
+                ServerTiming.record(ServerTiming.Phase.AUTH, startedAt);
+                return encoded;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                long startedAt = ServerTiming.start();
+                boolean matched = matches.record(() -> bcrypt.matches(rawPassword, encodedPassword));
+                ServerTiming.record(ServerTiming.Phase.AUTH, startedAt);
+                return matched;
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return bcrypt.upgradeEncoding(encodedPassword);
+            }
+        };
     }
 
     @Bean
@@ -0,0 +1,30 @@
+package com.example.loanmanagement.config;
+
+import com.example.loanmanagement.config.filter.ServerTimingFilter;
+import com.example.loanmanagement.timing.ServerTiming;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+/**
+ * Reports where each request spent its time in the {@code Server-Timing} header and the access log;
+ * admins change the level at runtime through {@code PUT /api/admin/server-timing}.
+ */
+@Configuration
+public class ServerTimingConfig {
+
+    @Bean
+    public ServerTimingFilter serverTimingFilter(@Value("${server-timing.level:summary}") String level) {
+        return new ServerTimingFilter(ServerTiming.Level.valueOf(level.toUpperCase(Locale.ROOT)));
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilterRegistration(ServerTimingFilter filter) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(ServerTimingFilter.ORDER);
+        return registration;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.loanmanagement.config;
+
+import com.example.loanmanagement.config.filter.SqlAccountingFilter;
+import com.example.loanmanagement.datasource.SqlAccountingAspect;
+import com.example.loanmanagement.datasource.SqlAccountingRegistry;
+import com.example.loanmanagement.datasource.StatementAccountingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Counts the statements, rows and SQL time of every request and service method; see
+ * {@code GET /api/admin/sql}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlAccountingConfig {
+
+    // Unordered so it runs after the ordered post-processors, @Scheduled detection included,
+    // have seen the unwrapped data source
+    @Bean
+    public static BeanPostProcessor statementAccountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementAccountingDataSource)) {
+                    return new StatementAccountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlAccountingRegistry sqlAccountingRegistry(@Value("${sql.accounting.slow-request-threshold:500ms}") Duration slowRequestThreshold,
+                                                       @Value("${sql.accounting.slowest-requests:20}") int slowestRequests,
+                                                       @Value("${sql.accounting.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        return new SqlAccountingRegistry(slowRequestThreshold, slowestRequests, nPlusOneThreshold);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlAccountingFilter> sqlAccountingFilter(SqlAccountingRegistry registry) {
+        FilterRegistrationBean<SqlAccountingFilter> registration = new FilterRegistrationBean<>(new SqlAccountingFilter(registry));
+        registration.setOrder(SqlAccountingFilter.ORDER);
+        return registration;
+    }
+
+    @Bean
+    public SqlAccountingAspect sqlAccountingAspect(SqlAccountingRegistry registry) {
+        return new SqlAccountingAspect(registry);
+    }
+}
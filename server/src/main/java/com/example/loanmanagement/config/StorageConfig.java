@@ -0,0 +1,68 @@
+package com.example.loanmanagement.config;
+
+import com.example.loanmanagement.storage.DocumentStorage;
+import com.example.loanmanagement.storage.FileSystemDocumentStorage;
+import com.example.loanmanagement.storage.InMemoryDocumentStorage;
+import com.example.loanmanagement.storage.MigratingDocumentStorage;
+import com.example.loanmanagement.storage.S3DocumentStorage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+@Configuration
+public class StorageConfig {
+
+    // Created on the first document access; the S3 client alone takes a while to set up
+    @Bean
+    @Lazy
+    public DocumentStorage documentStorage(@Value("${file.storage.type:filesystem}") String type,
+                                           @Value("${file.upload.dir:uploads/documents}") String uploadDir,
+                                           @Value("${file.storage.s3.bucket:}") String bucket,
+                                           @Value("${file.storage.s3.prefix:}") String prefix,
+                                           ObjectProvider<S3Client> s3Client) {
+        Path root = Paths.get(uploadDir);
+        DocumentStorage target = switch (type) {
+            case "filesystem" -> new FileSystemDocumentStorage(root);
+            case "memory" -> new InMemoryDocumentStorage();
+            case "s3" -> new S3DocumentStorage(s3Client.getObject(), bucket, prefix);
+            default -> throw new IllegalArgumentException("Unknown file.storage.type: " + type);
+        };
+        // Files written before the sharded layout still sit directly in the upload directory
+        return new MigratingDocumentStorage(target, root);
+    }
+
+    @Bean
+    @Lazy
+    @ConditionalOnProperty(name = "file.storage.type", havingValue = "s3")
+    public S3Client s3Client(@Value("${file.storage.s3.endpoint:}") String endpoint,
+                             @Value("${file.storage.s3.region:us-east-1}") String region,
+                             @Value("${file.storage.s3.path-style:true}") boolean pathStyle,
+                             @Value("${file.storage.s3.access-key:}") String accessKey,
+                             @Value("${file.storage.s3.secret-key:}") String secretKey) {
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .forcePathStyle(pathStyle);
+        if (!endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        if (accessKey.isEmpty()) {
+            builder.credentialsProvider(DefaultCredentialsProvider.create());
+        } else {
+            builder.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.loanmanagement.config;
+
+import com.example.loanmanagement.repository.EmiScheduleRepository;
+import com.example.loanmanagement.repository.LoanApplicationRepository;
+import com.example.loanmanagement.repository.LoanDocumentRepository;
+import com.example.loanmanagement.repository.UserRepository;
+import com.example.loanmanagement.service.JwtService;
+import com.example.loanmanagement.service.LoanService;
+import com.example.loanmanagement.warmup.WarmUp;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+/**
+ * Warms the request paths up before readiness is reported; see {@link WarmUp}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpConfig {
+
+    @Bean
+    public WarmUp warmUp(JwtService jwtService,
+                         LoanService loanService,
+                         ObjectMapper objectMapper,
+                         UserRepository userRepository,
+                         LoanApplicationRepository loanRepository,
+                         EmiScheduleRepository emiRepository,
+                         LoanDocumentRepository documentRepository,
+                         EntityManagerFactory entityManagerFactory,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${warmup.iterations:3000}") int iterations,
+                         @Value("${warmup.budget:20s}") Duration budget) {
+        return new WarmUp(jwtService, loanService, objectMapper, userRepository, loanRepository, emiRepository,
+                documentRepository, entityManagerFactory, transactionManager, meterRegistry, iterations, budget);
+    }
+}
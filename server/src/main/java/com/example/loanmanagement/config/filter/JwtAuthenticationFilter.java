@@ -1,8 +1,10 @@
 package com.example.loanmanagement.config.filter;
 
 import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.jfr.JwtVerificationEvent;
 import com.example.loanmanagement.repository.UserRepository;
 import com.example.loanmanagement.service.JwtService;
+import com.example.loanmanagement.timing.ServerTiming;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -40,14 +42,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
 
             try {
+                UUID userId = verify(token);
+
                 // Skip refresh tokens in authentication filter
-                if (jwtService.isRefreshToken(token)) {
+                if (userId == null) {
                     filterChain.doFilter(request, response);
                     return;
                 }
 
-                UUID userId = jwtService.extractUserId(token);
-
                 User user = userRepository.findById(userId).orElse(null);
 
                 if (user != null && SecurityContextHolder.getContext().getAuthentication() == null) {
@@ -72,4 +74,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // The user id of an access token, null for a refresh token
+    private UUID verify(String token) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        long startedAt = ServerTiming.start();
+        try {
+            if (jwtService.isRefreshToken(token)) {
+                event.setRefreshToken(true);
+                return null;
+            }
+            UUID userId = jwtService.extractUserId(token);
+            event.setUserId(userId.toString());
+            event.setValid(true);
+            return userId;
+        } finally {
+            event.commit();
+            ServerTiming.record(ServerTiming.Phase.AUTH, startedAt);
+        }
+    }
 }
@@ -0,0 +1,96 @@
+package com.example.loanmanagement.config.filter;
+
+import com.example.loanmanagement.timing.ServerTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Adds the {@code Server-Timing} header to every response and writes one access log line per
+ * request, both broken down into the {@link ServerTiming.Phase phases} of the request. The header is
+ * set just before the response commits, so it covers the work done until then.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    // Outermost, so the header and the access log cover every other filter
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+
+    private volatile ServerTiming.Level level;
+
+    public ServerTimingFilter(ServerTiming.Level level) {
+        this.level = level;
+    }
+
+    public ServerTiming.Level getLevel() {
+        return level;
+    }
+
+    public void setLevel(ServerTiming.Level level) {
+        this.level = level;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ServerTiming.Level requestLevel = level;
+        if (requestLevel == ServerTiming.Level.OFF) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ServerTiming timing = ServerTiming.begin();
+        TimingResponse timingResponse = new TimingResponse(response, timing, requestLevel);
+        try {
+            filterChain.doFilter(request, timingResponse);
+        } finally {
+            if (!response.isCommitted()) {
+                timingResponse.addHeader();
+            }
+            ServerTiming.end();
+            if (accessLog.isInfoEnabled()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                accessLog.info("method={} uri={} pattern=\"{}\" status={} {}", request.getMethod(), request.getRequestURI(),
+                        pattern != null ? pattern : "unmapped", response.getStatus(), timing.fields(requestLevel));
+            }
+        }
+    }
+
+    private static final class TimingResponse extends OnCommittedResponseWrapper {
+
+        private final ServerTiming timing;
+        private final ServerTiming.Level level;
+        private boolean headerAdded;
+
+        private TimingResponse(HttpServletResponse response, ServerTiming timing, ServerTiming.Level level) {
+            super(response);
+            this.timing = timing;
+            this.level = level;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addHeader();
+        }
+
+        private void addHeader() {
+            if (!headerAdded) {
+                headerAdded = true;
+                ((HttpServletResponse) getResponse()).addHeader(HEADER, timing.header(level));
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.loanmanagement.config.filter;
+
+import com.example.loanmanagement.datasource.SqlAccounting;
+import com.example.loanmanagement.datasource.SqlAccountingRegistry;
+import com.example.loanmanagement.datasource.StatementStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Accounts the SQL of each request, including what the security filters run, to its endpoint:
+ * the HTTP method and the mapped path pattern.
+ */
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    // Inside the Server-Timing filter and Spring Boot's http.server.requests filter, which takes the
+    // order right after it, and outside the security filters
+    public static final int ORDER = ServerTimingFilter.ORDER + 2;
+
+    private final SqlAccountingRegistry registry;
+
+    public SqlAccountingFilter(SqlAccountingRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        StatementStats stats = SqlAccounting.begin(request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlAccounting.end(stats);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            registry.requestFinished(request.getMethod() + " " + (pattern != null ? pattern : "unmapped"), stats);
+        }
+    }
+}
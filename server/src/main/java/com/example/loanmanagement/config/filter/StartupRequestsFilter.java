@@ -0,0 +1,75 @@
+package com.example.loanmanagement.config.filter;
+
+import com.example.loanmanagement.warmup.WarmUp;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the requests of the first {@code startup.requests.window} after the application is ready
+ * in {@code startup.requests}, tagged {@code warmup=warmed} when the {@link WarmUp} ran and
+ * {@code warmup=cold} when it did not. {@code http.server.requests} mixes those requests into the
+ * steady state of the whole run; this timer compares the first minute of warmed and cold starts.
+ */
+public class StartupRequestsFilter extends OncePerRequestFilter implements ApplicationListener<ApplicationReadyEvent> {
+
+    // Just inside the SQL accounting filter, close to what http.server.requests covers
+    public static final int ORDER = SqlAccountingFilter.ORDER + 1;
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<WarmUp> warmUp;
+    private final long windowNanos;
+
+    private volatile boolean ready;
+    private volatile long readyAt;
+    private volatile String warmupTag;
+
+    public StartupRequestsFilter(MeterRegistry meterRegistry, ObjectProvider<WarmUp> warmUp, Duration window) {
+        this.meterRegistry = meterRegistry;
+        this.warmUp = warmUp;
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        WarmUp ranWarmUp = warmUp.getIfAvailable();
+        warmupTag = ranWarmUp != null && ranWarmUp.getCompletedIterations() > 0 ? "warmed" : "cold";
+        readyAt = System.nanoTime();
+        ready = true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long startedAt = System.nanoTime();
+        if (!ready || startedAt - readyAt > windowNanos) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Timer.builder("startup.requests")
+                    .description("Requests in the first window after readiness")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .tag("warmup", warmupTag)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+}
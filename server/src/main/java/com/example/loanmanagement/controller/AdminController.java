@@ -1,19 +1,40 @@
 package com.example.loanmanagement.controller;
 
+import com.example.loanmanagement.cache.EntityCacheInvalidator;
+import com.example.loanmanagement.config.filter.ServerTimingFilter;
+import com.example.loanmanagement.datasource.ReplicaRoutingDataSource;
+import com.example.loanmanagement.datasource.SqlAccountingRegistry;
 import com.example.loanmanagement.entity.LoanApplication;
 import com.example.loanmanagement.entity.enums.LoanStatus;
+import com.example.loanmanagement.jfr.FlightRecording;
 import com.example.loanmanagement.repository.EmiScheduleRepository;
 import com.example.loanmanagement.repository.LoanApplicationRepository;
 import com.example.loanmanagement.repository.UserRepository;
 import com.example.loanmanagement.service.LoanService;
+import com.example.loanmanagement.storage.DocumentCache;
+import com.example.loanmanagement.storage.DocumentCompressor;
+import com.example.loanmanagement.storage.DocumentStorageMigrator;
+import com.example.loanmanagement.storage.DocumentStorageReconciler;
+import com.example.loanmanagement.timing.ServerTiming;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import javax.sql.DataSource;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 
@@ -27,6 +48,15 @@ public class AdminController {
     private final LoanApplicationRepository loanRepository;
     private final UserRepository userRepository;
     private final EmiScheduleRepository emiRepository;
+    private final DocumentStorageMigrator storageMigrator;
+    private final DocumentCache documentCache;
+    private final DocumentCompressor documentCompressor;
+    private final DocumentStorageReconciler storageReconciler;
+    private final DataSource dataSource;
+    private final ServerTimingFilter serverTimingFilter;
+    private final ObjectProvider<EntityCacheInvalidator> entityCache;
+    private final ObjectProvider<SqlAccountingRegistry> sqlAccounting;
+    private final ObjectProvider<FlightRecording> flightRecording;
 
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('ADMIN')")
@@ -70,7 +100,7 @@ public class AdminController {
     @GetMapping("/loans/pending")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<LoanApplication>> getPendingLoans() {
-        List<LoanApplication> loans = loanRepository.findByStatus(LoanStatus.SUBMITTED);
+        List<LoanApplication> loans = loanRepository.findWithApplicantByStatus(LoanStatus.SUBMITTED);
         return ResponseEntity.ok(loans);
     }
 
@@ -110,5 +140,116 @@ public class AdminController {
         LoanApplication updatedLoan = loanService.updateLoanStatus(id, LoanStatus.REJECTED, reason);
         return ResponseEntity.ok(updatedLoan);
     }
-}
 
+    @PostMapping("/storage/migrate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> migrateStorage() {
+        boolean started = storageMigrator.start();
+        Map<String, Object> status = storageMigrator.getStatus();
+        return started ? ResponseEntity.accepted().body(status) : ResponseEntity.ok(status);
+    }
+
+    @GetMapping("/storage/migration")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStorageMigration() {
+        return ResponseEntity.ok(storageMigrator.getStatus());
+    }
+
+    @GetMapping("/documents/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getDocumentCacheStatistics() {
+        return ResponseEntity.ok(documentCache.getStatistics());
+    }
+
+    @GetMapping("/documents/compression")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getDocumentCompressionStatistics() {
+        return ResponseEntity.ok(documentCompressor.getStatistics());
+    }
+
+    @PostMapping("/storage/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> reconcileStorage() {
+        boolean started = storageReconciler.start();
+        Map<String, Object> status = storageReconciler.getStatus();
+        return started ? ResponseEntity.accepted().body(status) : ResponseEntity.ok(status);
+    }
+
+    @GetMapping("/storage/reconciliation")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStorageReconciliation() {
+        return ResponseEntity.ok(storageReconciler.getStatus());
+    }
+
+    @GetMapping("/datasource/routing")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getDataSourceRouting() throws SQLException {
+        if (!dataSource.isWrapperFor(ReplicaRoutingDataSource.class)) {
+            return ResponseEntity.ok(Map.of("replicas", List.of()));
+        }
+        return ResponseEntity.ok(dataSource.unwrap(ReplicaRoutingDataSource.class).getStatistics());
+    }
+
+    @GetMapping("/cache/entities")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getEntityCacheStatistics() {
+        EntityCacheInvalidator invalidator = entityCache.getIfAvailable();
+        if (invalidator == null) {
+            return ResponseEntity.ok(Map.of("enabled", false));
+        }
+        return ResponseEntity.ok(invalidator.getStatistics());
+    }
+
+    @GetMapping("/sql")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getSqlStatistics() {
+        SqlAccountingRegistry registry = sqlAccounting.getIfAvailable();
+        if (registry == null) {
+            return ResponseEntity.ok(Map.of("enabled", false));
+        }
+        return ResponseEntity.ok(registry.getStatistics());
+    }
+
+    @GetMapping("/jfr")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getFlightRecording() {
+        FlightRecording recording = flightRecording.getIfAvailable();
+        if (recording == null) {
+            return ResponseEntity.ok(Map.of("enabled", false));
+        }
+        return ResponseEntity.ok(recording.getStatus());
+    }
+
+    @PostMapping("/jfr/dump")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void dumpFlightRecording(@RequestParam(defaultValue = "5m") String window,
+                                    HttpServletResponse response) throws IOException {
+        FlightRecording recording = flightRecording.getIfAvailable();
+        if (recording == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value(), "Flight recording is disabled");
+            return;
+        }
+        Duration duration = DurationStyle.detectAndParse(window);
+        response.setContentType("application/octet-stream");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"loan-management-" + Instant.now().getEpochSecond() + ".jfr\"");
+        recording.dump(duration, response.getOutputStream());
+    }
+
+    @GetMapping("/server-timing")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getServerTimingLevel() {
+        return ResponseEntity.ok(Map.of("level", serverTimingFilter.getLevel()));
+    }
+
+    @PutMapping("/server-timing")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> setServerTimingLevel(@RequestBody Map<String, String> payload) {
+        String level = payload.get("level");
+        if (level == null) {
+            throw new IllegalArgumentException("Level is required");
+        }
+        serverTimingFilter.setLevel(ServerTiming.Level.valueOf(level.toUpperCase(Locale.ROOT)));
+        return ResponseEntity.ok(Map.of("level", serverTimingFilter.getLevel()));
+    }
+}
@@ -3,11 +3,12 @@ package com.example.loanmanagement.controller;
 import com.example.loanmanagement.entity.LoanDocument;
 import com.example.loanmanagement.entity.enums.DocumentType;
 import com.example.loanmanagement.service.DocumentService;
+import com.example.loanmanagement.storage.DocumentContent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +25,7 @@ import java.util.UUID;
 public class DocumentController {
 
     private final DocumentService documentService;
+    private final DocumentDownloadWriter downloadWriter;
 
     @PostMapping("/upload")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
@@ -43,6 +45,15 @@ public class DocumentController {
         return ResponseEntity.ok(documents);
     }
 
+    @GetMapping("/loan/{loanId}/bundle")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public void downloadDocumentBundle(@PathVariable UUID loanId, HttpServletResponse response) throws IOException {
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                DocumentDownloadWriter.contentDisposition("loan-" + loanId + "-documents.zip"));
+        documentService.writeDocumentBundle(loanId, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<LoanDocument> getDocumentById(@PathVariable UUID id) {
@@ -52,17 +63,11 @@ public class DocumentController {
 
     @GetMapping("/{id}/download")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ByteArrayResource> downloadDocument(@PathVariable UUID id) throws IOException {
-        LoanDocument document = documentService.getDocumentById(id);
-        byte[] data = documentService.downloadDocument(id);
-        
-        ByteArrayResource resource = new ByteArrayResource(data);
-        
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + document.getFileName() + "\"")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .contentLength(data.length)
-                .body(resource);
+    public void downloadDocument(@PathVariable UUID id,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        DocumentContent content = documentService.downloadDocument(id);
+        downloadWriter.write(content, request, response);
     }
 
     @DeleteMapping("/{id}")
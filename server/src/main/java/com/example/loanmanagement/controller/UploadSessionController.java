@@ -0,0 +1,79 @@
+package com.example.loanmanagement.controller;
+
+import com.example.loanmanagement.dto.UploadSessionRequest;
+import com.example.loanmanagement.dto.UploadSessionResponse;
+import com.example.loanmanagement.entity.LoanDocument;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.exception.UploadOffsetConflictException;
+import com.example.loanmanagement.service.UploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/documents/uploads")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:5173", allowCredentials = "true", exposedHeaders = UploadOffsetConflictException.OFFSET_HEADER)
+public class UploadSessionController {
+
+    private static final String CHECKSUM_HEADER = "X-Chunk-Checksum";
+
+    private final UploadSessionService uploadSessionService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<UploadSessionResponse> createSession(@Valid @RequestBody UploadSessionRequest request,
+                                                               @AuthenticationPrincipal User user) {
+        UploadSessionResponse session = uploadSessionService.createSession(request, user);
+        return ResponseEntity.status(HttpStatus.CREATED).body(session);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<UploadSessionResponse> getSession(@PathVariable UUID id, @AuthenticationPrincipal User user) {
+        UploadSessionResponse session = uploadSessionService.getSession(id, user);
+        return withOffset(session);
+    }
+
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<UploadSessionResponse> uploadChunk(
+            @PathVariable UUID id,
+            @RequestParam("offset") long offset,
+            @RequestHeader(CHECKSUM_HEADER) String checksum,
+            HttpServletRequest request,
+            @AuthenticationPrincipal User user) throws IOException {
+
+        UploadSessionResponse session = uploadSessionService.appendChunk(id, offset, checksum, request.getInputStream(), user);
+        return withOffset(session);
+    }
+
+    @PostMapping("/{id}/complete")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<LoanDocument> completeSession(@PathVariable UUID id, @AuthenticationPrincipal User user) throws IOException {
+        LoanDocument document = uploadSessionService.completeSession(id, user);
+        return ResponseEntity.status(HttpStatus.CREATED).body(document);
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Void> abortSession(@PathVariable UUID id, @AuthenticationPrincipal User user) throws IOException {
+        uploadSessionService.abortSession(id, user);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ResponseEntity<UploadSessionResponse> withOffset(UploadSessionResponse session) {
+        return ResponseEntity.ok()
+                .header(UploadOffsetConflictException.OFFSET_HEADER, String.valueOf(session.getReceivedBytes()))
+                .body(session);
+    }
+}
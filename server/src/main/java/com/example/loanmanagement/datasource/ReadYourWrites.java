@@ -0,0 +1,49 @@
+package com.example.loanmanagement.datasource;
+
+import com.example.loanmanagement.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Remembers which users committed a write in the last few seconds, so their reads go to the
+ * primary until the replicas have caught up. Without it a borrower who just applied for a loan
+ * could list their loans from a lagging replica and not see the new one.
+ * <p>
+ * The window is kept per instance; it only follows the borrower while their requests reach the
+ * same node, which holds for the sticky routing chunked uploads already need.
+ */
+public class ReadYourWrites {
+
+    private final Cache<UUID, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void recordWrite() {
+        UUID userId = currentUserId();
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean requiresPrimary() {
+        UUID userId = currentUserId();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    private static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
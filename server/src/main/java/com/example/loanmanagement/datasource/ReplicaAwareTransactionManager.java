@@ -0,0 +1,68 @@
+package com.example.loanmanagement.datasource;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends the read-only transactions declared in this application to a replica.
+ * <p>
+ * Hibernate takes the connection of a read-only transaction while it begins, so the routing
+ * decision only has to hold for the duration of {@link #doBegin}. Spring Data marks every
+ * repository read as read-only too; those implicit transactions stay on the primary, because
+ * callers such as the upload sessions and the storage reconciler read state they are about to
+ * act on and must not see a lagging copy. Only a service method that declares
+ * {@code @Transactional(readOnly = true)} opts in.
+ * <p>
+ * Replica reads may use the second-level cache but never fill it. Each committed read-write
+ * transaction opens the read-your-writes window of the current user.
+ */
+public class ReplicaAwareTransactionManager extends JpaTransactionManager {
+
+    private static final String REPOSITORY_PACKAGE = "org.springframework.data.";
+
+    private final ReadYourWrites readYourWrites;
+
+    public ReplicaAwareTransactionManager(EntityManagerFactory entityManagerFactory, ReadYourWrites readYourWrites) {
+        super(entityManagerFactory);
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        if (!routesToReplica(definition)) {
+            super.doBegin(transaction, definition);
+            return;
+        }
+        ReplicaRoutingDataSource.beginReadOnly();
+        try {
+            super.doBegin(transaction, definition);
+        } finally {
+            ReplicaRoutingDataSource.endReadOnly();
+        }
+        // A lagging replica must not put its rows into the second-level cache, where they would
+        // outlive the invalidation of the change they are missing
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        if (holder != null) {
+            holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) {
+            readYourWrites.recordWrite();
+        }
+    }
+
+    private static boolean routesToReplica(TransactionDefinition definition) {
+        String name = definition.getName();
+        return definition.isReadOnly() && name != null && !name.startsWith(REPOSITORY_PACKAGE);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.loanmanagement.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas under {@code datasource.replicas}. Username and password default to the primary's.
+ */
+@Data
+@ConfigurationProperties("datasource")
+public class ReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Kept short so a dead replica costs one request a second, not the pool's usual 30 seconds
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.loanmanagement.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out primary connections, except while {@link ReplicaAwareTransactionManager} begins a
+ * read-only transaction: those get a connection from the next healthy replica, round-robin.
+ * <p>
+ * A replica that fails to produce a connection is taken out of rotation at once and the next one
+ * is tried; when none is left the read goes to the primary, so losing every replica slows the
+ * primary down but fails no request. The scheduled check brings replicas back once they answer
+ * again.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final ThreadLocal<Boolean> READ_ONLY = new ThreadLocal<>();
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final AtomicLong primaryConnections = new AtomicLong();
+    private final AtomicLong pinnedReads = new AtomicLong();
+    private final AtomicLong fallbackReads = new AtomicLong();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReadYourWrites readYourWrites) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.readYourWrites = readYourWrites;
+    }
+
+    static void beginReadOnly() {
+        READ_ONLY.set(Boolean.TRUE);
+    }
+
+    static void endReadOnly() {
+        READ_ONLY.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (READ_ONLY.get() != null) {
+            if (readYourWrites.requiresPrimary()) {
+                pinnedReads.incrementAndGet();
+            } else {
+                Connection connection = replicaConnection();
+                if (connection != null) {
+                    return connection;
+                }
+                fallbackReads.incrementAndGet();
+            }
+        }
+        primaryConnections.incrementAndGet();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections are opened with the configured credentials");
+    }
+
+    private Connection replicaConnection() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.connections.incrementAndGet();
+                return connection;
+            } catch (SQLException e) {
+                replica.failures.incrementAndGet();
+                markDown(replica, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.health-check-interval:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    if (!replica.healthy) {
+                        replica.healthy = true;
+                        log.info("Replica {} is back in rotation", replica.name);
+                    }
+                } else {
+                    markDown(replica, "connection is not valid");
+                }
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} taken out of rotation: {}", replica.name, reason);
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("primaryConnections", primaryConnections.get());
+        statistics.put("readYourWritesReads", pinnedReads.get());
+        statistics.put("fallbackReads", fallbackReads.get());
+        List<Map<String, Object>> replicaStatistics = new ArrayList<>();
+        for (Replica replica : replicas) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", replica.name);
+            entry.put("healthy", replica.healthy);
+            entry.put("connections", replica.connections.get());
+            entry.put("failures", replica.failures.get());
+            replicaStatistics.add(entry);
+        }
+        statistics.put("replicas", replicaStatistics);
+        return statistics;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final AtomicLong connections = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
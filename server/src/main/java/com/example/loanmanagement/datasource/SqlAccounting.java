@@ -0,0 +1,103 @@
+package com.example.loanmanagement.datasource;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.regex.Pattern;
+
+/**
+ * Attributes the statements counted by {@link StatementAccountingDataSource} to the scopes open
+ * on the current thread. Scopes nest: a statement run by a service method called from a request
+ * counts for both.
+ * <p>
+ * Tests use {@link #capture} to assert on the statements a piece of code issues:
+ * <pre>
+ * SqlAccounting.capture(() -> mockMvc.perform(get("/api/emi/pending")))
+ *         .assertStatementsAtMost(2);
+ * </pre>
+ */
+public final class SqlAccounting {
+
+    private static final ThreadLocal<Deque<StatementStats>> SCOPES = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern VALUE_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlAccounting() {
+    }
+
+    public static StatementStats begin(String name) {
+        StatementStats stats = new StatementStats(name);
+        Deque<StatementStats> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        scopes.push(stats);
+        return stats;
+    }
+
+    public static void end(StatementStats stats) {
+        stats.finish();
+        Deque<StatementStats> scopes = SCOPES.get();
+        if (scopes != null) {
+            scopes.remove(stats);
+            if (scopes.isEmpty()) {
+                SCOPES.remove();
+            }
+        }
+    }
+
+    /**
+     * Whether {@code stats} is the outermost scope of the thread, the one that reports on the
+     * whole unit of work.
+     */
+    public static boolean isOutermost(StatementStats stats) {
+        Deque<StatementStats> scopes = SCOPES.get();
+        return scopes != null && scopes.peekLast() == stats;
+    }
+
+    public static StatementStats capture(Work work) throws Exception {
+        StatementStats stats = begin("captured block");
+        try {
+            work.run();
+        } finally {
+            end(stats);
+        }
+        return stats;
+    }
+
+    static void statement(String sql, long nanos) {
+        Deque<StatementStats> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        String shape = shape(sql);
+        for (StatementStats stats : scopes) {
+            stats.statement(shape, nanos);
+        }
+    }
+
+    static void rows(long count) {
+        Deque<StatementStats> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        for (StatementStats stats : scopes) {
+            stats.rows(count);
+        }
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = VALUE_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+}
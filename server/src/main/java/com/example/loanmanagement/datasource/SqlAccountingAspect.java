@@ -0,0 +1,31 @@
+package com.example.loanmanagement.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Opens a {@link SqlAccounting} scope around every service method.
+ */
+@Aspect
+public class SqlAccountingAspect {
+
+    private final SqlAccountingRegistry registry;
+
+    public SqlAccountingAspect(SqlAccountingRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("within(@org.springframework.stereotype.Service *)")
+    public Object account(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        StatementStats stats = SqlAccounting.begin(method);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            boolean outermost = SqlAccounting.isOutermost(stats);
+            SqlAccounting.end(stats);
+            registry.methodFinished(method, stats, outermost);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.loanmanagement.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects the finished {@link StatementStats} of requests and service methods: totals per
+ * endpoint and per method, the slowest requests seen, and N+1 suspects.
+ * <p>
+ * A unit of work that runs the same statement shape {@code sql.accounting.n-plus-one-threshold}
+ * times or more is reported as an N+1 suspect; the first time per endpoint and shape it is also
+ * logged. Requests slower than {@code sql.accounting.slow-request-threshold} are logged with
+ * their statement counts.
+ */
+@Slf4j
+public class SqlAccountingRegistry {
+
+    private final Duration slowRequestThreshold;
+    private final int slowestRequests;
+    private final int nPlusOneThreshold;
+
+    private final Map<String, Totals> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, Totals> methods = new ConcurrentHashMap<>();
+    private final Map<String, Suspect> suspects = new ConcurrentHashMap<>();
+    private final PriorityQueue<SlowRequest> slowest = new PriorityQueue<>(Comparator.comparing(SlowRequest::elapsed));
+    // Taken by every request; a contended monitor would block the carrier of a virtual thread
+    private final ReentrantLock slowestLock = new ReentrantLock();
+
+    public SqlAccountingRegistry(Duration slowRequestThreshold, int slowestRequests, int nPlusOneThreshold) {
+        this.slowRequestThreshold = slowRequestThreshold;
+        this.slowestRequests = slowestRequests;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    public void requestFinished(String endpoint, StatementStats stats) {
+        endpoints.computeIfAbsent(endpoint, e -> new Totals()).add(stats);
+        detectRepeats(endpoint, stats);
+
+        Duration elapsed = stats.getElapsed();
+        if (elapsed.compareTo(slowRequestThreshold) >= 0) {
+            log.info("Slow request {} took {} ms: {} statements, {} rows, {} ms in SQL", endpoint,
+                    elapsed.toMillis(), stats.getStatements(), stats.getRows(), stats.getSqlTime().toMillis());
+        }
+        slowestLock.lock();
+        try {
+            slowest.add(new SlowRequest(endpoint, Instant.now(), elapsed, stats.getStatements(), stats.getRows(), stats.getSqlTime()));
+            if (slowest.size() > slowestRequests) {
+                slowest.poll();
+            }
+        } finally {
+            slowestLock.unlock();
+        }
+    }
+
+    public void methodFinished(String method, StatementStats stats, boolean outermost) {
+        methods.computeIfAbsent(method, m -> new Totals()).add(stats);
+        if (outermost) {
+            // Scheduled jobs and listeners have no request around them
+            detectRepeats(method, stats);
+        }
+    }
+
+    private void detectRepeats(String source, StatementStats stats) {
+        stats.getRepeatedShapes(nPlusOneThreshold).forEach((shape, count) -> {
+            Suspect suspect = suspects.computeIfAbsent(source + '\n' + shape, key -> {
+                log.warn("Possible N+1 in {}: {} executions of {}", source, count, shape);
+                return new Suspect(source, shape);
+            });
+            suspect.record(count);
+        });
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("endpoints", describe(endpoints));
+        statistics.put("methods", describe(methods));
+
+        List<SlowRequest> slowRequests;
+        slowestLock.lock();
+        try {
+            slowRequests = new ArrayList<>(slowest);
+        } finally {
+            slowestLock.unlock();
+        }
+        slowRequests.sort(Comparator.comparing(SlowRequest::elapsed).reversed());
+        statistics.put("slowestRequests", slowRequests.stream().map(request -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("endpoint", request.endpoint());
+            entry.put("at", request.at());
+            entry.put("elapsedMillis", request.elapsed().toMillis());
+            entry.put("statements", request.statements());
+            entry.put("rows", request.rows());
+            entry.put("sqlMillis", request.sqlTime().toMillis());
+            return entry;
+        }).toList());
+
+        statistics.put("nPlusOneSuspects", suspects.values().stream()
+                .sorted(Comparator.comparingLong((Suspect suspect) -> suspect.occurrences.get()).reversed())
+                .map(suspect -> {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("source", suspect.source);
+                    entry.put("statement", suspect.shape);
+                    entry.put("occurrences", suspect.occurrences.get());
+                    entry.put("maxRepeats", suspect.maxRepeats.get());
+                    return entry;
+                }).toList());
+        return statistics;
+    }
+
+    // Sorted by statements per call, the figure an N+1 inflates
+    private static List<Map<String, Object>> describe(Map<String, Totals> totals) {
+        return totals.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, Totals> entry) -> entry.getValue().statementsPerCall()).reversed())
+                .map(entry -> {
+                    Totals value = entry.getValue();
+                    Map<String, Object> description = new LinkedHashMap<>();
+                    description.put("name", entry.getKey());
+                    description.put("calls", value.calls.get());
+                    description.put("statements", value.statements.get());
+                    description.put("statementsPerCall", value.statementsPerCall());
+                    description.put("maxStatements", value.maxStatements.get());
+                    description.put("rows", value.rows.get());
+                    description.put("sqlMillis", value.sqlNanos.get() / 1_000_000);
+                    return description;
+                }).toList();
+    }
+
+    private static final class Totals {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong statements = new AtomicLong();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong sqlNanos = new AtomicLong();
+
+        private void add(StatementStats stats) {
+            calls.incrementAndGet();
+            statements.addAndGet(stats.getStatements());
+            maxStatements.accumulateAndGet(stats.getStatements(), Math::max);
+            rows.addAndGet(stats.getRows());
+            sqlNanos.addAndGet(stats.getSqlTime().toNanos());
+        }
+
+        private double statementsPerCall() {
+            long count = calls.get();
+            return count == 0 ? 0 : (double) statements.get() / count;
+        }
+    }
+
+    private static final class Suspect {
+        private final String source;
+        private final String shape;
+        private final AtomicLong occurrences = new AtomicLong();
+        private final AtomicLong maxRepeats = new AtomicLong();
+
+        private Suspect(String source, String shape) {
+            this.source = source;
+            this.shape = shape;
+        }
+
+        private void record(int repeats) {
+            occurrences.incrementAndGet();
+            maxRepeats.accumulateAndGet(repeats, Math::max);
+        }
+    }
+
+    private record SlowRequest(String endpoint, Instant at, Duration elapsed, int statements, long rows, Duration sqlTime) {
+    }
+}
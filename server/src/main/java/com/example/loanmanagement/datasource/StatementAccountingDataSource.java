@@ -0,0 +1,186 @@
+package com.example.loanmanagement.datasource;
+
+import com.example.loanmanagement.timing.ServerTiming;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Wraps connections so every statement they execute is counted, timed and attributed to the
+ * scopes open in {@link SqlAccounting}, and rows are counted as results are read.
+ * <p>
+ * With {@code DEBUG} enabled for this class each statement is logged with its execution time,
+ * which replaces Hibernate's {@code show-sql}.
+ */
+@Slf4j
+public class StatementAccountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    public StatementAccountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementAccountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "createStatement":
+                    return statement(Statement.class, StatementAccountingDataSource.invoke(target, method, args), null, (Connection) proxy);
+                case "prepareStatement":
+                    return statement(PreparedStatement.class, StatementAccountingDataSource.invoke(target, method, args), (String) args[0], (Connection) proxy);
+                case "prepareCall":
+                    return statement(CallableStatement.class, StatementAccountingDataSource.invoke(target, method, args), (String) args[0], (Connection) proxy);
+                default:
+                    return StatementAccountingDataSource.invoke(target, method, args);
+            }
+        }
+
+        private static Object statement(Class<? extends Statement> type, Object statement, String sql, Connection connection) {
+            return Proxy.newProxyInstance(StatementAccountingDataSource.class.getClassLoader(),
+                    new Class<?>[]{type}, new StatementHandler((Statement) statement, sql, connection));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connection;
+        // Prepared SQL, or the last SQL added to a plain statement's batch
+        private String sql;
+
+        private StatementHandler(Statement target, String sql, Connection connection) {
+            this.target = target;
+            this.sql = sql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            if (name.equals("addBatch") && args != null && args.length == 1) {
+                sql = (String) args[0];
+            }
+            if (name.equals("getResultSet")) {
+                return rows((ResultSet) StatementAccountingDataSource.invoke(target, method, args));
+            }
+            if (!EXECUTE_METHODS.contains(name)) {
+                return StatementAccountingDataSource.invoke(target, method, args);
+            }
+
+            String statementSql = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+            long startedAt = System.nanoTime();
+            Object result;
+            try {
+                result = StatementAccountingDataSource.invoke(target, method, args);
+            } finally {
+                long nanos = System.nanoTime() - startedAt;
+                ServerTiming.recordNanos(ServerTiming.Phase.DB, nanos);
+                if (statementSql != null) {
+                    SqlAccounting.statement(statementSql, nanos);
+                    if (log.isDebugEnabled()) {
+                        log.debug("{} us: {}", nanos / 1000, statementSql);
+                    }
+                }
+            }
+            if (result instanceof ResultSet resultSet) {
+                return rows(resultSet);
+            }
+            if (result instanceof Integer count && count > 0) {
+                SqlAccounting.rows(count);
+            } else if (result instanceof Long count && count > 0) {
+                SqlAccounting.rows(count);
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    if (count > 0) {
+                        SqlAccounting.rows(count);
+                    }
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    if (count > 0) {
+                        SqlAccounting.rows(count);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private static ResultSet rows(ResultSet resultSet) {
+            if (resultSet == null) {
+                return null;
+            }
+            return (ResultSet) Proxy.newProxyInstance(StatementAccountingDataSource.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                        Object result = StatementAccountingDataSource.invoke(resultSet, method, args);
+                        if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                            SqlAccounting.rows(1);
+                        }
+                        return result;
+                    });
+        }
+    }
+}
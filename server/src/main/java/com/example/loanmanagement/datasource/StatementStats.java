@@ -0,0 +1,103 @@
+package com.example.loanmanagement.datasource;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL statements issued within one scope: an HTTP request, a service method or a
+ * {@link SqlAccounting#capture captured} block. Statements are counted by shape, the SQL with its
+ * literals and parameter lists replaced, so the same query for different ids counts as a repeat.
+ */
+public class StatementStats {
+
+    private final String name;
+    private final long startedAt = System.nanoTime();
+    private int statements;
+    private long rows;
+    private long sqlNanos;
+    private long elapsedNanos = -1;
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    StatementStats(String name) {
+        this.name = name;
+    }
+
+    void statement(String shape, long nanos) {
+        statements++;
+        sqlNanos += nanos;
+        shapes.merge(shape, 1, Integer::sum);
+    }
+
+    void rows(long count) {
+        rows += count;
+    }
+
+    void finish() {
+        elapsedNanos = System.nanoTime() - startedAt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Time spent executing statements, not counting reading their results.
+     */
+    public Duration getSqlTime() {
+        return Duration.ofNanos(sqlNanos);
+    }
+
+    public Duration getElapsed() {
+        return Duration.ofNanos(elapsedNanos < 0 ? System.nanoTime() - startedAt : elapsedNanos);
+    }
+
+    public Map<String, Integer> getShapeCounts() {
+        return Collections.unmodifiableMap(shapes);
+    }
+
+    /**
+     * Statement shapes executed at least {@code threshold} times, the signature of an N+1.
+     */
+    public Map<String, Integer> getRepeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.forEach((shape, count) -> {
+            if (count >= threshold) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+
+    public StatementStats assertStatementsAtMost(int max) {
+        if (statements > max) {
+            throw new AssertionError("Expected at most " + max + " statements but " + name + " issued "
+                    + statements + ": " + shapes);
+        }
+        return this;
+    }
+
+    public StatementStats assertNoRepeatedStatements(int threshold) {
+        Map<String, Integer> repeated = getRepeatedShapes(threshold);
+        if (!repeated.isEmpty()) {
+            throw new AssertionError(name + " repeated statements " + threshold + " times or more: " + repeated);
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + statements + " statements, " + rows + " rows, "
+                + getSqlTime().toMillis() + " ms in SQL";
+    }
+}
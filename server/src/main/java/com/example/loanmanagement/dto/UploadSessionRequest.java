@@ -0,0 +1,55 @@
+package com.example.loanmanagement.dto;
+
+import com.example.loanmanagement.entity.enums.DocumentType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.util.UUID;
+
+public class UploadSessionRequest {
+
+    @NotNull
+    private UUID loanId;
+
+    @NotNull
+    private DocumentType documentType;
+
+    @NotBlank
+    private String fileName;
+
+    @NotNull
+    @Positive
+    private Long totalSize;
+
+    public UUID getLoanId() {
+        return loanId;
+    }
+
+    public void setLoanId(UUID loanId) {
+        this.loanId = loanId;
+    }
+
+    public DocumentType getDocumentType() {
+        return documentType;
+    }
+
+    public void setDocumentType(DocumentType documentType) {
+        this.documentType = documentType;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(Long totalSize) {
+        this.totalSize = totalSize;
+    }
+}
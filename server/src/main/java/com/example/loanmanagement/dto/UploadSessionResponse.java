@@ -0,0 +1,61 @@
+package com.example.loanmanagement.dto;
+
+import com.example.loanmanagement.entity.UploadSession;
+import com.example.loanmanagement.entity.enums.DocumentType;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public class UploadSessionResponse {
+
+    private final UUID id;
+    private final UUID loanId;
+    private final DocumentType documentType;
+    private final String fileName;
+    private final long totalSize;
+    private final long receivedBytes;
+    private final long maxChunkSize;
+    private final OffsetDateTime expiresAt;
+
+    public UploadSessionResponse(UploadSession session, long maxChunkSize, OffsetDateTime expiresAt) {
+        this.id = session.getId();
+        this.loanId = session.getLoanId();
+        this.documentType = session.getDocumentType();
+        this.fileName = session.getFileName();
+        this.totalSize = session.getTotalSize();
+        this.receivedBytes = session.getReceivedBytes();
+        this.maxChunkSize = maxChunkSize;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getLoanId() {
+        return loanId;
+    }
+
+    public DocumentType getDocumentType() {
+        return documentType;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public long getMaxChunkSize() {
+        return maxChunkSize;
+    }
+
+    public OffsetDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
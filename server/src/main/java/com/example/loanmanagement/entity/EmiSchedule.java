@@ -1,19 +1,21 @@
 package com.example.loanmanagement.entity;
 
 import com.example.loanmanagement.entity.enums.PaymentStatus;
+import com.example.loanmanagement.entity.id.UuidV7;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
@@ -21,9 +23,11 @@ import java.util.UUID;
 public class EmiSchedule {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
+    // Only the id, which the lazy proxy has without loading the loan
+    @JsonIncludeProperties("id")
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "loan_id", nullable = false)
     private LoanApplication loan;
@@ -41,6 +45,10 @@ public class EmiSchedule {
     @Column(name = "transaction_id")
     private String transactionId;
 
+    @JsonIgnore
+    @Column(name = "reminded_at")
+    private OffsetDateTime remindedAt;
+
     public UUID getId() {
         return id;
     }
@@ -88,4 +96,12 @@ public class EmiSchedule {
     public void setTransactionId(String transactionId) {
         this.transactionId = transactionId;
     }
+
+    public OffsetDateTime getRemindedAt() {
+        return remindedAt;
+    }
+
+    public void setRemindedAt(OffsetDateTime remindedAt) {
+        this.remindedAt = remindedAt;
+    }
 }
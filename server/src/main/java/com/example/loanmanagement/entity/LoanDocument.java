@@ -1,13 +1,13 @@
 package com.example.loanmanagement.entity;
 
 import com.example.loanmanagement.entity.enums.DocumentType;
+import com.example.loanmanagement.entity.id.UuidV7;
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -20,9 +20,11 @@ import java.util.UUID;
 public class LoanDocument {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
+    // Only the id, which the lazy proxy has without loading the loan
+    @JsonIncludeProperties("id")
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "loan_id", nullable = false)
     private LoanApplication loan;
@@ -37,6 +39,16 @@ public class LoanDocument {
     @Column(name = "file_path", nullable = false)
     private String filePath;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    // Copied from the blob so downloads know how to decode the stored bytes without another query
+    @Column(name = "content_encoding", length = 16)
+    private String contentEncoding;
+
     @Column(name = "uploaded_at", nullable = false)
     private OffsetDateTime uploadedAt = OffsetDateTime.now();
 
@@ -80,6 +92,30 @@ public class LoanDocument {
         this.filePath = filePath;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    public void setContentEncoding(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
     public OffsetDateTime getUploadedAt() {
         return uploadedAt;
     }
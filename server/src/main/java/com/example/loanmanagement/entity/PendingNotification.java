@@ -0,0 +1,125 @@
+package com.example.loanmanagement.entity;
+
+import com.example.loanmanagement.entity.enums.LoanStatus;
+import com.example.loanmanagement.entity.enums.NotificationType;
+import com.example.loanmanagement.entity.id.UuidV7;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A notification waiting to be merged into the recipient's next digest. Rows are written in the
+ * same transaction as the change that caused them and deleted once the digest has been sent.
+ * {@code claimedBy} is the node that holds the row in memory and will send it.
+ */
+@Entity
+@Table(name = "pending_notifications")
+public class PendingNotification {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "notification_type", nullable = false, length = 30)
+    private NotificationType type;
+
+    @Column(name = "loan_id", nullable = false)
+    private UUID loanId;
+
+    @Column(name = "emi_id")
+    private UUID emiId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "loan_status", length = 30)
+    private LoanStatus loanStatus;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt = OffsetDateTime.now();
+
+    @Column(name = "claimed_by", length = 36)
+    private String claimedBy;
+
+    @Column(name = "claimed_at")
+    private OffsetDateTime claimedAt;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public void setType(NotificationType type) {
+        this.type = type;
+    }
+
+    public UUID getLoanId() {
+        return loanId;
+    }
+
+    public void setLoanId(UUID loanId) {
+        this.loanId = loanId;
+    }
+
+    public UUID getEmiId() {
+        return emiId;
+    }
+
+    public void setEmiId(UUID emiId) {
+        this.emiId = emiId;
+    }
+
+    public LoanStatus getLoanStatus() {
+        return loanStatus;
+    }
+
+    public void setLoanStatus(LoanStatus loanStatus) {
+        this.loanStatus = loanStatus;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+    public OffsetDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(OffsetDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+}
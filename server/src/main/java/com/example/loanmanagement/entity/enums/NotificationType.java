@@ -0,0 +1,6 @@
+package com.example.loanmanagement.entity.enums;
+
+public enum NotificationType {
+    LOAN_STATUS_UPDATE,
+    EMI_REMINDER
+}
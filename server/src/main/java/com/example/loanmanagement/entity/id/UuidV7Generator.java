@@ -0,0 +1,53 @@
+package com.example.loanmanagement.entity.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version 7 UUIDs (RFC 9562): a 48-bit Unix millisecond timestamp, a 12-bit sequence and 62
+ * random bits. Stored as {@code BINARY(16)} the bytes sort in creation order, so InnoDB appends
+ * new ids to the right edge of the clustered index rather than splitting random pages.
+ * <p>
+ * Ids are strictly increasing within this JVM: the sequence counts up within a millisecond and
+ * keeps counting through a clock that steps back or through more than 4096 ids in a millisecond,
+ * borrowing from the next millisecond if it has to.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    // Last issued timestamp and sequence, packed as millis << 12 | sequence
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public static UUID next() {
+        long candidate = System.currentTimeMillis() << SEQUENCE_BITS;
+        long issued = LAST.updateAndGet(last -> Math.max(last + 1, candidate));
+        long timestamp = issued >>> SEQUENCE_BITS;
+        long sequence = issued & ((1L << SEQUENCE_BITS) - 1);
+        long mostSignificant = timestamp << 16 | VERSION | sequence;
+        long leastSignificant = VARIANT | (RANDOM.nextLong() & RANDOM_MASK);
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.loanmanagement.exception;
+
+/**
+ * A chunk did not start where the upload session left off, or another chunk of the same session
+ * is still being written. The client resumes from {@link #getExpectedOffset()}.
+ */
+public class UploadOffsetConflictException extends RuntimeException {
+
+    public static final String OFFSET_HEADER = "Upload-Offset";
+
+    private final long expectedOffset;
+
+    public UploadOffsetConflictException(String message, long expectedOffset) {
+        super(message);
+        this.expectedOffset = expectedOffset;
+    }
+
+    public long getExpectedOffset() {
+        return expectedOffset;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.loanmanagement.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.example.loanmanagement.DocumentIo")
+@Label("Document I/O")
+@Category({"Loan Management", "Documents"})
+@StackTrace(false)
+@Setter
+public class DocumentIoEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Document Id")
+    private String documentId;
+
+    @Label("Loan Id")
+    private String loanId;
+
+    @Label("Documents")
+    private int documents;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+}
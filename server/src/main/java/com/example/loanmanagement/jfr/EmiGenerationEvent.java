@@ -0,0 +1,22 @@
+package com.example.loanmanagement.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.example.loanmanagement.EmiGeneration")
+@Label("EMI Schedule Generation")
+@Category({"Loan Management", "Loans"})
+@StackTrace(false)
+@Setter
+public class EmiGenerationEvent extends Event {
+
+    @Label("Loan Id")
+    private String loanId;
+
+    @Label("Installments")
+    private int installments;
+}
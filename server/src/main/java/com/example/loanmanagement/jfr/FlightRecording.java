@@ -0,0 +1,65 @@
+package com.example.loanmanagement.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Continuous flight recording kept on disk for {@code jfr.recording.max-age}, from which admins dump
+ * the last few minutes after a latency spike. With the JDK's {@code default} settings, which include
+ * the application's events, the overhead is low enough to leave running in production.
+ */
+@Slf4j
+public class FlightRecording implements AutoCloseable {
+
+    private final Recording recording;
+
+    public FlightRecording(String settings, Duration maxAge, long maxSize) throws IOException, ParseException {
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName("loan-management");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize);
+        recording.start();
+        log.info("Flight recording started with '{}' settings, keeping {}", settings, maxAge);
+    }
+
+    /**
+     * Writes the recorded chunks that overlap the last {@code window} to {@code out}, as a
+     * {@code .jfr} file. Chunks are whole, so the dump may start somewhat earlier.
+     */
+    public long dump(Duration window, OutputStream out) throws IOException {
+        Instant end = Instant.now();
+        // A running recording cannot be read; the copy is stopped, which also flushes the current chunk
+        try (Recording snapshot = recording.copy(true)) {
+            try (InputStream in = snapshot.getStream(end.minus(window), end)) {
+                return in == null ? 0 : in.transferTo(out);
+            }
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("name", recording.getName());
+        status.put("state", recording.getState());
+        status.put("startTime", recording.getStartTime());
+        status.put("maxAge", recording.getMaxAge());
+        status.put("maxSize", recording.getMaxSize());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    @Override
+    public void close() {
+        recording.close();
+    }
+}
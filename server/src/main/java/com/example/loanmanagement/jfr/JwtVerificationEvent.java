@@ -0,0 +1,27 @@
+package com.example.loanmanagement.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.example.loanmanagement.JwtVerification")
+@Label("JWT Verification")
+@Description("Bearer token checked by the authentication filter")
+@Category({"Loan Management", "Security"})
+@StackTrace(false)
+@Setter
+public class JwtVerificationEvent extends Event {
+
+    @Label("User Id")
+    private String userId;
+
+    @Label("Valid")
+    private boolean valid;
+
+    @Label("Refresh Token")
+    private boolean refreshToken;
+}
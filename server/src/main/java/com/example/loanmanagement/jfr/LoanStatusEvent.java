@@ -0,0 +1,26 @@
+package com.example.loanmanagement.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.example.loanmanagement.LoanStatus")
+@Label("Loan Status Transition")
+@Category({"Loan Management", "Loans"})
+@StackTrace(false)
+@Setter
+public class LoanStatusEvent extends Event {
+
+    @Label("Loan Id")
+    private String loanId;
+
+    // Empty for a new application
+    @Label("From")
+    private String fromStatus;
+
+    @Label("To")
+    private String toStatus;
+}
@@ -0,0 +1,28 @@
+package com.example.loanmanagement.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+@Name("com.example.loanmanagement.MailSend")
+@Label("Mail Send")
+@Category({"Loan Management", "Mail"})
+@StackTrace(false)
+@Setter
+public class MailSendEvent extends Event {
+
+    @Label("Type")
+    private String type;
+
+    @Label("Loan Id")
+    private String loanId;
+
+    @Label("Messages")
+    private int messages;
+
+    @Label("Failed")
+    private int failed;
+}
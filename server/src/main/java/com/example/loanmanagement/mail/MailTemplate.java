@@ -0,0 +1,151 @@
+package com.example.loanmanagement.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A mail template parsed once into literal and placeholder segments.
+ * <p>
+ * Source format: an optional {@code Subject: ...} line and a blank line, then the body. Templates
+ * without a subject are fragments, rendered into other templates. Placeholders are
+ * written as {@code {{name}}} or {@code {{name|format}}} (see {@link MailValueFormat}).
+ * Instances are immutable and safe to share between threads.
+ */
+public final class MailTemplate {
+
+    private static final String SUBJECT_PREFIX = "Subject:";
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final String name;
+    private final Locale locale;
+    private final Segment[] subject;
+    private final Segment[] body;
+
+    private MailTemplate(String name, Locale locale, Segment[] subject, Segment[] body) {
+        this.name = name;
+        this.locale = locale;
+        this.subject = subject;
+        this.body = body;
+    }
+
+    public static MailTemplate compile(String name, Locale locale, String source) {
+        String normalized = source.replace("\r\n", "\n");
+        String subjectSource = "";
+        String bodySource = normalized;
+        if (normalized.startsWith(SUBJECT_PREFIX)) {
+            int subjectEnd = normalized.indexOf('\n');
+            if (subjectEnd < 0) {
+                throw new IllegalArgumentException("Template " + name + " has no body");
+            }
+            subjectSource = normalized.substring(SUBJECT_PREFIX.length(), subjectEnd).trim();
+            bodySource = normalized.substring(subjectEnd + 1);
+            if (bodySource.startsWith("\n")) {
+                bodySource = bodySource.substring(1);
+            }
+        }
+        while (bodySource.endsWith("\n")) {
+            bodySource = bodySource.substring(0, bodySource.length() - 1);
+        }
+        return new MailTemplate(name, locale, parse(name, subjectSource), parse(name, bodySource));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    public String renderSubject(Map<String, ?> model) {
+        return render(subject, model);
+    }
+
+    public String renderBody(Map<String, ?> model) {
+        return render(body, model);
+    }
+
+    private String render(Segment[] segments, Map<String, ?> model) {
+        // A virtual thread renders for one request only; caching its buffer would just cost a thread-local map
+        boolean virtual = Thread.currentThread().isVirtual();
+        StringBuilder out = virtual ? new StringBuilder(1024) : BUFFER.get();
+        out.setLength(0);
+        for (Segment segment : segments) {
+            segment.appendTo(out, model, locale);
+        }
+        String rendered = out.toString();
+        if (!virtual && out.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFER.remove();
+        }
+        return rendered;
+    }
+
+    private static Segment[] parse(String name, String source) {
+        List<Segment> segments = new ArrayList<>();
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                segments.add(new Literal(source.substring(position)));
+                break;
+            }
+            if (open > position) {
+                segments.add(new Literal(source.substring(position, open)));
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in template " + name + " at offset " + open);
+            }
+            segments.add(Placeholder.parse(source.substring(open + OPEN.length(), close).trim()));
+            position = close + CLOSE.length();
+        }
+        return segments.toArray(new Segment[0]);
+    }
+
+    private interface Segment {
+        void appendTo(StringBuilder out, Map<String, ?> model, Locale locale);
+    }
+
+    private static final class Literal implements Segment {
+        private final String text;
+
+        Literal(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void appendTo(StringBuilder out, Map<String, ?> model, Locale locale) {
+            out.append(text);
+        }
+    }
+
+    private static final class Placeholder implements Segment {
+        private final String key;
+        private final MailValueFormat format;
+
+        Placeholder(String key, MailValueFormat format) {
+            this.key = key;
+            this.format = format;
+        }
+
+        static Placeholder parse(String expression) {
+            int pipe = expression.indexOf('|');
+            if (pipe < 0) {
+                return new Placeholder(expression, MailValueFormat.TEXT);
+            }
+            return new Placeholder(expression.substring(0, pipe).trim(),
+                    MailValueFormat.fromName(expression.substring(pipe + 1).trim()));
+        }
+
+        @Override
+        public void appendTo(StringBuilder out, Map<String, ?> model, Locale locale) {
+            format.appendTo(out, model.get(key), locale);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.loanmanagement.mail;
+
+public enum MailTemplateId {
+    LOAN_APPLICATION_CONFIRMATION("loan-application-confirmation"),
+    LOAN_STATUS_UPDATE("loan-status-update"),
+    EMI_PAYMENT_CONFIRMATION("emi-payment-confirmation"),
+    EMI_REMINDER("emi-reminder"),
+    NOTIFICATION_DIGEST("notification-digest"),
+    DIGEST_STATUS_ITEM("digest-status-item"),
+    DIGEST_REMINDER_ITEM("digest-reminder-item");
+
+    private final String templateName;
+
+    MailTemplateId(String templateName) {
+        this.templateName = templateName;
+    }
+
+    public String getTemplateName() {
+        return templateName;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.loanmanagement.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads and compiles every template under {@code classpath:mail/templates/} at startup.
+ * <p>
+ * Locale variants follow the resource bundle naming scheme, e.g. {@code emi-reminder_hi_IN.txt},
+ * and lookups fall back from language and country, to language, to the unsuffixed template.
+ */
+@Slf4j
+@Component
+public class MailTemplateRegistry {
+
+    private static final String TEMPLATE_PATTERN = "classpath*:mail/templates/*.txt";
+    private static final String EXTENSION = ".txt";
+
+    private final Locale defaultLocale;
+    private final Map<String, MailTemplate> templates = new HashMap<>();
+    private final Map<String, MailTemplate> resolved = new ConcurrentHashMap<>();
+
+    public MailTemplateRegistry(@Value("${mail.template.locale:en-IN}") String defaultLocale) {
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale);
+        loadTemplates(new PathMatchingResourcePatternResolver());
+        log.info("Compiled {} mail templates (default locale {})", templates.size(), this.defaultLocale);
+    }
+
+    public Locale getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    public MailTemplate get(MailTemplateId id) {
+        return get(id, defaultLocale);
+    }
+
+    public MailTemplate get(MailTemplateId id, Locale locale) {
+        String name = id.getTemplateName();
+        return resolved.computeIfAbsent(name + '_' + locale, key -> resolve(name, locale));
+    }
+
+    private MailTemplate resolve(String name, Locale locale) {
+        String[] candidates = {
+                name + '_' + locale.getLanguage() + '_' + locale.getCountry(),
+                name + '_' + locale.getLanguage(),
+                name
+        };
+        for (String candidate : candidates) {
+            MailTemplate template = templates.get(candidate);
+            if (template != null) {
+                return template;
+            }
+        }
+        throw new IllegalArgumentException("Mail template not found: " + name);
+    }
+
+    private void loadTemplates(ResourcePatternResolver resolver) {
+        try {
+            for (Resource resource : resolver.getResources(TEMPLATE_PATTERN)) {
+                String filename = resource.getFilename();
+                if (filename == null || !filename.endsWith(EXTENSION)) {
+                    continue;
+                }
+                String key = filename.substring(0, filename.length() - EXTENSION.length());
+                String source = resource.getContentAsString(StandardCharsets.UTF_8);
+                templates.put(key, MailTemplate.compile(key, localeOf(key), source));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load mail templates", e);
+        }
+    }
+
+    private Locale localeOf(String key) {
+        int separator = key.indexOf('_');
+        if (separator < 0) {
+            return defaultLocale;
+        }
+        return Locale.forLanguageTag(key.substring(separator + 1).replace('_', '-'));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.loanmanagement.mail;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters for the pooled SMTP transport. Throughput is tracked in one-second buckets over the
+ * last minute so {@link #getMessagesPerSecond()} reflects current load rather than uptime.
+ */
+public class MailTransportMetrics {
+
+    private static final int WINDOW_SECONDS = 60;
+
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final AtomicLong messagesFailed = new AtomicLong();
+    private final AtomicLong connectionsOpened = new AtomicLong();
+    private final AtomicLong connectionsReused = new AtomicLong();
+    private final AtomicLong connectionsClosed = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(WINDOW_SECONDS);
+    private final AtomicLongArray bucketSeconds = new AtomicLongArray(WINDOW_SECONDS);
+
+    void messageSent() {
+        messagesSent.incrementAndGet();
+        long second = System.currentTimeMillis() / 1000;
+        int slot = (int) (second % WINDOW_SECONDS);
+        long bucketSecond = bucketSeconds.get(slot);
+        if (bucketSecond != second && bucketSeconds.compareAndSet(slot, bucketSecond, second)) {
+            bucketCounts.set(slot, 0);
+        }
+        bucketCounts.incrementAndGet(slot);
+    }
+
+    void messageFailed() {
+        messagesFailed.incrementAndGet();
+    }
+
+    void connectionOpened() {
+        connectionsOpened.incrementAndGet();
+    }
+
+    void connectionReused() {
+        connectionsReused.incrementAndGet();
+    }
+
+    void connectionClosed() {
+        connectionsClosed.incrementAndGet();
+    }
+
+    void reconnected() {
+        reconnects.incrementAndGet();
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.get();
+    }
+
+    public long getMessagesFailed() {
+        return messagesFailed.get();
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    public long getConnectionsReused() {
+        return connectionsReused.get();
+    }
+
+    public long getConnectionsClosed() {
+        return connectionsClosed.get();
+    }
+
+    public long getReconnects() {
+        return reconnects.get();
+    }
+
+    /**
+     * Fraction of connection checkouts that were served by an already authenticated session.
+     */
+    public double getConnectionReuseRatio() {
+        long reused = connectionsReused.get();
+        long total = reused + connectionsOpened.get();
+        return total == 0 ? 0.0 : (double) reused / total;
+    }
+
+    public double getMessagesPerSecond() {
+        long now = System.currentTimeMillis() / 1000;
+        long total = 0;
+        for (int slot = 0; slot < WINDOW_SECONDS; slot++) {
+            if (now - bucketSeconds.get(slot) < WINDOW_SECONDS) {
+                total += bucketCounts.get(slot);
+            }
+        }
+        return (double) total / WINDOW_SECONDS;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.loanmanagement.mail;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Value formats a template placeholder can ask for, e.g. {@code {{amount|currency}}}.
+ * <p>
+ * {@link DateTimeFormatter} is immutable and shared; {@link NumberFormat} is not thread-safe,
+ * so currency formatters are kept per thread and per locale. Virtual threads are not reused, so
+ * they clone a shared prototype instead, which is still cheaper than building a formatter.
+ */
+public enum MailValueFormat {
+    TEXT,
+    CURRENCY,
+    DATE,
+    PERCENT;
+
+    static final String MISSING_VALUE = "N/A";
+
+    private static final String DATE_PATTERN = "dd-MMM-yyyy";
+    private static final Map<Locale, DateTimeFormatter> DATE_FORMATTERS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<Locale, NumberFormat>> CURRENCY_FORMATTERS =
+            ThreadLocal.withInitial(HashMap::new);
+    private static final Map<Locale, NumberFormat> CURRENCY_PROTOTYPES = new ConcurrentHashMap<>();
+
+    static MailValueFormat fromName(String name) {
+        for (MailValueFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown template value format: " + name);
+    }
+
+    void appendTo(StringBuilder out, Object value, Locale locale) {
+        if (value == null) {
+            out.append(MISSING_VALUE);
+            return;
+        }
+        switch (this) {
+            case CURRENCY -> out.append(currencyFormatter(locale).format(value));
+            case DATE -> dateFormatter(locale).formatTo(toTemporal(value), out);
+            case PERCENT -> out.append(toBigDecimal(value).setScale(2, RoundingMode.HALF_UP).toPlainString()).append('%');
+            default -> out.append(value);
+        }
+    }
+
+    private static NumberFormat currencyFormatter(Locale locale) {
+        if (Thread.currentThread().isVirtual()) {
+            return (NumberFormat) CURRENCY_PROTOTYPES.computeIfAbsent(locale, NumberFormat::getCurrencyInstance).clone();
+        }
+        return CURRENCY_FORMATTERS.get().computeIfAbsent(locale, NumberFormat::getCurrencyInstance);
+    }
+
+    private static DateTimeFormatter dateFormatter(Locale locale) {
+        return DATE_FORMATTERS.computeIfAbsent(locale, l -> DateTimeFormatter.ofPattern(DATE_PATTERN, l));
+    }
+
+    private static TemporalAccessor toTemporal(Object value) {
+        if (value instanceof TemporalAccessor temporal) {
+            return temporal;
+        }
+        throw new IllegalArgumentException("Not a date value: " + value.getClass().getName());
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        throw new IllegalArgumentException("Not a numeric value: " + value.getClass().getName());
+    }
+}
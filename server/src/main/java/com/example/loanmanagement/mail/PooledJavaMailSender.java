@@ -0,0 +1,298 @@
+package com.example.loanmanagement.mail;
+
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JavaMailSenderImpl} that keeps a small pool of connected, authenticated SMTP transports
+ * instead of opening a new connection (and repeating STARTTLS and AUTH) for every send call.
+ * <p>
+ * A multi-message {@code send(...)} is submitted over one checked-out connection. Connections are
+ * recycled after {@code maxMessagesPerConnection} messages, dropped after sitting idle for
+ * {@code idleTimeout}, and transparently reopened once if the server closed them.
+ * <p>
+ * Jakarta Mail's {@code SMTPTransport} talks to the server inside {@code synchronized} methods,
+ * which would pin a virtual thread to its carrier for the whole SMTP conversation. Virtual threads
+ * therefore hand the conversation to one of {@code maxConnections} platform threads and wait for it.
+ */
+@Slf4j
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private final int maxMessagesPerConnection;
+    private final Duration idleTimeout;
+    private final Duration borrowTimeout;
+    private final Semaphore permits;
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final MailTransportMetrics metrics = new MailTransportMetrics();
+    private final ExecutorService transportThreads;
+
+    public PooledJavaMailSender(int maxConnections, int maxMessagesPerConnection,
+                                Duration idleTimeout, Duration borrowTimeout) {
+        if (maxConnections < 1 || maxMessagesPerConnection < 1) {
+            throw new IllegalArgumentException("SMTP pool size and messages per connection must be positive");
+        }
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.idleTimeout = idleTimeout;
+        this.borrowTimeout = borrowTimeout;
+        this.permits = new Semaphore(maxConnections, true);
+        this.transportThreads = Executors.newFixedThreadPool(maxConnections,
+                Thread.ofPlatform().name("smtp-", 1).daemon().factory());
+    }
+
+    public MailTransportMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        acquirePermit();
+        Callable<Map<Object, Exception>> send = () -> {
+            try {
+                return sendAll(mimeMessages, originalMessages);
+            } finally {
+                permits.release();
+            }
+        };
+        Map<Object, Exception> failedMessages = Thread.currentThread().isVirtual()
+                ? onTransportThread(send)
+                : call(send);
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    private Map<Object, Exception> sendAll(MimeMessage[] mimeMessages, Object[] originalMessages) {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledTransport pooled = borrow();
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                MimeMessage mimeMessage = mimeMessages[i];
+                Object original = originalMessages != null ? originalMessages[i] : mimeMessage;
+                try {
+                    if (pooled.messagesSent >= maxMessagesPerConnection) {
+                        pooled.reopen();
+                    }
+                    prepare(mimeMessage);
+                    sendWithReconnect(pooled, mimeMessage);
+                    metrics.messageSent();
+                } catch (MessagingException | RuntimeException ex) {
+                    metrics.messageFailed();
+                    failedMessages.put(original, ex);
+                }
+            }
+        } finally {
+            release(pooled);
+        }
+        return failedMessages;
+    }
+
+    @Scheduled(fixedDelayString = "${mail.pool.eviction-interval:30000}")
+    public void evictIdleConnections() {
+        if (Thread.currentThread().isVirtual()) {
+            transportThreads.execute(this::closeExpired);
+        } else {
+            closeExpired();
+        }
+    }
+
+    private void closeExpired() {
+        int size = idle.size();
+        for (int i = 0; i < size; i++) {
+            PooledTransport pooled = idle.pollLast();
+            if (pooled == null) {
+                return;
+            }
+            if (pooled.isExpired()) {
+                close(pooled);
+            } else {
+                idle.offerLast(pooled);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+        transportThreads.shutdown();
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MailSendException("Timed out waiting for a pooled SMTP connection");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for a pooled SMTP connection", ex);
+        }
+    }
+
+    // The caller holds a permit, so one of the maxConnections threads is free
+    private <T> T onTransportThread(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = transportThreads.submit(task);
+        } catch (RuntimeException ex) {
+            permits.release();
+            throw new MailSendException("Mail sender is shut down", ex);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            // The conversation finishes on its own thread; only the caller stops waiting
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while sending mail", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new MailSendException("Mail send failed", ex.getCause());
+        }
+    }
+
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new MailSendException("Mail send failed", ex);
+        }
+    }
+
+    private PooledTransport borrow() {
+        try {
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (!pooled.isExpired()) {
+                    metrics.connectionReused();
+                    return pooled;
+                }
+                close(pooled);
+            }
+            return new PooledTransport(open());
+        } catch (AuthenticationFailedException ex) {
+            throw new MailAuthenticationException(ex);
+        } catch (MessagingException | RuntimeException ex) {
+            throw new MailSendException("Mail server connection failed", ex);
+        }
+    }
+
+    private void release(PooledTransport pooled) {
+        if (pooled.transport != null && pooled.messagesSent < maxMessagesPerConnection) {
+            pooled.lastUsed = System.nanoTime();
+            idle.offerFirst(pooled);
+        } else {
+            close(pooled);
+        }
+    }
+
+    private void sendWithReconnect(PooledTransport pooled, MimeMessage mimeMessage) throws MessagingException {
+        Address[] addresses = mimeMessage.getAllRecipients();
+        Address[] recipients = addresses != null ? addresses : new Address[0];
+        try {
+            pooled.send(mimeMessage, recipients);
+        } catch (MessagingException ex) {
+            if (pooled.transport != null && pooled.transport.isConnected()) {
+                // The server rejected this message; the session itself is still good
+                throw ex;
+            }
+            log.debug("SMTP connection dropped, reconnecting: {}", ex.getMessage());
+            metrics.reconnected();
+            pooled.reopen();
+            pooled.send(mimeMessage, recipients);
+        }
+    }
+
+    private void prepare(MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            // Preserve explicitly specified message id...
+            mimeMessage.setHeader("Message-ID", messageId);
+        }
+    }
+
+    private Transport open() throws MessagingException {
+        Transport transport = connectTransport();
+        metrics.connectionOpened();
+        return transport;
+    }
+
+    private void close(PooledTransport pooled) {
+        if (pooled.transport == null) {
+            return;
+        }
+        try {
+            pooled.transport.close();
+        } catch (MessagingException ex) {
+            log.debug("Failed to close SMTP connection cleanly: {}", ex.getMessage());
+        } finally {
+            pooled.transport = null;
+            metrics.connectionClosed();
+        }
+    }
+
+    private final class PooledTransport {
+        private Transport transport;
+        private int messagesSent;
+        private long lastUsed = System.nanoTime();
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        void send(MimeMessage mimeMessage, Address[] recipients) throws MessagingException {
+            if (transport == null) {
+                reopen();
+            }
+            transport.sendMessage(mimeMessage, recipients);
+            messagesSent++;
+        }
+
+        void reopen() throws MessagingException {
+            close(this);
+            transport = open();
+            messagesSent = 0;
+        }
+
+        boolean isExpired() {
+            return transport == null || System.nanoTime() - lastUsed > idleTimeout.toNanos();
+        }
+    }
+}
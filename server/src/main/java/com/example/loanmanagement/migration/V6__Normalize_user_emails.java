@@ -0,0 +1,77 @@
+package com.example.loanmanagement.migration;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lower-cases the emails of existing users. Login matches the email natural id exactly since V3,
+ * and signup has always stored it in lower case, so only accounts created before that, or edited
+ * by hand, can be mixed-case.
+ * <p>
+ * Two accounts whose emails differ only in case would collide on the unique constraint, and which
+ * one keeps the address is a decision about someone's loans and documents, not one a migration can
+ * make. Flyway stops before this migration instead, naming the addresses; merge or rename those
+ * accounts by hand and start again. A plain SQL migration for both vendors could not report them.
+ * <p>
+ * Spring Boot hands every {@code JavaMigration} and {@code Callback} bean to Flyway, next to the
+ * vendor's SQL scripts.
+ */
+@Component
+public class V6__Normalize_user_emails extends BaseJavaMigration implements Callback {
+
+    private static final int REPORTED_DUPLICATES = 20;
+
+    @Override
+    public void migrate(org.flywaydb.core.api.migration.Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.executeUpdate("update users set email = lower(email)");
+        }
+    }
+
+    // Checked before the migration starts: Flyway records a migration that fails as failed, and
+    // would then refuse every start until the schema history is repaired by hand
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE && getVersion().equals(context.getMigrationInfo().getVersion());
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        List<String> duplicates = new ArrayList<>();
+        try (Statement statement = context.getConnection().createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "select lower(email), count(*) from users group by lower(email) having count(*) > 1 order by lower(email)")) {
+            while (rs.next()) {
+                duplicates.add(rs.getString(1) + " (" + rs.getLong(2) + " accounts)");
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Could not look for emails that differ only in case", e);
+        }
+        if (!duplicates.isEmpty()) {
+            throw new FlywayException(duplicates.size() + " emails belong to several accounts that differ only in case; "
+                    + "merge or rename them, then restart: "
+                    + String.join(", ", duplicates.subList(0, Math.min(duplicates.size(), REPORTED_DUPLICATES)))
+                    + (duplicates.size() > REPORTED_DUPLICATES ? ", ..." : ""));
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,361 @@
+package com.example.loanmanagement.notification;
+
+import com.example.loanmanagement.entity.EmiSchedule;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.PendingNotification;
+import com.example.loanmanagement.entity.enums.LoanStatus;
+import com.example.loanmanagement.entity.enums.NotificationType;
+import com.example.loanmanagement.entity.enums.PaymentStatus;
+import com.example.loanmanagement.repository.EmiScheduleRepository;
+import com.example.loanmanagement.repository.LoanApplicationRepository;
+import com.example.loanmanagement.repository.PendingNotificationRepository;
+import com.example.loanmanagement.service.EmailService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Holds loan status updates and EMI reminders per recipient for {@code notification.digest.window}
+ * and sends them as one digest mail.
+ * <p>
+ * Events are written to {@code pending_notifications} in the caller's transaction and indexed in
+ * memory after commit, in per-second buckets keyed by the time the recipient's window closes.
+ * On startup the index is rebuilt from the table, so queued notifications survive restarts.
+ * Rows are deleted only after the digest was accepted by the mail server.
+ * <p>
+ * With several nodes each row belongs to the node that claimed it: the one that wrote it, or the
+ * one that took it over after it was released on shutdown or left by a node that died, whose
+ * claim went stale after {@code notification.digest.claim-timeout}. A node sends and deletes only
+ * rows it still holds the claim for, so a digest goes out from one node.
+ */
+@Slf4j
+@Component
+public class NotificationAggregator implements DisposableBean {
+
+    // Ids per IN list when claiming and deleting rows
+    private static final int ID_CHUNK = 1000;
+
+    private final PendingNotificationRepository notificationRepository;
+    private final LoanApplicationRepository loanRepository;
+    private final EmiScheduleRepository emiRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transaction;
+    private final long windowSeconds;
+    private final long retryDelaySeconds;
+    private final Duration claimTimeout;
+    private final String owner = UUID.randomUUID().toString();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, RecipientBatch> batches = new HashMap<>();
+    private final TreeMap<Long, Set<String>> buckets = new TreeMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    public NotificationAggregator(PendingNotificationRepository notificationRepository,
+                                  LoanApplicationRepository loanRepository,
+                                  EmiScheduleRepository emiRepository,
+                                  EmailService emailService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${notification.digest.window:60s}") Duration window,
+                                  @Value("${notification.digest.retry-delay:5m}") Duration retryDelay,
+                                  @Value("${notification.digest.claim-timeout:10m}") Duration claimTimeout) {
+        // Claims are renewed on every flush attempt, at most a window or a retry delay apart
+        if (claimTimeout.compareTo(window) <= 0 || claimTimeout.compareTo(retryDelay) <= 0) {
+            throw new IllegalArgumentException("notification.digest.claim-timeout must be longer than the window and the retry delay");
+        }
+        this.notificationRepository = notificationRepository;
+        this.loanRepository = loanRepository;
+        this.emiRepository = emiRepository;
+        this.emailService = emailService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.windowSeconds = window.toSeconds();
+        this.retryDelaySeconds = retryDelay.toSeconds();
+        this.claimTimeout = claimTimeout;
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    public void loanStatusChanged(LoanApplication loan) {
+        PendingNotification notification = new PendingNotification();
+        notification.setRecipient(loan.getApplicant().getEmail());
+        notification.setType(NotificationType.LOAN_STATUS_UPDATE);
+        notification.setLoanId(loan.getId());
+        notification.setLoanStatus(loan.getStatus());
+        enqueue(List.of(notification));
+    }
+
+    public void emiRemindersDue(List<EmiSchedule> emis) {
+        List<PendingNotification> notifications = new ArrayList<>(emis.size());
+        for (EmiSchedule emi : emis) {
+            PendingNotification notification = new PendingNotification();
+            notification.setRecipient(emi.getLoan().getApplicant().getEmail());
+            notification.setType(NotificationType.EMI_REMINDER);
+            notification.setLoanId(emi.getLoan().getId());
+            notification.setEmiId(emi.getId());
+            notifications.add(notification);
+        }
+        enqueue(notifications);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${notification.digest.recover-interval:60000}", initialDelayString = "${notification.digest.recover-interval:60000}")
+    public void recoverPending() {
+        List<PendingNotification> pending = transaction.execute(status -> claimUnowned());
+        long now = nowSeconds();
+        for (PendingNotification notification : pending) {
+            long flushAt = Math.max(notification.getCreatedAt().toEpochSecond() + windowSeconds, now);
+            index(notification, flushAt);
+        }
+        if (!pending.isEmpty()) {
+            log.info("Recovered {} pending notifications for {} recipients", pending.size(), batches.size());
+        }
+    }
+
+    // Claimed under a one-off name first, so the rows this node already holds are not read back
+    private List<PendingNotification> claimUnowned() {
+        OffsetDateTime now = OffsetDateTime.now();
+        String pass = UUID.randomUUID().toString();
+        if (notificationRepository.claimUnowned(pass, now, now.minus(claimTimeout)) == 0) {
+            return List.of();
+        }
+        List<PendingNotification> claimed = notificationRepository.findByClaimedByOrderByCreatedAtAsc(pass);
+        claimed.forEach(notification -> notification.setClaimedBy(owner));
+        return claimed;
+    }
+
+    @Scheduled(fixedDelayString = "${notification.digest.flush-interval:1000}")
+    public void flushDue() {
+        List<RecipientBatch> due = drainDue(nowSeconds());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        List<NotificationDigest> digests;
+        Set<String> failed;
+        try {
+            // Renewing the claims also tells which rows another node took over while this one stalled
+            Set<UUID> claimed = transaction.execute(status -> renewClaims(due));
+            due.removeIf(batch -> {
+                batch.notifications.removeIf(notification -> !claimed.contains(notification.getId()));
+                return batch.notifications.isEmpty();
+            });
+            if (due.isEmpty()) {
+                return;
+            }
+            // On the primary: a lagging replica would remind of installments just paid and drop loans it has not seen
+            digests = transaction.execute(status -> buildDigests(due));
+            failed = new HashSet<>(emailService.sendNotificationDigests(digests));
+        } catch (RuntimeException e) {
+            log.error("Notification digest flush failed, retrying {} recipients later. Error: {}", due.size(), e.getMessage());
+            due.forEach(this::retryLater);
+            return;
+        }
+
+        List<UUID> sent = new ArrayList<>();
+        for (RecipientBatch batch : due) {
+            if (failed.contains(batch.recipient)) {
+                retryLater(batch);
+            } else {
+                batch.notifications.forEach(notification -> sent.add(notification.getId()));
+            }
+        }
+        if (!sent.isEmpty()) {
+            transaction.executeWithoutResult(status -> partition(sent)
+                    .forEach(ids -> notificationRepository.deleteClaimed(ids, owner)));
+        }
+        log.info("Sent {} notification digests covering {} events ({} recipients deferred)",
+                digests.size() - failed.size(), sent.size(), failed.size());
+    }
+
+    // Lets the other nodes, or this one after a restart, take the rows over right away
+    @Override
+    public void destroy() {
+        try {
+            transaction.executeWithoutResult(status -> notificationRepository.releaseClaims(owner));
+        } catch (RuntimeException e) {
+            log.warn("Could not release pending notifications; they are taken over after {}. Error: {}", claimTimeout, e.getMessage());
+        }
+    }
+
+    private Set<UUID> renewClaims(List<RecipientBatch> due) {
+        List<UUID> ids = new ArrayList<>();
+        due.forEach(batch -> batch.notifications.forEach(notification -> ids.add(notification.getId())));
+        OffsetDateTime now = OffsetDateTime.now();
+        Set<UUID> claimed = new HashSet<>();
+        for (List<UUID> chunk : partition(ids)) {
+            notificationRepository.renewClaims(chunk, owner, now);
+            claimed.addAll(notificationRepository.findClaimedIds(chunk, owner));
+        }
+        return claimed;
+    }
+
+    private void retryLater(RecipientBatch batch) {
+        long retryAt = nowSeconds() + retryDelaySeconds;
+        batch.notifications.forEach(notification -> index(notification, retryAt));
+    }
+
+    private void enqueue(List<PendingNotification> notifications) {
+        OffsetDateTime now = OffsetDateTime.now();
+        for (PendingNotification notification : notifications) {
+            notification.setClaimedBy(owner);
+            notification.setClaimedAt(now);
+        }
+        notificationRepository.saveAll(notifications);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    indexNew(notifications);
+                }
+            });
+        } else {
+            indexNew(notifications);
+        }
+    }
+
+    private void indexNew(List<PendingNotification> notifications) {
+        long flushAt = nowSeconds() + windowSeconds;
+        for (PendingNotification notification : notifications) {
+            index(notification, flushAt);
+        }
+    }
+
+    private void index(PendingNotification notification, long flushAt) {
+        lock.lock();
+        try {
+            // A recipient joins the window that is already open for them instead of opening a new one
+            RecipientBatch batch = batches.computeIfAbsent(notification.getRecipient(), recipient -> {
+                buckets.computeIfAbsent(flushAt, second -> new HashSet<>()).add(recipient);
+                return new RecipientBatch(recipient);
+            });
+            batch.notifications.add(notification);
+            pendingCount.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<RecipientBatch> drainDue(long now) {
+        List<RecipientBatch> due = new ArrayList<>();
+        lock.lock();
+        try {
+            while (!buckets.isEmpty() && buckets.firstKey() <= now) {
+                for (String recipient : buckets.pollFirstEntry().getValue()) {
+                    RecipientBatch batch = batches.remove(recipient);
+                    if (batch != null) {
+                        pendingCount.addAndGet(-batch.notifications.size());
+                        due.add(batch);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return due;
+    }
+
+    private List<NotificationDigest> buildDigests(List<RecipientBatch> due) {
+        Set<UUID> loanIds = new HashSet<>();
+        Set<UUID> emiIds = new HashSet<>();
+        for (RecipientBatch batch : due) {
+            for (PendingNotification notification : batch.notifications) {
+                if (notification.getType() == NotificationType.EMI_REMINDER) {
+                    emiIds.add(notification.getEmiId());
+                } else {
+                    loanIds.add(notification.getLoanId());
+                }
+            }
+        }
+        Map<UUID, LoanApplication> loans = loanIds.isEmpty() ? Map.of() : loanRepository.findAllWithApplicantByIdIn(loanIds)
+                .stream().collect(Collectors.toMap(LoanApplication::getId, Function.identity()));
+        Map<UUID, EmiSchedule> emis = emiIds.isEmpty() ? Map.of() : emiRepository.findAllWithApplicantByIdIn(emiIds)
+                .stream().collect(Collectors.toMap(EmiSchedule::getId, Function.identity()));
+
+        List<NotificationDigest> digests = new ArrayList<>(due.size());
+        for (RecipientBatch batch : due) {
+            NotificationDigest digest = mergeBatch(batch, loans, emis);
+            if (!digest.isEmpty()) {
+                digests.add(digest);
+            }
+        }
+        return digests;
+    }
+
+    private NotificationDigest mergeBatch(RecipientBatch batch, Map<UUID, LoanApplication> loans,
+                                          Map<UUID, EmiSchedule> emis) {
+        Map<UUID, List<LoanStatus>> transitions = new LinkedHashMap<>();
+        Set<UUID> reminded = new HashSet<>();
+        String applicantName = null;
+        List<EmiSchedule> reminders = new ArrayList<>();
+
+        batch.notifications.sort((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()));
+        for (PendingNotification notification : batch.notifications) {
+            if (notification.getType() == NotificationType.EMI_REMINDER) {
+                EmiSchedule emi = emis.get(notification.getEmiId());
+                // Paid since the reminder was queued, or reminded twice within one window
+                if (emi != null && emi.getPaymentStatus() != PaymentStatus.PAID && reminded.add(emi.getId())) {
+                    reminders.add(emi);
+                    applicantName = emi.getLoan().getApplicant().getFullName();
+                }
+            } else if (loans.containsKey(notification.getLoanId())) {
+                List<LoanStatus> statuses = transitions.computeIfAbsent(notification.getLoanId(), id -> new ArrayList<>());
+                if (statuses.isEmpty() || statuses.get(statuses.size() - 1) != notification.getLoanStatus()) {
+                    statuses.add(notification.getLoanStatus());
+                }
+                applicantName = loans.get(notification.getLoanId()).getApplicant().getFullName();
+            }
+        }
+
+        NotificationDigest digest = new NotificationDigest(batch.recipient, applicantName);
+        transitions.forEach((loanId, statuses) ->
+                digest.getStatusChanges().add(new NotificationDigest.StatusChange(loans.get(loanId), statuses)));
+        digest.getReminders().addAll(reminders);
+        return digest;
+    }
+
+    private static List<List<UUID>> partition(List<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += ID_CHUNK) {
+            chunks.add(ids.subList(i, Math.min(i + ID_CHUNK, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static final class RecipientBatch {
+        private final String recipient;
+        private final List<PendingNotification> notifications = new ArrayList<>();
+
+        RecipientBatch(String recipient) {
+            this.recipient = recipient;
+        }
+    }
+}
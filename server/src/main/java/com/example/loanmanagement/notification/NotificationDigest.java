@@ -0,0 +1,66 @@
+package com.example.loanmanagement.notification;
+
+import com.example.loanmanagement.entity.EmiSchedule;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.enums.LoanStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything queued for one recipient during a digest window, merged per loan and per installment.
+ */
+public class NotificationDigest {
+
+    private final String recipient;
+    private final String applicantName;
+    private final List<StatusChange> statusChanges = new ArrayList<>();
+    private final List<EmiSchedule> reminders = new ArrayList<>();
+
+    public NotificationDigest(String recipient, String applicantName) {
+        this.recipient = recipient;
+        this.applicantName = applicantName;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public String getApplicantName() {
+        return applicantName;
+    }
+
+    public List<StatusChange> getStatusChanges() {
+        return statusChanges;
+    }
+
+    public List<EmiSchedule> getReminders() {
+        return reminders;
+    }
+
+    public int size() {
+        return statusChanges.size() + reminders.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public static class StatusChange {
+        private final LoanApplication loan;
+        private final List<LoanStatus> transitions;
+
+        public StatusChange(LoanApplication loan, List<LoanStatus> transitions) {
+            this.loan = loan;
+            this.transitions = transitions;
+        }
+
+        public LoanApplication getLoan() {
+            return loan;
+        }
+
+        public List<LoanStatus> getTransitions() {
+            return transitions;
+        }
+    }
+}
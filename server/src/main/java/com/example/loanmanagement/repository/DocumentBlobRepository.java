@@ -0,0 +1,32 @@
+package com.example.loanmanagement.repository;
+
+import com.example.loanmanagement.entity.DocumentBlob;
+import jakarta.persistence.LockModeType;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DocumentBlobRepository extends JpaRepository<DocumentBlob, String> {
+
+    @Modifying
+    @Query(value = "insert into document_blobs (content_hash, size_bytes, ref_count, storage_path, encoding, stored_size_bytes, created_at) " +
+            "values (:hash, :size, 1, :path, :encoding, :storedSize, :createdAt) " +
+            "on duplicate key update ref_count = ref_count + 1", nativeQuery = true)
+    int acquire(@Param("hash") String hash,
+                @Param("size") long size,
+                @Param("path") String path,
+                @Param("encoding") String encoding,
+                @Param("storedSize") long storedSize,
+                @Param("createdAt") OffsetDateTime createdAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from DocumentBlob b where b.contentHash = :hash")
+    Optional<DocumentBlob> findForUpdate(@Param("hash") String hash);
+
+    List<DocumentBlob> findTop500ByContentHashGreaterThanOrderByContentHashAsc(String after);
+}
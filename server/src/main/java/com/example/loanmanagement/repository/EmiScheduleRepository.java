@@ -4,12 +4,38 @@ import com.example.loanmanagement.entity.EmiSchedule;
 import com.example.loanmanagement.entity.LoanApplication;
 import com.example.loanmanagement.entity.enums.PaymentStatus;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface EmiScheduleRepository extends JpaRepository<EmiSchedule, UUID> {
     List<EmiSchedule> findByLoan(LoanApplication loan);
     List<EmiSchedule> findByLoanAndPaymentStatus(LoanApplication loan, PaymentStatus status);
     List<EmiSchedule> findByDueDateBeforeAndPaymentStatus(LocalDate dueDate, PaymentStatus status);
+    List<EmiSchedule> findByLoanApplicantIdAndPaymentStatusOrderByDueDate(UUID applicantId, PaymentStatus status);
+
+    @Query("select e from EmiSchedule e join fetch e.loan l join fetch l.applicant where e.id = :id")
+    Optional<EmiSchedule> findWithApplicantById(@Param("id") UUID id);
+
+    @Query("select e from EmiSchedule e join fetch e.loan l join fetch l.applicant " +
+            "where e.dueDate between :from and :to and e.paymentStatus = :status and e.remindedAt is null " +
+            "order by e.dueDate, e.id")
+    List<EmiSchedule> findUnremindedDueWithApplicant(@Param("from") LocalDate from,
+                                                     @Param("to") LocalDate to,
+                                                     @Param("status") PaymentStatus status,
+                                                     Limit limit);
+
+    @Modifying
+    @Query("update EmiSchedule e set e.remindedAt = :remindedAt where e.id in :ids")
+    int markReminded(@Param("ids") Collection<UUID> ids, @Param("remindedAt") OffsetDateTime remindedAt);
+
+    @Query("select e from EmiSchedule e join fetch e.loan l join fetch l.applicant where e.id in :ids")
+    List<EmiSchedule> findAllWithApplicantByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -3,12 +3,29 @@ package com.example.loanmanagement.repository;
 import com.example.loanmanagement.entity.LoanApplication;
 import com.example.loanmanagement.entity.User;
 import com.example.loanmanagement.entity.enums.LoanStatus;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface LoanApplicationRepository extends JpaRepository<LoanApplication, UUID> {
     List<LoanApplication> findByApplicant(User applicant);
-    List<LoanApplication> findByApplicantId(UUID applicantId);
     List<LoanApplication> findByStatus(LoanStatus status);
+
+    // The applicant is serialized with each loan
+    @EntityGraph(attributePaths = "applicant")
+    List<LoanApplication> findByApplicantId(UUID applicantId);
+
+    @EntityGraph(attributePaths = "applicant")
+    List<LoanApplication> findWithApplicantByStatus(LoanStatus status);
+
+    @EntityGraph(attributePaths = "applicant")
+    @Query("select l from LoanApplication l")
+    List<LoanApplication> findAllWithApplicant();
+
+    @Query("select l from LoanApplication l join fetch l.applicant where l.id in :ids")
+    List<LoanApplication> findAllWithApplicantByIdIn(@Param("ids") Collection<UUID> ids);
 }
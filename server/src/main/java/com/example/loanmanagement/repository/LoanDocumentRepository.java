@@ -9,4 +9,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface LoanDocumentRepository extends JpaRepository<LoanDocument, UUID> {
     List<LoanDocument> findByLoan(LoanApplication loan);
     List<LoanDocument> findByLoanId(UUID loanId);
+
+    // Uploads from before content addressing, addressed by file name
+    List<LoanDocument> findTop500ByContentHashIsNullAndFilePathGreaterThanOrderByFilePathAsc(String after);
+    List<LoanDocument> findTop500ByContentHashIsNullAndFilePathContaining(String fragment);
+    boolean existsByContentHashIsNullAndFilePath(String filePath);
 }
@@ -0,0 +1,39 @@
+package com.example.loanmanagement.repository;
+
+import com.example.loanmanagement.entity.PendingNotification;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PendingNotificationRepository extends JpaRepository<PendingNotification, UUID> {
+
+    // Unclaimed rows, and those of a node that stopped without releasing them
+    @Modifying
+    @Query("update PendingNotification n set n.claimedBy = :owner, n.claimedAt = :now " +
+            "where n.claimedBy is null or n.claimedAt < :staleBefore")
+    int claimUnowned(@Param("owner") String owner,
+                     @Param("now") OffsetDateTime now,
+                     @Param("staleBefore") OffsetDateTime staleBefore);
+
+    List<PendingNotification> findByClaimedByOrderByCreatedAtAsc(String owner);
+
+    @Modifying
+    @Query("update PendingNotification n set n.claimedAt = :now where n.id in :ids and n.claimedBy = :owner")
+    int renewClaims(@Param("ids") Collection<UUID> ids, @Param("owner") String owner, @Param("now") OffsetDateTime now);
+
+    @Query("select n.id from PendingNotification n where n.id in :ids and n.claimedBy = :owner")
+    List<UUID> findClaimedIds(@Param("ids") Collection<UUID> ids, @Param("owner") String owner);
+
+    @Modifying
+    @Query("delete from PendingNotification n where n.id in :ids and n.claimedBy = :owner")
+    int deleteClaimed(@Param("ids") Collection<UUID> ids, @Param("owner") String owner);
+
+    @Modifying
+    @Query("update PendingNotification n set n.claimedBy = null, n.claimedAt = null where n.claimedBy = :owner")
+    int releaseClaims(@Param("owner") String owner);
+}
@@ -0,0 +1,11 @@
+package com.example.loanmanagement.repository;
+
+import com.example.loanmanagement.entity.UploadSession;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+    List<UploadSession> findByUpdatedAtBefore(OffsetDateTime cutoff);
+}
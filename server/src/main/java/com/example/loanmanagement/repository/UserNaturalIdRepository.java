@@ -0,0 +1,12 @@
+package com.example.loanmanagement.repository;
+
+import com.example.loanmanagement.entity.User;
+import java.util.Optional;
+
+public interface UserNaturalIdRepository {
+
+    /**
+     * Looks a user up by email through the natural id cache, so repeated logins skip the query.
+     */
+    Optional<User> findByEmail(String email);
+}
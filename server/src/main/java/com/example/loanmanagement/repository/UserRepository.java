@@ -1,10 +1,8 @@
 package com.example.loanmanagement.repository;
 
 import com.example.loanmanagement.entity.User;
-import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface UserRepository extends JpaRepository<User, UUID> {
-    Optional<User> findByEmailIgnoreCase(String email);
+public interface UserRepository extends JpaRepository<User, UUID>, UserNaturalIdRepository {
 }
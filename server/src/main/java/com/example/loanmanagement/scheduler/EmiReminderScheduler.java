@@ -0,0 +1,71 @@
+package com.example.loanmanagement.scheduler;
+
+import com.example.loanmanagement.entity.EmiSchedule;
+import com.example.loanmanagement.entity.enums.PaymentStatus;
+import com.example.loanmanagement.notification.NotificationAggregator;
+import com.example.loanmanagement.repository.EmiScheduleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Queues a reminder for every pending installment that falls due within {@code emi.reminder.days-ahead}
+ * days. Each installment is reminded once: the run marks what it queued, a page at a time, so a run
+ * that stopped halfway resumes where it left off. Off by default; enable it on one node only.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "emi.reminder.enabled", havingValue = "true")
+public class EmiReminderScheduler {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final EmiScheduleRepository emiRepository;
+    private final NotificationAggregator notificationAggregator;
+    private final TransactionTemplate transactionTemplate;
+    private final int daysAhead;
+
+    public EmiReminderScheduler(EmiScheduleRepository emiRepository,
+                                NotificationAggregator notificationAggregator,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${emi.reminder.days-ahead:3}") int daysAhead) {
+        this.emiRepository = emiRepository;
+        this.notificationAggregator = notificationAggregator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.daysAhead = daysAhead;
+    }
+
+    @Scheduled(cron = "${emi.reminder.cron:0 0 9 * * *}")
+    public void sendDueReminders() {
+        LocalDate today = LocalDate.now();
+        LocalDate cutoff = today.plusDays(daysAhead);
+        int queued = 0;
+        int page;
+        do {
+            page = transactionTemplate.execute(status -> remindPage(today, cutoff));
+            queued += page;
+        } while (page == PAGE_SIZE);
+        log.info("EMI reminder run: {} pending installments due between {} and {}", queued, today, cutoff);
+    }
+
+    private int remindPage(LocalDate today, LocalDate cutoff) {
+        List<EmiSchedule> dueEmis = emiRepository.findUnremindedDueWithApplicant(
+                today, cutoff, PaymentStatus.PENDING, Limit.of(PAGE_SIZE));
+        if (dueEmis.isEmpty()) {
+            return 0;
+        }
+        // Borrowers with several loans get one digest instead of one mail per installment
+        notificationAggregator.emiRemindersDue(dueEmis);
+        emiRepository.markReminded(dueEmis.stream().map(EmiSchedule::getId).toList(), OffsetDateTime.now());
+        return dueEmis.size();
+    }
+}
@@ -2,9 +2,11 @@ package com.example.loanmanagement.service;
 
 import com.example.loanmanagement.entity.LoanDocument;
 import com.example.loanmanagement.entity.enums.DocumentType;
+import com.example.loanmanagement.storage.DocumentContent;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,6 +14,7 @@ public interface DocumentService {
     LoanDocument uploadDocument(UUID loanId, DocumentType documentType, MultipartFile file) throws IOException;
     List<LoanDocument> getDocumentsByLoanId(UUID loanId);
     LoanDocument getDocumentById(UUID documentId);
-    byte[] downloadDocument(UUID documentId) throws IOException;
+    DocumentContent downloadDocument(UUID documentId) throws IOException;
+    void writeDocumentBundle(UUID loanId, OutputStream out) throws IOException;
     void deleteDocument(UUID documentId) throws IOException;
 }
@@ -2,10 +2,15 @@ package com.example.loanmanagement.service;
 
 import com.example.loanmanagement.entity.EmiSchedule;
 import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.notification.NotificationDigest;
+
+import java.util.List;
 
 public interface EmailService {
     void sendLoanApplicationConfirmation(String email, LoanApplication loan);
     void sendLoanStatusUpdate(String email, LoanApplication loan);
     void sendEmiPaymentConfirmation(String email, EmiSchedule emi);
     void sendEmiReminder(String email, EmiSchedule emi);
+    void sendEmiReminders(List<EmiSchedule> emis);
+    List<String> sendNotificationDigests(List<NotificationDigest> digests);
 }
@@ -0,0 +1,18 @@
+package com.example.loanmanagement.service;
+
+import com.example.loanmanagement.dto.UploadSessionRequest;
+import com.example.loanmanagement.dto.UploadSessionResponse;
+import com.example.loanmanagement.entity.LoanDocument;
+import com.example.loanmanagement.entity.User;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface UploadSessionService {
+    UploadSessionResponse createSession(UploadSessionRequest request, User user);
+    UploadSessionResponse getSession(UUID sessionId, User user);
+    UploadSessionResponse appendChunk(UUID sessionId, long offset, String checksum, InputStream body, User user) throws IOException;
+    LoanDocument completeSession(UUID sessionId, User user) throws IOException;
+    void abortSession(UUID sessionId, User user) throws IOException;
+}
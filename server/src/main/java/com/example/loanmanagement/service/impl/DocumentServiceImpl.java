@@ -3,39 +3,65 @@ package com.example.loanmanagement.service.impl;
 import com.example.loanmanagement.entity.LoanApplication;
 import com.example.loanmanagement.entity.LoanDocument;
 import com.example.loanmanagement.entity.enums.DocumentType;
+import com.example.loanmanagement.jfr.DocumentIoEvent;
 import com.example.loanmanagement.repository.LoanApplicationRepository;
 import com.example.loanmanagement.repository.LoanDocumentRepository;
 import com.example.loanmanagement.service.DocumentService;
+import com.example.loanmanagement.storage.ContentAddressedDocumentStore;
+import com.example.loanmanagement.storage.DocumentCache;
+import com.example.loanmanagement.storage.DocumentCompressor;
+import com.example.loanmanagement.storage.DocumentContent;
+import com.example.loanmanagement.storage.DocumentStorage;
+import com.example.loanmanagement.storage.StoredObject;
+import com.example.loanmanagement.timing.ServerTiming;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DocumentServiceImpl implements DocumentService {
 
+    private static final int BUNDLE_BUFFER_SIZE = 64 * 1024;
+    private static final String MISSING_FILES_ENTRY = "MISSING_FILES.txt";
+
     private final LoanDocumentRepository documentRepository;
     private final LoanApplicationRepository loanRepository;
+    private final ContentAddressedDocumentStore documentStore;
+    @Lazy
+    private final DocumentStorage documentStorage;
+    private final DocumentCache documentCache;
+    private final DocumentCompressor documentCompressor;
 
-    @Value("${file.upload.dir:uploads/documents}")
-    private String uploadDir;
+    @Value("${file.bundle.compression-level:1}")
+    private int bundleCompressionLevel;
 
     @Override
     @Transactional
+    @Timed(value = "document.io", extraTags = {"operation", "upload"})
     public LoanDocument uploadDocument(UUID loanId, DocumentType documentType, MultipartFile file) throws IOException {
+        DocumentIoEvent event = new DocumentIoEvent();
+        event.begin();
         // Validate loan exists
         LoanApplication loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new RuntimeException("Loan not found with id: " + loanId));
@@ -45,73 +71,164 @@ public class DocumentServiceImpl implements DocumentService {
             throw new IllegalArgumentException("File is empty");
         }
 
-        // Create upload directory if not exists
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
-
-        // Generate unique filename
-        String originalFilename = file.getOriginalFilename();
-        String extension = originalFilename != null && originalFilename.contains(".")
-                ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                : "";
-        String uniqueFilename = UUID.randomUUID().toString() + extension;
-        Path filePath = uploadPath.resolve(uniqueFilename);
-
-        // Save file
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        // Hash while staging the upload; identical content is stored only once, compressed if that pays off
+        long startedAt = ServerTiming.start();
+        ContentAddressedDocumentStore.StoredBlob blob = documentStore.store(file.getInputStream());
+        ServerTiming.record(ServerTiming.Phase.IO, startedAt);
 
         // Save document metadata to database
         LoanDocument document = new LoanDocument();
         document.setLoan(loan);
         document.setDocumentType(documentType);
-        document.setFileName(originalFilename);
-        document.setFilePath(filePath.toString());
+        document.setFileName(file.getOriginalFilename());
+        document.setFilePath(blob.getHash());
+        document.setContentHash(blob.getHash());
+        document.setFileSize(blob.getSize());
+        document.setContentEncoding(blob.getEncoding());
         document.setUploadedAt(OffsetDateTime.now());
 
         LoanDocument savedDocument = documentRepository.save(document);
-        log.info("Document uploaded successfully: {}", uniqueFilename);
+        log.info("Document uploaded successfully: {} (blob {})", savedDocument.getFileName(), blob.getHash());
+        commit(event, "upload", savedDocument, blob.getSize());
 
         return savedDocument;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<LoanDocument> getDocumentsByLoanId(UUID loanId) {
         return documentRepository.findByLoanId(loanId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public LoanDocument getDocumentById(UUID documentId) {
         return documentRepository.findById(documentId)
                 .orElseThrow(() -> new RuntimeException("Document not found with id: " + documentId));
     }
 
     @Override
-    public byte[] downloadDocument(UUID documentId) throws IOException {
+    @Timed(value = "document.io", extraTags = {"operation", "open"})
+    public DocumentContent downloadDocument(UUID documentId) throws IOException {
+        DocumentIoEvent event = new DocumentIoEvent();
+        event.begin();
         LoanDocument document = getDocumentById(documentId);
-        Path filePath = Paths.get(document.getFilePath());
-        
-        if (!Files.exists(filePath)) {
-            throw new RuntimeException("File not found: " + document.getFileName());
+        String key = ContentAddressedDocumentStore.storageKey(document);
+
+        // Hot documents are served from memory without touching the storage at all
+        DocumentCache.CachedObject cached = documentCache.getIfPresent(key);
+        if (cached == null) {
+            long startedAt = ServerTiming.start();
+            StoredObject object = documentStorage.stat(key);
+            if (object == null) {
+                throw new RuntimeException("File not found: " + document.getFileName());
+            }
+            cached = documentCache.load(documentStorage, object);
+            ServerTiming.record(ServerTiming.Phase.IO, startedAt);
+            if (cached == null) {
+                commit(event, "open", document, object.getSize());
+                return new DocumentContent(document, documentStorage, object, documentCompressor);
+            }
         }
-        
-        return Files.readAllBytes(filePath);
+        commit(event, "open-cached", document, cached.getObject().getSize());
+        return new DocumentContent(document, documentStorage, cached.getObject(), cached.getData(), documentCompressor);
+    }
+
+    @Override
+    @Timed(value = "document.io", extraTags = {"operation", "bundle"})
+    public void writeDocumentBundle(UUID loanId, OutputStream out) throws IOException {
+        DocumentIoEvent event = new DocumentIoEvent();
+        event.begin();
+        long bytes = 0;
+        List<LoanDocument> documents = documentRepository.findByLoanId(loanId);
+        long startedAt = ServerTiming.start();
+        Set<String> entryNames = new HashSet<>();
+        List<String> missing = new ArrayList<>();
+        byte[] buffer = new byte[BUNDLE_BUFFER_SIZE];
+
+        // Entries are compressed and written as each file is read; the archive is never held in memory
+        ZipOutputStream zip = new ZipOutputStream(out);
+        zip.setLevel(bundleCompressionLevel);
+        for (LoanDocument document : documents) {
+            String entryName = uniqueEntryName(entryNames, document);
+            InputStream in;
+            try {
+                in = documentCompressor.decode(
+                        documentStorage.openStream(ContentAddressedDocumentStore.storageKey(document), 0),
+                        document.getContentEncoding());
+            } catch (NoSuchFileException e) {
+                log.warn("Stored file missing for document {} while bundling loan {}", document.getId(), loanId);
+                missing.add(entryName);
+                continue;
+            }
+            try (in) {
+                zip.putNextEntry(new ZipEntry(entryName));
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    zip.write(buffer, 0, read);
+                    bytes += read;
+                }
+                zip.closeEntry();
+            }
+        }
+        if (!missing.isEmpty()) {
+            zip.putNextEntry(new ZipEntry(MISSING_FILES_ENTRY));
+            zip.write(String.join("\n", missing).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        zip.finish();
+        ServerTiming.record(ServerTiming.Phase.IO, startedAt);
+        log.info("Streamed bundle of {} documents for loan {}", documents.size() - missing.size(), loanId);
+        event.setOperation("bundle");
+        event.setLoanId(loanId.toString());
+        event.setDocuments(documents.size() - missing.size());
+        event.setBytes(bytes);
+        event.commit();
+    }
+
+    private static String uniqueEntryName(Set<String> used, LoanDocument document) {
+        String fileName = document.getFileName().replace('\\', '_').replace('/', '_');
+        String base = document.getDocumentType() + "/" + fileName;
+        String name = base;
+        int dot = base.lastIndexOf('.');
+        for (int copy = 2; !used.add(name); copy++) {
+            name = dot > base.indexOf('/') ? base.substring(0, dot) + " (" + copy + ")" + base.substring(dot) : base + " (" + copy + ")";
+        }
+        return name;
     }
 
     @Override
     @Transactional
+    @Timed(value = "document.io", extraTags = {"operation", "delete"})
     public void deleteDocument(UUID documentId) throws IOException {
+        DocumentIoEvent event = new DocumentIoEvent();
+        event.begin();
         LoanDocument document = getDocumentById(documentId);
-        Path filePath = Paths.get(document.getFilePath());
-        
-        // Delete physical file
-        if (Files.exists(filePath)) {
-            Files.delete(filePath);
-        }
-        
+
         // Delete database record
         documentRepository.delete(document);
+        documentCache.invalidate(ContentAddressedDocumentStore.storageKey(document));
+
+        long startedAt = ServerTiming.start();
+        if (document.getContentHash() != null) {
+            // The blob is removed after commit once no other document references it
+            documentStore.release(document.getContentHash());
+        } else {
+            // Uploads from before content addressing own their file
+            documentStorage.delete(ContentAddressedDocumentStore.storageKey(document));
+        }
+        ServerTiming.record(ServerTiming.Phase.IO, startedAt);
         log.info("Document deleted successfully: {}", document.getFileName());
+        commit(event, "delete", document, document.getFileSize() == null ? 0 : document.getFileSize());
+    }
+
+    private static void commit(DocumentIoEvent event, String operation, LoanDocument document, long bytes) {
+        event.setOperation(operation);
+        event.setDocumentId(String.valueOf(document.getId()));
+        // The loan's id is held by its proxy, so this does not load the loan
+        event.setLoanId(String.valueOf(document.getLoan().getId()));
+        event.setDocuments(1);
+        event.setBytes(bytes);
+        event.commit();
     }
 }
@@ -2,59 +2,56 @@ package com.example.loanmanagement.service.impl;
 
 import com.example.loanmanagement.entity.EmiSchedule;
 import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.jfr.MailSendEvent;
+import com.example.loanmanagement.mail.MailTemplate;
+import com.example.loanmanagement.mail.MailTemplateId;
+import com.example.loanmanagement.mail.MailTemplateRegistry;
+import com.example.loanmanagement.notification.NotificationDigest;
 import com.example.loanmanagement.service.EmailService;
+import com.example.loanmanagement.timing.ServerTiming;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.text.NumberFormat;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
+    @Lazy
     private final JavaMailSender mailSender;
+    private final MailTemplateRegistry templateRegistry;
     private static final String FROM_EMAIL = "noreply@loanmanagement.com";
-    private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(new Locale("en", "IN"));
-    private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
 
     @Override
+    @Async
+    @Timed(value = "mail.send", extraTags = {"type", "loan-application-confirmation"})
     public void sendLoanApplicationConfirmation(String email, LoanApplication loan) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(FROM_EMAIL);
-            message.setTo(email);
-            message.setSubject("Loan Application Received - Application ID: " + loan.getId());
-            message.setText(String.format(
-                    "Dear %s,\n\n" +
-                    "Your home loan application has been received successfully.\n\n" +
-                    "Application Details:\n" +
-                    "Application ID: %s\n" +
-                    "Loan Amount: %s\n" +
-                    "Property Value: %s\n" +
-                    "Tenure: %d months (%d years)\n" +
-                    "Interest Rate: %.2f%%\n" +
-                    "Application Date: %s\n\n" +
-                    "Your application is currently under review. We will notify you once it's processed.\n\n" +
-                    "Thank you for choosing our services.\n\n" +
-                    "Best Regards,\n" +
-                    "Loan Management Team",
-                    loan.getApplicant().getFullName(),
-                    loan.getId(),
-                    currencyFormatter.format(loan.getAmount()),
-                    currencyFormatter.format(loan.getPropertyValue()),
-                    loan.getTenureMonths(),
-                    loan.getTenureMonths() / 12,
-                    loan.getInterestRate(),
-                    loan.getSubmittedAt().format(dateFormatter)
-            ));
-            
-            mailSender.send(message);
+            Map<String, Object> model = new HashMap<>();
+            model.put("applicantName", loan.getApplicant().getFullName());
+            model.put("loanId", loan.getId());
+            model.put("amount", loan.getAmount());
+            model.put("propertyValue", loan.getPropertyValue());
+            model.put("tenureMonths", loan.getTenureMonths());
+            model.put("tenureYears", loan.getTenureMonths() / 12);
+            model.put("interestRate", loan.getInterestRate());
+            model.put("submittedAt", loan.getSubmittedAt());
+
+            send("loan-application-confirmation", loan.getId(), buildMessage(email, MailTemplateId.LOAN_APPLICATION_CONFIRMATION, model));
             log.info("Loan application confirmation email sent to: {}", email);
         } catch (Exception e) {
             log.error("Failed to send email to: {}. Error: {}", email, e.getMessage());
@@ -62,30 +59,10 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
+    @Timed(value = "mail.send", extraTags = {"type", "loan-status-update"})
     public void sendLoanStatusUpdate(String email, LoanApplication loan) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(FROM_EMAIL);
-            message.setTo(email);
-            message.setSubject("Loan Application Status Update - ID: " + loan.getId());
-            
-            String statusMessage = "Your loan application status has been updated to: " + loan.getStatus();
-            
-            message.setText(String.format(
-                    "Dear %s,\n\n" +
-                    "%s\n\n" +
-                    "Application ID: %s\n" +
-                    "Loan Amount: %s\n\n" +
-                    "For any queries, please contact our support team.\n\n" +
-                    "Best Regards,\n" +
-                    "Loan Management Team",
-                    loan.getApplicant().getFullName(),
-                    statusMessage,
-                    loan.getId(),
-                    currencyFormatter.format(loan.getAmount())
-            ));
-            
-            mailSender.send(message);
+            send("loan-status-update", loan.getId(), buildMessage(email, MailTemplateId.LOAN_STATUS_UPDATE, statusModel(loan)));
             log.info("Loan status update email sent to: {}", email);
         } catch (Exception e) {
             log.error("Failed to send email to: {}. Error: {}", email, e.getMessage());
@@ -93,31 +70,18 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
+    @Async
+    @Timed(value = "mail.send", extraTags = {"type", "emi-payment-confirmation"})
     public void sendEmiPaymentConfirmation(String email, EmiSchedule emi) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(FROM_EMAIL);
-            message.setTo(email);
-            message.setSubject("EMI Payment Confirmation - Loan ID: " + emi.getLoan().getId());
-            message.setText(String.format(
-                    "Dear %s,\n\n" +
-                    "Your EMI payment has been received successfully.\n\n" +
-                    "Payment Details:\n" +
-                    "Loan ID: %s\n" +
-                    "Amount Paid: %s\n" +
-                    "Due Date: %s\n" +
-                    "Transaction ID: %s\n\n" +
-                    "Thank you for your timely payment.\n\n" +
-                    "Best Regards,\n" +
-                    "Loan Management Team",
-                    emi.getLoan().getApplicant().getFullName(),
-                    emi.getLoan().getId(),
-                    currencyFormatter.format(emi.getAmount()),
-                    emi.getDueDate().format(dateFormatter),
-                    emi.getTransactionId()
-            ));
-            
-            mailSender.send(message);
+            Map<String, Object> model = new HashMap<>();
+            model.put("applicantName", emi.getLoan().getApplicant().getFullName());
+            model.put("loanId", emi.getLoan().getId());
+            model.put("amount", emi.getAmount());
+            model.put("dueDate", emi.getDueDate());
+            model.put("transactionId", emi.getTransactionId());
+
+            send("emi-payment-confirmation", emi.getLoan().getId(), buildMessage(email, MailTemplateId.EMI_PAYMENT_CONFIRMATION, model));
             log.info("EMI payment confirmation email sent to: {}", email);
         } catch (Exception e) {
             log.error("Failed to send email to: {}. Error: {}", email, e.getMessage());
@@ -125,32 +89,157 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
+    @Timed(value = "mail.send", extraTags = {"type", "emi-reminder"})
     public void sendEmiReminder(String email, EmiSchedule emi) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(FROM_EMAIL);
-            message.setTo(email);
-            message.setSubject("EMI Payment Reminder - Due Date: " + emi.getDueDate().format(dateFormatter));
-            message.setText(String.format(
-                    "Dear %s,\n\n" +
-                    "This is a reminder that your EMI payment is due.\n\n" +
-                    "EMI Details:\n" +
-                    "Loan ID: %s\n" +
-                    "Due Date: %s\n" +
-                    "Amount Due: %s\n\n" +
-                    "Please ensure sufficient balance in your account to avoid late payment charges.\n\n" +
-                    "Best Regards,\n" +
-                    "Loan Management Team",
-                    emi.getLoan().getApplicant().getFullName(),
-                    emi.getLoan().getId(),
-                    emi.getDueDate().format(dateFormatter),
-                    currencyFormatter.format(emi.getAmount())
-            ));
-            
-            mailSender.send(message);
+            send("emi-reminder", emi.getLoan().getId(), buildMessage(email, MailTemplateId.EMI_REMINDER, reminderModel(emi)));
             log.info("EMI reminder email sent to: {}", email);
         } catch (Exception e) {
             log.error("Failed to send email to: {}. Error: {}", email, e.getMessage());
         }
     }
+
+    @Override
+    @Timed(value = "mail.send", extraTags = {"type", "emi-reminder-batch"})
+    public void sendEmiReminders(List<EmiSchedule> emis) {
+        if (emis.isEmpty()) {
+            return;
+        }
+        SimpleMailMessage[] messages = new SimpleMailMessage[emis.size()];
+        for (int i = 0; i < messages.length; i++) {
+            EmiSchedule emi = emis.get(i);
+            messages[i] = buildMessage(emi.getLoan().getApplicant().getEmail(), MailTemplateId.EMI_REMINDER, reminderModel(emi));
+        }
+
+        // One send call so the whole run goes out over a single pooled SMTP session
+        try {
+            send("emi-reminder-batch", null, messages);
+            log.info("Sent {} EMI reminder emails", messages.length);
+        } catch (MailSendException e) {
+            log.error("Failed to send {} of {} EMI reminder emails. Error: {}",
+                    e.getFailedMessages().size(), messages.length, e.getMessage());
+        } catch (Exception e) {
+            log.error("Failed to send EMI reminder batch. Error: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    @Timed(value = "mail.send", extraTags = {"type", "notification-digest"})
+    public List<String> sendNotificationDigests(List<NotificationDigest> digests) {
+        if (digests.isEmpty()) {
+            return List.of();
+        }
+        SimpleMailMessage[] messages = new SimpleMailMessage[digests.size()];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = buildDigestMessage(digests.get(i));
+        }
+
+        try {
+            send("notification-digest", null, messages);
+            return List.of();
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                log.error("Failed to send notification digests. Error: {}", e.getMessage());
+                return digests.stream().map(NotificationDigest::getRecipient).toList();
+            }
+            log.error("Failed to send {} of {} notification digests. Error: {}",
+                    e.getFailedMessages().size(), messages.length, e.getMessage());
+            List<String> failed = new ArrayList<>();
+            for (Object failedMessage : e.getFailedMessages().keySet()) {
+                failed.addAll(List.of(((SimpleMailMessage) failedMessage).getTo()));
+            }
+            return failed;
+        } catch (Exception e) {
+            log.error("Failed to send notification digests. Error: {}", e.getMessage());
+            return digests.stream().map(NotificationDigest::getRecipient).toList();
+        }
+    }
+
+    private void send(String type, UUID loanId, SimpleMailMessage... messages) {
+        MailSendEvent event = new MailSendEvent();
+        event.begin();
+        long startedAt = ServerTiming.start();
+        int failed = messages.length;
+        try {
+            mailSender.send(messages);
+            failed = 0;
+        } catch (MailSendException e) {
+            if (!e.getFailedMessages().isEmpty()) {
+                failed = e.getFailedMessages().size();
+            }
+            throw e;
+        } finally {
+            event.setType(type);
+            event.setLoanId(loanId == null ? null : loanId.toString());
+            event.setMessages(messages.length);
+            event.setFailed(failed);
+            event.commit();
+            ServerTiming.record(ServerTiming.Phase.MAIL, startedAt);
+        }
+    }
+
+    private SimpleMailMessage buildDigestMessage(NotificationDigest digest) {
+        // A single event reads better as the regular notification than as a one-line digest
+        if (digest.size() == 1) {
+            if (digest.getReminders().isEmpty()) {
+                LoanApplication loan = digest.getStatusChanges().get(0).getLoan();
+                return buildMessage(digest.getRecipient(), MailTemplateId.LOAN_STATUS_UPDATE, statusModel(loan));
+            }
+            EmiSchedule emi = digest.getReminders().get(0);
+            return buildMessage(digest.getRecipient(), MailTemplateId.EMI_REMINDER, reminderModel(emi));
+        }
+
+        MailTemplate statusItem = templateRegistry.get(MailTemplateId.DIGEST_STATUS_ITEM);
+        MailTemplate reminderItem = templateRegistry.get(MailTemplateId.DIGEST_REMINDER_ITEM);
+        StringBuilder items = new StringBuilder();
+        for (NotificationDigest.StatusChange change : digest.getStatusChanges()) {
+            Map<String, Object> model = statusModel(change.getLoan());
+            model.put("transitions", change.getTransitions().stream().map(Enum::name).collect(Collectors.joining(" -> ")));
+            appendItem(items, statusItem.renderBody(model));
+        }
+        for (EmiSchedule emi : digest.getReminders()) {
+            appendItem(items, reminderItem.renderBody(reminderModel(emi)));
+        }
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("applicantName", digest.getApplicantName());
+        model.put("count", digest.size());
+        model.put("items", items.toString());
+        return buildMessage(digest.getRecipient(), MailTemplateId.NOTIFICATION_DIGEST, model);
+    }
+
+    private static void appendItem(StringBuilder items, String item) {
+        if (items.length() > 0) {
+            items.append("\n\n");
+        }
+        items.append(item);
+    }
+
+    private Map<String, Object> statusModel(LoanApplication loan) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("applicantName", loan.getApplicant().getFullName());
+        model.put("status", loan.getStatus());
+        model.put("loanId", loan.getId());
+        model.put("amount", loan.getAmount());
+        return model;
+    }
+
+    private Map<String, Object> reminderModel(EmiSchedule emi) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("applicantName", emi.getLoan().getApplicant().getFullName());
+        model.put("loanId", emi.getLoan().getId());
+        model.put("dueDate", emi.getDueDate());
+        model.put("amount", emi.getAmount());
+        return model;
+    }
+
+    private SimpleMailMessage buildMessage(String email, MailTemplateId templateId, Map<String, Object> model) {
+        MailTemplate template = templateRegistry.get(templateId);
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(FROM_EMAIL);
+        message.setTo(email);
+        message.setSubject(template.renderSubject(model));
+        message.setText(template.renderBody(model));
+        return message;
+    }
 }
@@ -3,13 +3,18 @@ package com.example.loanmanagement.service.impl;
 import com.example.loanmanagement.entity.EmiSchedule;
 import com.example.loanmanagement.entity.LoanApplication;
 import com.example.loanmanagement.entity.enums.PaymentStatus;
+import com.example.loanmanagement.jfr.EmiGenerationEvent;
 import com.example.loanmanagement.repository.EmiScheduleRepository;
 import com.example.loanmanagement.repository.LoanApplicationRepository;
 import com.example.loanmanagement.service.EmailService;
 import com.example.loanmanagement.service.EmiService;
+import com.example.loanmanagement.timing.ServerTiming;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -28,7 +33,11 @@ public class EmiServiceImpl implements EmiService {
 
     @Override
     @Transactional
+    @Timed("emi.schedule.generate")
     public void generateEmiSchedule(LoanApplication loan) {
+        EmiGenerationEvent event = new EmiGenerationEvent();
+        event.begin();
+        long startedAt = ServerTiming.start();
         List<EmiSchedule> schedules = new ArrayList<>();
         LocalDate startDate = LocalDate.now().plusMonths(1);
         
@@ -52,11 +61,17 @@ public class EmiServiceImpl implements EmiService {
             emi.setPaymentStatus(PaymentStatus.PENDING);
             schedules.add(emi);
         }
+        ServerTiming.record(ServerTiming.Phase.EMI, startedAt);
 
         emiRepository.saveAll(schedules);
+
+        event.setLoanId(String.valueOf(loan.getId()));
+        event.setInstallments(schedules.size());
+        event.commit();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EmiSchedule> getEmiScheduleByLoanId(UUID loanId) {
         LoanApplication loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new RuntimeException("Loan not found"));
@@ -66,7 +81,7 @@ public class EmiServiceImpl implements EmiService {
     @Override
     @Transactional
     public EmiSchedule payEmi(UUID emiId, String transactionId) {
-        EmiSchedule emi = emiRepository.findById(emiId)
+        EmiSchedule emi = emiRepository.findWithApplicantById(emiId)
                 .orElseThrow(() -> new RuntimeException("EMI not found with id: " + emiId));
 
         if (emi.getPaymentStatus() == PaymentStatus.PAID) {
@@ -78,28 +93,21 @@ public class EmiServiceImpl implements EmiService {
 
         EmiSchedule savedEmi = emiRepository.save(emi);
         
-        // Send payment confirmation email
-        try {
-            emailService.sendEmiPaymentConfirmation(
-                    emi.getLoan().getApplicant().getEmail(), 
-                    savedEmi
-            );
-        } catch (Exception e) {
-            // Log but don't fail
-        }
+        // Mailed after commit and off the request thread, like the application confirmation
+        String email = emi.getLoan().getApplicant().getEmail();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                emailService.sendEmiPaymentConfirmation(email, savedEmi);
+            }
+        });
 
         return savedEmi;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<EmiSchedule> getPendingEmis(UUID userId) {
-        List<LoanApplication> userLoans = loanRepository.findByApplicantId(userId);
-        List<EmiSchedule> pendingEmis = new ArrayList<>();
-        
-        for (LoanApplication loan : userLoans) {
-            pendingEmis.addAll(emiRepository.findByLoanAndPaymentStatus(loan, PaymentStatus.PENDING));
-        }
-        
-        return pendingEmis;
+        return emiRepository.findByLoanApplicantIdAndPaymentStatusOrderByDueDate(userId, PaymentStatus.PENDING);
     }
 }
@@ -4,6 +4,7 @@ import com.example.loanmanagement.dto.AuthResponse;
 import com.example.loanmanagement.entity.User;
 import com.example.loanmanagement.repository.UserRepository;
 import com.example.loanmanagement.service.JwtService;
+import com.example.loanmanagement.timing.ServerTiming;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
@@ -11,6 +12,7 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.time.Instant;
@@ -45,9 +47,12 @@ public class JwtServiceImpl implements JwtService {
 	}
 
 	@Override
+	@Timed("jwt.issue")
 	public AuthResponse generateTokens(User user) {
+		long startedAt = ServerTiming.start();
 		String accessToken = buildToken(user, accessTokenValidity, TOKEN_TYPE_ACCESS);
 		String refreshToken = buildToken(user, refreshTokenValidity, TOKEN_TYPE_REFRESH);
+		ServerTiming.record(ServerTiming.Phase.AUTH, startedAt);
 		return new AuthResponse(accessToken, refreshToken);
 	}
 
@@ -65,12 +70,14 @@ public class JwtServiceImpl implements JwtService {
 	}
 
 	@Override
+	@Timed("jwt.verify")
 	public UUID extractUserId(String token) {
 		Claims claims = parseClaims(token);
 		return UUID.fromString(claims.getSubject());
 	}
 
 	@Override
+	@Timed("jwt.verify")
 	public boolean isRefreshToken(String token) {
 		Claims claims = parseClaims(token);
 		return TOKEN_TYPE_REFRESH.equals(claims.get(CLAIM_TOKEN_TYPE, String.class));
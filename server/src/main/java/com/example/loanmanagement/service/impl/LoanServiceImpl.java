@@ -4,14 +4,19 @@ import com.example.loanmanagement.dto.LoanApplicationRequest;
 import com.example.loanmanagement.entity.LoanApplication;
 import com.example.loanmanagement.entity.User;
 import com.example.loanmanagement.entity.enums.LoanStatus;
+import com.example.loanmanagement.jfr.LoanStatusEvent;
+import com.example.loanmanagement.notification.NotificationAggregator;
 import com.example.loanmanagement.repository.LoanApplicationRepository;
 import com.example.loanmanagement.repository.UserRepository;
 import com.example.loanmanagement.service.EmailService;
 import com.example.loanmanagement.service.EmiService;
 import com.example.loanmanagement.service.LoanService;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -27,6 +32,7 @@ public class LoanServiceImpl implements LoanService {
     private final UserRepository userRepository;
     private final EmiService emiService;
     private final EmailService emailService;
+    private final NotificationAggregator notificationAggregator;
 
     @Override
     @Transactional
@@ -45,51 +51,58 @@ public class LoanServiceImpl implements LoanService {
         loan.setSubmittedAt(OffsetDateTime.now());
 
         LoanApplication savedLoan = loanRepository.save(loan);
+        recordTransition(savedLoan, null);
         
         // Generate EMI schedule
         emiService.generateEmiSchedule(savedLoan);
         
-        // Send email notification
-        try {
-            emailService.sendLoanApplicationConfirmation(user.getEmail(), savedLoan);
-        } catch (Exception e) {
-            // Log but don't fail the transaction
-        }
+        // Mailed after commit and off the request thread, so a slow mail server holds neither the
+        // connection of this transaction nor the request
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                emailService.sendLoanApplicationConfirmation(user.getEmail(), savedLoan);
+            }
+        });
 
         return savedLoan;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<LoanApplication> getUserLoans(UUID userId) {
         return loanRepository.findByApplicantId(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<LoanApplication> getAllLoans() {
-        return loanRepository.findAll();
+        return loanRepository.findAllWithApplicant();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public LoanApplication getLoanById(UUID loanId) {
-        return loanRepository.findById(loanId)
+        LoanApplication loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new RuntimeException("Loan not found with id: " + loanId));
+        // Usually a second-level cache hit; a fetch join would bypass the cached loan
+        Hibernate.initialize(loan.getApplicant());
+        return loan;
     }
 
     @Override
     @Transactional
     public LoanApplication updateLoanStatus(UUID loanId, LoanStatus status, String remarks) {
         LoanApplication loan = getLoanById(loanId);
+        LoanStatus previous = loan.getStatus();
         loan.setStatus(status);
         loan.setUpdatedAt(OffsetDateTime.now());
         
         LoanApplication updatedLoan = loanRepository.save(loan);
+        recordTransition(updatedLoan, previous);
         
-        // Send email notification
-        try {
-            emailService.sendLoanStatusUpdate(loan.getApplicant().getEmail(), updatedLoan);
-        } catch (Exception e) {
-            // Log but don't fail the transaction
-        }
+        // Queue the notification; quick successive changes go out as one digest
+        notificationAggregator.loanStatusChanged(updatedLoan);
         
         return updatedLoan;
     }
@@ -120,4 +133,14 @@ public class LoanServiceImpl implements LoanService {
         
         return numerator.divide(denominator, 2, RoundingMode.HALF_UP);
     }
+
+    private static void recordTransition(LoanApplication loan, LoanStatus from) {
+        LoanStatusEvent event = new LoanStatusEvent();
+        if (event.isEnabled()) {
+            event.setLoanId(String.valueOf(loan.getId()));
+            event.setFromStatus(from == null ? null : from.name());
+            event.setToStatus(loan.getStatus().name());
+            event.commit();
+        }
+    }
 }
@@ -0,0 +1,324 @@
+package com.example.loanmanagement.service.impl;
+
+import com.example.loanmanagement.dto.UploadSessionRequest;
+import com.example.loanmanagement.dto.UploadSessionResponse;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.LoanDocument;
+import com.example.loanmanagement.entity.UploadSession;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.Role;
+import com.example.loanmanagement.exception.UploadOffsetConflictException;
+import com.example.loanmanagement.repository.LoanApplicationRepository;
+import com.example.loanmanagement.repository.LoanDocumentRepository;
+import com.example.loanmanagement.repository.UploadSessionRepository;
+import com.example.loanmanagement.service.UploadSessionService;
+import com.example.loanmanagement.storage.ContentAddressedDocumentStore;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resumable uploads: the client opens a session with the final size, sends the file as a series of
+ * chunks, each with its offset and SHA-256, and completes the session once every byte has arrived.
+ * <p>
+ * Chunks are read straight from the request body and written into the staging file at their
+ * offset, so memory use is one small buffer per request whatever the file size. A chunk only
+ * counts once its checksum matched and it was flushed to disk; after a dropped connection the
+ * client asks for the session and resumes from {@code receivedBytes}. Completing hashes the
+ * staged file and moves it into the document storage without copying it again.
+ * <p>
+ * Staging files live on the node that accepted the session, so chunk requests must reach that node
+ * (sticky routing) unless the upload directory is shared.
+ * <p>
+ * A session belongs to the user who opened it, who must be the borrower of its loan; other users
+ * are told the session does not exist. Admins may act on any session.
+ */
+@Slf4j
+@Service
+public class UploadSessionServiceImpl implements UploadSessionService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository sessionRepository;
+    private final LoanApplicationRepository loanRepository;
+    private final LoanDocumentRepository documentRepository;
+    private final ContentAddressedDocumentStore documentStore;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxChunkSize;
+    private final long maxFileSize;
+    private final Duration sessionTtl;
+
+    // One writer per session; concurrent chunks for the same session would overwrite each other
+    private final Map<UUID, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    public UploadSessionServiceImpl(UploadSessionRepository sessionRepository,
+                                    LoanApplicationRepository loanRepository,
+                                    LoanDocumentRepository documentRepository,
+                                    ContentAddressedDocumentStore documentStore,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${file.upload.chunk.max-size:8MB}") DataSize maxChunkSize,
+                                    @Value("${file.upload.chunk.max-file-size:1GB}") DataSize maxFileSize,
+                                    @Value("${file.upload.chunk.session-ttl:24h}") Duration sessionTtl) {
+        this.sessionRepository = sessionRepository;
+        this.loanRepository = loanRepository;
+        this.documentRepository = documentRepository;
+        this.documentStore = documentStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxChunkSize = maxChunkSize.toBytes();
+        this.maxFileSize = maxFileSize.toBytes();
+        this.sessionTtl = sessionTtl;
+    }
+
+    @Override
+    public UploadSessionResponse createSession(UploadSessionRequest request, User user) {
+        LoanApplication loan = loanRepository.findById(request.getLoanId())
+                .filter(found -> isAdmin(user) || found.getApplicant().getId().equals(user.getId()))
+                .orElseThrow(() -> new RuntimeException("Loan not found with id: " + request.getLoanId()));
+        if (request.getTotalSize() > maxFileSize) {
+            throw new IllegalArgumentException("File exceeds the maximum upload size of " + maxFileSize + " bytes");
+        }
+
+        UploadSession session = new UploadSession();
+        session.setLoanId(loan.getId());
+        session.setOwnerId(user.getId());
+        session.setDocumentType(request.getDocumentType());
+        session.setFileName(request.getFileName());
+        session.setTotalSize(request.getTotalSize());
+        UploadSession savedSession = sessionRepository.save(session);
+        log.info("Upload session {} opened for {} ({} bytes)", savedSession.getId(), savedSession.getFileName(), savedSession.getTotalSize());
+        return toResponse(savedSession);
+    }
+
+    @Override
+    public UploadSessionResponse getSession(UUID sessionId, User user) {
+        return toResponse(findSession(sessionId, user));
+    }
+
+    @Override
+    @Timed(value = "document.io", extraTags = {"operation", "chunk"})
+    public UploadSessionResponse appendChunk(UUID sessionId, long offset, String checksum, InputStream body, User user) throws IOException {
+        byte[] expectedDigest = parseChecksum(checksum);
+        ReentrantLock lock = lockSession(sessionId, user);
+        try {
+            UploadSession session = findLockedSession(sessionId, lock);
+            long received = session.getReceivedBytes();
+            if (offset != received) {
+                throw new UploadOffsetConflictException("Chunk must start at offset " + received, received);
+            }
+            long limit = Math.min(maxChunkSize, session.getTotalSize() - received);
+            if (limit == 0) {
+                throw new IllegalArgumentException("All bytes of this upload have been received");
+            }
+
+            MessageDigest digest = sha256();
+            long written = 0;
+            try (FileChannel channel = FileChannel.open(stagingFile(sessionId),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[WRITE_BUFFER_SIZE];
+                ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+                int read;
+                while ((read = body.read(buffer)) >= 0) {
+                    if (written + read > limit) {
+                        throw new IllegalArgumentException("Chunk exceeds the allowed size of " + limit + " bytes");
+                    }
+                    digest.update(buffer, 0, read);
+                    wrapped.position(0).limit(read);
+                    long position = offset + written;
+                    while (wrapped.hasRemaining()) {
+                        position += channel.write(wrapped, position);
+                    }
+                    written += read;
+                }
+                if (written == 0) {
+                    throw new IllegalArgumentException("Chunk is empty");
+                }
+                if (!MessageDigest.isEqual(digest.digest(), expectedDigest)) {
+                    // Nothing is acknowledged; the client resends the chunk over the same range
+                    throw new IllegalArgumentException("Chunk checksum mismatch");
+                }
+                // Acknowledged bytes must survive a crash, or a resumed upload would have a hole
+                channel.force(false);
+            }
+
+            session.setReceivedBytes(received + written);
+            session.setUpdatedAt(OffsetDateTime.now());
+            return toResponse(sessionRepository.save(session));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @Timed(value = "document.io", extraTags = {"operation", "complete"})
+    public LoanDocument completeSession(UUID sessionId, User user) throws IOException {
+        ReentrantLock lock = lockSession(sessionId, user);
+        try {
+            UploadSession session = findLockedSession(sessionId, lock);
+            if (session.getReceivedBytes() != session.getTotalSize()) {
+                throw new IllegalArgumentException("Upload incomplete: received " + session.getReceivedBytes()
+                        + " of " + session.getTotalSize() + " bytes");
+            }
+
+            Path staged = stagingFile(sessionId);
+            // Drops bytes of a rejected chunk that was longer than the data finally acknowledged
+            try (FileChannel channel = FileChannel.open(staged, StandardOpenOption.WRITE)) {
+                channel.truncate(session.getTotalSize());
+            }
+            // Hashing and compression happen before the transaction so it holds no connection meanwhile
+            ContentAddressedDocumentStore.StoredBlob blob = documentStore.compress(documentStore.digest(staged), staged);
+
+            LoanDocument savedDocument;
+            try {
+                savedDocument = transactionTemplate.execute(status -> register(session, blob, staged));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            locks.remove(sessionId);
+            log.info("Document uploaded successfully: {} (blob {}, {} bytes in chunks)",
+                    savedDocument.getFileName(), blob.getHash(), blob.getSize());
+            return savedDocument;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private LoanDocument register(UploadSession session, ContentAddressedDocumentStore.StoredBlob blob, Path staged) {
+        LoanApplication loan = loanRepository.findById(session.getLoanId())
+                .orElseThrow(() -> new RuntimeException("Loan not found with id: " + session.getLoanId()));
+        ContentAddressedDocumentStore.StoredBlob stored;
+        try {
+            stored = documentStore.register(blob, staged);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        LoanDocument document = new LoanDocument();
+        document.setLoan(loan);
+        document.setDocumentType(session.getDocumentType());
+        document.setFileName(session.getFileName());
+        document.setFilePath(blob.getHash());
+        document.setContentHash(blob.getHash());
+        document.setFileSize(blob.getSize());
+        document.setContentEncoding(stored.getEncoding());
+        document.setUploadedAt(OffsetDateTime.now());
+        LoanDocument savedDocument = documentRepository.save(document);
+        sessionRepository.delete(session);
+        return savedDocument;
+    }
+
+    @Override
+    public void abortSession(UUID sessionId, User user) throws IOException {
+        ReentrantLock lock = lockSession(sessionId, user);
+        try {
+            discard(findLockedSession(sessionId, lock));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${file.upload.chunk.cleanup-interval:3600000}")
+    public void purgeExpiredSessions() {
+        List<UploadSession> expired = sessionRepository.findByUpdatedAtBefore(OffsetDateTime.now().minus(sessionTtl));
+        for (UploadSession session : expired) {
+            ReentrantLock lock = locks.computeIfAbsent(session.getId(), id -> new ReentrantLock());
+            if (!lock.tryLock()) {
+                continue;
+            }
+            try {
+                discard(session);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to discard expired upload session {}: {}", session.getId(), e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (!expired.isEmpty()) {
+            log.info("Discarded {} expired upload sessions", expired.size());
+        }
+    }
+
+    private void discard(UploadSession session) throws IOException {
+        sessionRepository.delete(session);
+        Files.deleteIfExists(stagingFile(session.getId()));
+        locks.remove(session.getId());
+    }
+
+    private ReentrantLock lockSession(UUID sessionId, User user) {
+        // Checked before locking, so other users can neither hold up the owner nor leave locks behind
+        long received = findSession(sessionId, user).getReceivedBytes();
+        ReentrantLock lock = locks.computeIfAbsent(sessionId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new UploadOffsetConflictException("Another request for this upload is in progress", received);
+        }
+        return lock;
+    }
+
+    private UploadSession findSession(UUID sessionId, User user) {
+        return sessionRepository.findById(sessionId)
+                .filter(session -> isAdmin(user) || session.getOwnerId().equals(user.getId()))
+                .orElseThrow(() -> new RuntimeException("Upload session not found with id: " + sessionId));
+    }
+
+    private static boolean isAdmin(User user) {
+        return user.getRole() == Role.ADMIN;
+    }
+
+    private UploadSession findLockedSession(UUID sessionId, ReentrantLock lock) {
+        return sessionRepository.findById(sessionId).orElseThrow(() -> {
+            // Unknown or expired id: without this every such request would leave a lock behind
+            locks.remove(sessionId, lock);
+            return new RuntimeException("Upload session not found with id: " + sessionId);
+        });
+    }
+
+    private Path stagingFile(UUID sessionId) throws IOException {
+        return documentStore.stagingFile("session-" + sessionId + ".part");
+    }
+
+    private UploadSessionResponse toResponse(UploadSession session) {
+        return new UploadSessionResponse(session, maxChunkSize, session.getUpdatedAt().plus(sessionTtl));
+    }
+
+    private static byte[] parseChecksum(String checksum) {
+        if (checksum == null || checksum.length() != 64) {
+            throw new IllegalArgumentException("Chunk checksum must be a hex SHA-256 digest");
+        }
+        try {
+            return HexFormat.of().parseHex(checksum);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Chunk checksum must be a hex SHA-256 digest");
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.loanmanagement.storage;
+
+import com.example.loanmanagement.entity.DocumentBlob;
+import com.example.loanmanagement.entity.LoanDocument;
+import com.example.loanmanagement.repository.DocumentBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+
+/**
+ * Deduplicating document store: uploads are hashed (SHA-256) while they are streamed to a local
+ * staging file, then put into {@link DocumentStorage} under the hash. Identical uploads share one
+ * object, tracked by the reference count in {@code document_blobs}.
+ * <p>
+ * Compressible content is stored compressed by {@link DocumentCompressor}. The hash and size
+ * always describe the original bytes; the row records the encoding and stored size of the object.
+ * <p>
+ * The row is locked before the file is placed or removed, so a concurrent upload of the same
+ * content can never lose its file to a delete of the last previous reference.
+ */
+@Slf4j
+@Component
+public class ContentAddressedDocumentStore {
+
+    private static final String TEMP_DIR = "tmp";
+    private static final String UPLOAD_PREFIX = "upload-";
+    private static final String PART_SUFFIX = ".part";
+    private static final String COMPRESSED_SUFFIX = ".gz";
+    private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+
+    private final DocumentBlobRepository blobRepository;
+    private final DocumentStorage storage;
+    private final DocumentCompressor compressor;
+    private final TransactionTemplate transactionTemplate;
+    private final Path stagingDir;
+
+    public ContentAddressedDocumentStore(DocumentBlobRepository blobRepository,
+                                         @Lazy DocumentStorage storage,
+                                         DocumentCompressor compressor,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${file.upload.dir:uploads/documents}") String uploadDir) {
+        this.blobRepository = blobRepository;
+        this.storage = storage;
+        this.compressor = compressor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Purges run from afterCommit callbacks, where the finished transaction is still bound
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Inside the upload directory so the filesystem storage can take the file with a rename
+        this.stagingDir = Paths.get(uploadDir).resolve(TEMP_DIR);
+    }
+
+    /**
+     * Storage key of a document's bytes: the content hash, or for uploads from before content
+     * addressing the generated file name they were saved under.
+     */
+    public static String storageKey(LoanDocument document) {
+        if (document.getContentHash() != null) {
+            return document.getContentHash();
+        }
+        return Paths.get(document.getFilePath()).getFileName().toString();
+    }
+
+    /**
+     * Stores the stream and takes one reference on the resulting blob. Must run inside the
+     * transaction that saves the referencing document. Returns the blob as stored, which carries
+     * the encoding of an existing object when the content was deduplicated.
+     */
+    public StoredBlob store(InputStream input) throws IOException {
+        Files.createDirectories(stagingDir);
+        Path temp = Files.createTempFile(stagingDir, UPLOAD_PREFIX, PART_SUFFIX);
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(input, digest)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            StoredBlob blob = new StoredBlob(HexFormat.of().formatHex(digest.digest()), size);
+            return register(compress(blob, temp), temp);
+        } finally {
+            Files.deleteIfExists(temp);
+            Files.deleteIfExists(compressedFile(temp));
+        }
+    }
+
+    /**
+     * Location for a file that is assembled in place before being registered, such as a chunked upload.
+     */
+    public Path stagingFile(String name) throws IOException {
+        Files.createDirectories(stagingDir);
+        return stagingDir.resolve(name);
+    }
+
+    /**
+     * Hashes a fully staged file. Needs no transaction, so large files are read before one is opened.
+     */
+    public StoredBlob digest(Path staged) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(DIGEST_BUFFER_SIZE);
+        long size = 0;
+        try (FileChannel channel = FileChannel.open(staged, StandardOpenOption.READ)) {
+            int read;
+            while ((read = channel.read(buffer)) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+                size += read;
+            }
+        }
+        return new StoredBlob(HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    /**
+     * Writes a compressed copy next to a digested staged file when its content is compressible and
+     * not stored yet; {@link #register} then stores the copy. The staged file itself is left
+     * untouched, so a failed registration can be retried from it. Needs no transaction; the CPU
+     * work is best done before one is opened.
+     */
+    public StoredBlob compress(StoredBlob blob, Path staged) throws IOException {
+        if (storage.stat(blob.getHash()) != null) {
+            // Deduplicated on registration anyway, so compressing would be wasted work
+            return blob;
+        }
+        Path compressed = compressedFile(staged);
+        String encoding = compressor.compress(staged, blob.getSize(), compressed);
+        if (encoding == null) {
+            return blob;
+        }
+        return new StoredBlob(blob.getHash(), blob.getSize(), encoding, Files.size(compressed));
+    }
+
+    /**
+     * Takes one reference on the blob and moves the staged file (or its compressed copy) into
+     * storage, or drops it when the content is already stored. If this fails the staged file is
+     * left in place. Must run inside the transaction that saves the referencing document. Returns
+     * the blob as stored, which carries the encoding of the existing object when deduplicated.
+     */
+    public StoredBlob register(StoredBlob blob, Path staged) throws IOException {
+        Path compressed = compressedFile(staged);
+        try {
+            // Takes the row lock; from here on no delete of this content can interleave
+            blobRepository.acquire(blob.getHash(), blob.getSize(), blob.getHash(), blob.getEncoding(),
+                    blob.getStoredSize(), OffsetDateTime.now());
+            DocumentBlob row = blobRepository.findById(blob.getHash())
+                    .orElseThrow(() -> new IllegalStateException("Blob row missing after acquire: " + blob.getHash()));
+            if (storage.stat(blob.getHash()) != null) {
+                log.debug("Deduplicated upload of {} bytes against blob {}", blob.getSize(), blob.getHash());
+                Files.deleteIfExists(staged);
+                return new StoredBlob(row.getContentHash(), row.getSize(), row.getEncoding(),
+                        row.getStoredSize() != null ? row.getStoredSize() : row.getSize());
+            }
+            if (blob.getEncoding() != null) {
+                storage.put(blob.getHash(), compressed);
+                Files.deleteIfExists(staged);
+            } else {
+                storage.put(blob.getHash(), staged);
+            }
+            // A row whose object had gone missing now describes the object just written
+            row.setEncoding(blob.getEncoding());
+            row.setStoredSize(blob.getStoredSize());
+            return blob;
+        } finally {
+            Files.deleteIfExists(compressed);
+        }
+    }
+
+    /**
+     * Drops one reference. When it was the last one, the file and row are removed after the
+     * surrounding transaction commits.
+     */
+    public void release(String hash) {
+        blobRepository.findForUpdate(hash).ifPresent(blob -> {
+            blob.setRefCount(Math.max(blob.getRefCount() - 1, 0));
+            if (blob.getRefCount() == 0) {
+                afterCommit(() -> purgeIfUnreferenced(hash));
+            }
+        });
+    }
+
+    /**
+     * Removes the blob's row and object if its reference count is zero, re-checked under the row lock.
+     */
+    public void purgeIfUnreferenced(String hash) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    blobRepository.findForUpdate(hash)
+                            .filter(blob -> blob.getRefCount() == 0)
+                            .ifPresent(this::purge));
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge unreferenced blob {}: {}", hash, e.getMessage());
+        }
+    }
+
+    private void purge(DocumentBlob blob) {
+        try {
+            storage.delete(blob.getContentHash());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        blobRepository.delete(blob);
+        log.info("Deleted unreferenced blob {}", blob.getContentHash());
+    }
+
+    /**
+     * Deletes staging files of uploads that died before they were registered, and compressed
+     * copies left behind by failed registrations. Chunked upload sessions are left alone; they
+     * expire on their own schedule.
+     */
+    public int purgeStaleStagingFiles(Instant cutoff) throws IOException {
+        if (!Files.isDirectory(stagingDir)) {
+            return 0;
+        }
+        int purged = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(stagingDir,
+                "{" + UPLOAD_PREFIX + "*" + PART_SUFFIX + ",*" + PART_SUFFIX + COMPRESSED_SUFFIX + "}")) {
+            for (Path file : stream) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                    purged++;
+                }
+            }
+        }
+        return purged;
+    }
+
+    private static Path compressedFile(Path staged) {
+        return staged.resolveSibling(staged.getFileName() + COMPRESSED_SUFFIX);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static class StoredBlob {
+        private final String hash;
+        private final long size;
+        private final String encoding;
+        private final long storedSize;
+
+        StoredBlob(String hash, long size) {
+            this(hash, size, null, size);
+        }
+
+        StoredBlob(String hash, long size, String encoding, long storedSize) {
+            this.hash = hash;
+            this.size = size;
+            this.encoding = encoding;
+            this.storedSize = storedSize;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Encoding of the stored object, or {@code null} when it holds the original bytes.
+         */
+        public String getEncoding() {
+            return encoding;
+        }
+
+        public long getStoredSize() {
+            return storedSize;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.loanmanagement.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-through cache of small, frequently downloaded documents, keyed by storage key.
+ * <p>
+ * Entries are weighed by their byte size against {@code file.cache.max-bytes}; Caffeine's
+ * size-aware TinyLFU policy keeps the documents that are read repeatedly and drops one-off reads.
+ * Objects larger than {@code file.cache.max-entry-bytes} are never cached, so a few big scans
+ * cannot push out everything else. Keys are content hashes (or unique legacy file names), so an
+ * entry can never go stale; deletes only invalidate it to free the memory early.
+ */
+@Component
+public class DocumentCache {
+
+    private final Cache<String, CachedObject> cache;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+
+    public DocumentCache(@Value("${file.cache.max-bytes:64MB}") DataSize maxBytes,
+                         @Value("${file.cache.max-entry-bytes:2MB}") DataSize maxEntryBytes,
+                         @Value("${file.cache.expire-after-access:1h}") Duration expireAfterAccess) {
+        this.maxBytes = maxBytes.toBytes();
+        this.maxEntryBytes = Math.min(maxEntryBytes.toBytes(), Integer.MAX_VALUE);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(this.maxBytes)
+                .weigher((String key, CachedObject cached) -> cached.data.length)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached copy of {@code key}, or {@code null} if it is not cached.
+     */
+    public CachedObject getIfPresent(String key) {
+        // Misses are recorded by load(), so uncacheable objects do not drag the hit rate down
+        if (cache.policy().getIfPresentQuietly(key) == null) {
+            return null;
+        }
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Loads the object into the cache when it is small enough. Concurrent loads of the same key
+     * wait for a single read. Returns {@code null} for objects above the per-entry cap.
+     */
+    public CachedObject load(DocumentStorage storage, StoredObject object) throws IOException {
+        if (maxBytes == 0 || object.getSize() > maxEntryBytes) {
+            return null;
+        }
+        try {
+            return cache.get(object.getKey(), key -> read(storage, object));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    public Map<String, Object> getStatistics() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("hitRate", stats.hitRate());
+        statistics.put("hitCount", stats.hitCount());
+        statistics.put("missCount", stats.missCount());
+        statistics.put("evictionCount", stats.evictionCount());
+        statistics.put("entries", cache.estimatedSize());
+        statistics.put("weightBytes", cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L));
+        statistics.put("maxBytes", maxBytes);
+        statistics.put("maxEntryBytes", maxEntryBytes);
+        return statistics;
+    }
+
+    private static CachedObject read(DocumentStorage storage, StoredObject object) {
+        try (InputStream in = storage.openStream(object.getKey(), 0)) {
+            byte[] data = in.readNBytes((int) object.getSize());
+            return new CachedObject(new StoredObject(object.getKey(), data.length, object.getLastModified(), null), data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static final class CachedObject {
+        private final StoredObject object;
+        private final byte[] data;
+
+        CachedObject(StoredObject object, byte[] data) {
+            this.object = object;
+            this.data = data;
+        }
+
+        public StoredObject getObject() {
+            return object;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.loanmanagement.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses staged uploads at rest when their content is worth it.
+ * <p>
+ * The decision is made by sniffing the start of the file: formats that are compressed already
+ * (JPEG, PNG, ZIP containers such as DOCX and XLSX, gzip, ...) are skipped by their magic number,
+ * and for everything else a sample is deflated at the fastest level. Only when the sample shrinks
+ * below {@code file.compression.max-ratio} is the whole file compressed, streaming through a
+ * {@link Deflater} so memory use does not depend on the file size. Compressed objects are kept in
+ * gzip format, which clients accept as {@code Content-Encoding: gzip} without any re-encoding.
+ * <p>
+ * Bytes saved and the CPU time spent on either direction are recorded for the admin statistics.
+ */
+@Slf4j
+@Component
+public class DocumentCompressor {
+
+    public static final String GZIP = "gzip";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SAMPLE_SIZE = 64 * 1024;
+
+    private static final byte[][] COMPRESSED_SIGNATURES = {
+            {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF},                  // JPEG
+            {(byte) 0x89, 'P', 'N', 'G'},                             // PNG
+            {'G', 'I', 'F', '8'},                                     // GIF
+            {'P', 'K', 0x03, 0x04},                                   // ZIP, DOCX, XLSX, ODT
+            {0x1F, (byte) 0x8B},                                      // gzip
+            {'7', 'z', (byte) 0xBC, (byte) 0xAF},                     // 7-Zip
+            {'R', 'a', 'r', '!'},                                     // RAR
+            {'B', 'Z', 'h'},                                          // bzip2
+            {(byte) 0xFD, '7', 'z', 'X', 'Z'},                        // xz
+            {0x28, (byte) 0xB5, 0x2F, (byte) 0xFD},                   // zstd
+    };
+
+    private final boolean enabled;
+    private final int level;
+    private final long minSize;
+    private final double maxRatio;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private final AtomicLong compressed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong originalBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong compressNanos = new AtomicLong();
+    private final AtomicLong decompressedBytes = new AtomicLong();
+    private final AtomicLong decompressNanos = new AtomicLong();
+
+    public DocumentCompressor(@Value("${file.compression.enabled:true}") boolean enabled,
+                              @Value("${file.compression.level:6}") int level,
+                              @Value("${file.compression.min-size:4KB}") DataSize minSize,
+                              @Value("${file.compression.max-ratio:0.9}") double maxRatio) {
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("file.compression.level must be between 1 and 9");
+        }
+        this.enabled = enabled;
+        this.level = level;
+        this.minSize = minSize.toBytes();
+        this.maxRatio = maxRatio;
+    }
+
+    /**
+     * Writes a compressed copy of {@code staged} to {@code target} when its content is
+     * compressible. Returns the encoding of the copy, or {@code null} when none was written.
+     */
+    public String compress(Path staged, long size, Path target) throws IOException {
+        if (!enabled || size < minSize) {
+            return null;
+        }
+        long startedAt = cpuTime();
+        if (!isCompressible(staged)) {
+            skipped.incrementAndGet();
+            compressNanos.addAndGet(cpuTime() - startedAt);
+            return null;
+        }
+
+        boolean kept = false;
+        try {
+            try (InputStream in = Files.newInputStream(staged);
+                 OutputStream out = new LeveledGzipOutputStream(Files.newOutputStream(target), level)) {
+                in.transferTo(out);
+            }
+            long storedSize = Files.size(target);
+            compressNanos.addAndGet(cpuTime() - startedAt);
+            if (storedSize > size * maxRatio) {
+                // The sample was not representative; keeping the raw bytes saves decompressing on every read
+                rejected.incrementAndGet();
+                return null;
+            }
+            kept = true;
+            compressed.incrementAndGet();
+            originalBytes.addAndGet(size);
+            compressedBytes.addAndGet(storedSize);
+            log.debug("Compressed upload from {} to {} bytes", size, storedSize);
+            return GZIP;
+        } finally {
+            if (!kept) {
+                Files.deleteIfExists(target);
+            }
+        }
+    }
+
+    /**
+     * Wraps a stream of stored bytes so it yields the original content.
+     */
+    public InputStream decode(InputStream stored, String encoding) throws IOException {
+        if (encoding == null) {
+            return stored;
+        }
+        if (!GZIP.equals(encoding)) {
+            stored.close();
+            throw new IOException("Unsupported content encoding: " + encoding);
+        }
+        return new MeteredInputStream(new GZIPInputStream(stored, BUFFER_SIZE));
+    }
+
+    public Map<String, Object> getStatistics() {
+        long original = originalBytes.get();
+        long stored = compressedBytes.get();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("level", level);
+        statistics.put("compressed", compressed.get());
+        statistics.put("skipped", skipped.get());
+        statistics.put("rejected", rejected.get());
+        statistics.put("originalBytes", original);
+        statistics.put("compressedBytes", stored);
+        statistics.put("savedBytes", original - stored);
+        statistics.put("ratio", original == 0 ? 1.0 : (double) stored / original);
+        statistics.put("compressCpuMillis", compressNanos.get() / 1_000_000);
+        statistics.put("decompressedBytes", decompressedBytes.get());
+        statistics.put("decompressCpuMillis", decompressNanos.get() / 1_000_000);
+        return statistics;
+    }
+
+    private boolean isCompressible(Path staged) throws IOException {
+        byte[] sample = new byte[SAMPLE_SIZE];
+        int length;
+        try (InputStream in = Files.newInputStream(staged)) {
+            length = in.readNBytes(sample, 0, sample.length);
+        }
+        for (byte[] signature : COMPRESSED_SIGNATURES) {
+            if (startsWith(sample, length, signature)) {
+                return false;
+            }
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(sample, 0, length);
+            deflater.finish();
+            byte[] output = new byte[length];
+            int deflated = 0;
+            while (!deflater.finished() && deflated < output.length) {
+                deflated += deflater.deflate(output, deflated, output.length - deflated);
+            }
+            return deflater.finished() && deflated <= length * maxRatio;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static boolean startsWith(byte[] data, int length, byte[] prefix) {
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long cpuTime() {
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
+
+    /**
+     * Counts the inflated bytes and the CPU time spent producing them.
+     */
+    private final class MeteredInputStream extends FilterInputStream {
+        MeteredInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long startedAt = cpuTime();
+            int read = super.read(b, off, len);
+            decompressNanos.addAndGet(cpuTime() - startedAt);
+            if (read > 0) {
+                decompressedBytes.addAndGet(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long startedAt = cpuTime();
+            long skippedBytes = super.skip(n);
+            decompressNanos.addAndGet(cpuTime() - startedAt);
+            decompressedBytes.addAndGet(skippedBytes);
+            return skippedBytes;
+        }
+    }
+}
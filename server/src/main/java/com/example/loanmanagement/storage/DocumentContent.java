@@ -0,0 +1,121 @@
+package com.example.loanmanagement.storage;
+
+import com.example.loanmanagement.entity.LoanDocument;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * A document's metadata together with the size and location of its stored bytes, resolved with a
+ * single lookup so callers can stream the content without reading it into memory.
+ * <p>
+ * Documents stored compressed can be served in either representation: the stored bytes as they
+ * are ({@link #openStream}, with {@link #getEncoding()} as the content encoding), or the original
+ * bytes decompressed on the fly ({@link #openDecodedStream}).
+ */
+public class DocumentContent {
+
+    private final LoanDocument document;
+    private final DocumentStorage storage;
+    private final StoredObject object;
+    private final byte[] cachedData;
+    private final DocumentCompressor compressor;
+
+    public DocumentContent(LoanDocument document, DocumentStorage storage, StoredObject object,
+                           DocumentCompressor compressor) {
+        this(document, storage, object, null, compressor);
+    }
+
+    public DocumentContent(LoanDocument document, DocumentStorage storage, StoredObject object, byte[] cachedData,
+                           DocumentCompressor compressor) {
+        this.document = document;
+        this.storage = storage;
+        this.object = object;
+        this.cachedData = cachedData;
+        this.compressor = compressor;
+    }
+
+    public LoanDocument getDocument() {
+        return document;
+    }
+
+    /**
+     * The local file holding the stored bytes, or {@code null} when they are served from memory or
+     * the storage is not on local disk.
+     */
+    public Path getLocalPath() {
+        return object.getLocalPath();
+    }
+
+    /**
+     * Opens the stored bytes, which are encoded when {@link #getEncoding()} is set.
+     */
+    public InputStream openStream(long offset) throws IOException {
+        if (cachedData != null) {
+            int start = (int) Math.min(offset, cachedData.length);
+            return new ByteArrayInputStream(cachedData, start, cachedData.length - start);
+        }
+        return storage.openStream(object.getKey(), offset);
+    }
+
+    /**
+     * Opens the original bytes, decompressing on the fly when the document is stored compressed.
+     * Seeking into a compressed document inflates and discards everything before {@code offset}.
+     */
+    public InputStream openDecodedStream(long offset) throws IOException {
+        if (getEncoding() == null) {
+            return openStream(offset);
+        }
+        InputStream in = compressor.decode(openStream(0), getEncoding());
+        try {
+            in.skipNBytes(offset);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return in;
+    }
+
+    /**
+     * Encoding of the stored bytes ({@code gzip}), or {@code null} when they are the original bytes.
+     */
+    public String getEncoding() {
+        return document.getContentEncoding();
+    }
+
+    /**
+     * Size of the original content.
+     */
+    public long getSize() {
+        if (getEncoding() != null && document.getFileSize() != null) {
+            return document.getFileSize();
+        }
+        return object.getSize();
+    }
+
+    public long getStoredSize() {
+        return object.getSize();
+    }
+
+    public long getLastModified() {
+        return object.getLastModified();
+    }
+
+    public String getETag() {
+        if (document.getContentHash() != null) {
+            return "\"" + document.getContentHash() + "\"";
+        }
+        return "\"" + document.getId() + "-" + Long.toHexString(getSize()) + "-" + Long.toHexString(getLastModified()) + "\"";
+    }
+
+    /**
+     * Entity tag of the stored, encoded representation; it must differ from {@link #getETag()}
+     * because the bytes differ.
+     */
+    public String getEncodedETag() {
+        String eTag = getETag();
+        return eTag.substring(0, eTag.length() - 1) + "-" + getEncoding() + "\"";
+    }
+}
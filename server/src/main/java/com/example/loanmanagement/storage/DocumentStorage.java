@@ -0,0 +1,62 @@
+package com.example.loanmanagement.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Backend that holds document bytes under flat, opaque keys (content hashes, or the generated file
+ * names of uploads from before content addressing). Implementations are safe for concurrent use.
+ */
+public interface DocumentStorage {
+
+    /**
+     * Moves a fully written local file into storage under {@code key}. If the key already exists the
+     * stored object is kept. The source file is removed on success and left in place on failure.
+     */
+    void put(String key, Path source) throws IOException;
+
+    /**
+     * Returns the object's metadata, or {@code null} when the key does not exist.
+     */
+    StoredObject stat(String key) throws IOException;
+
+    /**
+     * Opens the object positioned at {@code offset}.
+     *
+     * @throws NoSuchFileException when the key does not exist
+     */
+    InputStream openStream(String key, long offset) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * All stored keys in ascending order. The stream must be closed.
+     */
+    Stream<String> keys() throws IOException;
+
+    /**
+     * Moves the object out of the live key space: it no longer appears in lookups or {@link #keys()}
+     * until {@link #restore} is called. Quarantined objects report the time they were quarantined
+     * as their last modification.
+     */
+    void quarantine(String key) throws IOException;
+
+    /**
+     * Quarantined objects. The stream must be closed.
+     */
+    Stream<StoredObject> quarantined() throws IOException;
+
+    void restore(String key) throws IOException;
+
+    void purgeQuarantined(String key) throws IOException;
+
+    static void checkKey(String key) {
+        if (key == null || key.isEmpty() || key.startsWith(".")
+                || key.indexOf('/') >= 0 || key.indexOf('\\') >= 0 || key.indexOf('\0') >= 0) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.loanmanagement.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Moves files out of the old flat upload directory into the configured {@link DocumentStorage}
+ * while the application keeps serving. Database rows need no update: documents are looked up by
+ * key (content hash, or the file name of older uploads), and {@link MigratingDocumentStorage}
+ * finds them in either place until the move is done.
+ * <p>
+ * Runs in a background thread, started from the admin API or at startup with
+ * {@code file.storage.migrate-on-startup}. The flat directory is read lazily, a batch of
+ * {@value #BATCH_SIZE} names at a time, so its size does not matter. Files that fail to move stay
+ * where they are and are picked up by the next run.
+ */
+@Slf4j
+@Component
+public class DocumentStorageMigrator {
+
+    private static final int BATCH_SIZE = 1000;
+
+    // The storage is created lazily, and a lazy proxy would hide that it is a MigratingDocumentStorage
+    private final ObjectProvider<DocumentStorage> storage;
+    private final boolean migrateOnStartup;
+    private final Duration pause;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong moved = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long remaining;
+    private volatile OffsetDateTime startedAt;
+    private volatile OffsetDateTime finishedAt;
+
+    public DocumentStorageMigrator(ObjectProvider<DocumentStorage> storage,
+                                   @Value("${file.storage.migrate-on-startup:false}") boolean migrateOnStartup,
+                                   @Value("${file.storage.migration.pause:0ms}") Duration pause) {
+        this.storage = storage;
+        this.migrateOnStartup = migrateOnStartup;
+        this.pause = pause;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (migrateOnStartup) {
+            start();
+        }
+    }
+
+    /**
+     * Starts a run unless one is already in progress. Returns whether a new run was started.
+     */
+    public boolean start() {
+        if (!(storage.getObject() instanceof MigratingDocumentStorage migrating)) {
+            return false;
+        }
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        startedAt = OffsetDateTime.now();
+        finishedAt = null;
+        moved.set(0);
+        failed.set(0);
+        Thread thread = new Thread(() -> run(migrating), "storage-migration");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running.get());
+        status.put("moved", moved.get());
+        status.put("failed", failed.get());
+        status.put("remaining", remaining);
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", finishedAt);
+        return status;
+    }
+
+    private void run(MigratingDocumentStorage migrating) {
+        try {
+            try (Stream<Path> files = migrating.legacyFiles()) {
+                remaining = files.count();
+            }
+            log.info("Migrating {} files from {} into the document storage", remaining, migrating.getLegacyDir());
+            // Failed files stay in the flat directory; remembered so the next batch does not return them again
+            Set<Path> failedFiles = new HashSet<>();
+            List<Path> batch;
+            while (!(batch = nextBatch(migrating, failedFiles)).isEmpty()) {
+                for (Path file : batch) {
+                    if (!migrate(migrating.getTarget(), file)) {
+                        failedFiles.add(file);
+                    }
+                    remaining = Math.max(remaining - 1, 0);
+                    if (!pause.isZero()) {
+                        Thread.sleep(pause.toMillis());
+                    }
+                }
+            }
+            log.info("Document storage migration finished: {} moved, {} failed", moved.get(), failed.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            log.error("Document storage migration aborted. Error: {}", e.getMessage());
+        } finally {
+            finishedAt = OffsetDateTime.now();
+            running.set(false);
+        }
+    }
+
+    /**
+     * Re-reads the directory for each batch: moving files out of a directory while iterating over it
+     * may skip or repeat entries.
+     */
+    private static List<Path> nextBatch(MigratingDocumentStorage migrating, Set<Path> failedFiles) throws IOException {
+        try (Stream<Path> files = migrating.legacyFiles()) {
+            return files.filter(file -> !failedFiles.contains(file)).limit(BATCH_SIZE).toList();
+        }
+    }
+
+    private boolean migrate(DocumentStorage target, Path file) {
+        String key = file.getFileName().toString();
+        try {
+            // put() removes the flat copy only once the target holds the bytes
+            target.put(key, file);
+            moved.incrementAndGet();
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            failed.incrementAndGet();
+            log.warn("Failed to migrate {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+}
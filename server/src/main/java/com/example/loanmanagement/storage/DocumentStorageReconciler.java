@@ -0,0 +1,340 @@
+package com.example.loanmanagement.storage;
+
+import com.example.loanmanagement.entity.DocumentBlob;
+import com.example.loanmanagement.entity.LoanDocument;
+import com.example.loanmanagement.repository.DocumentBlobRepository;
+import com.example.loanmanagement.repository.LoanDocumentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Finds stored objects without a database row and rows without a stored object.
+ * <p>
+ * The storage listing and the referenced keys (blob hashes from {@code document_blobs}, file names
+ * of older uploads from {@code loan_documents}) are both read in ascending key order, a page at a
+ * time, and merge-joined, so neither side is ever loaded into memory. Orphaned objects older than
+ * {@code file.reconciler.grace} are quarantined; after {@code file.reconciler.retention} they are
+ * purged, or restored if a row has appeared for them in the meantime. Every destructive step
+ * re-checks the database for the single key first, so a listing that is stale or ordered
+ * differently by the database can cost a missed orphan, never a live file: keys that arrive out
+ * of ascending {@link String} order are logged, counted and skipped.
+ * <p>
+ * Rows without an object cannot be repaired here; they are counted and logged. Blob rows left at a
+ * zero reference count by a failed purge are purged.
+ * <p>
+ * Work is paced to {@code file.reconciler.keys-per-second} so a run does not compete with live I/O.
+ */
+@Slf4j
+@Component
+public class DocumentStorageReconciler {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final DocumentStorage storage;
+    private final DocumentBlobRepository blobRepository;
+    private final LoanDocumentRepository documentRepository;
+    private final ContentAddressedDocumentStore documentStore;
+    private final Duration grace;
+    private final Duration retention;
+    private final long intervalNanos;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong quarantined = new AtomicLong();
+    private final AtomicLong missing = new AtomicLong();
+    private final AtomicLong purged = new AtomicLong();
+    private final AtomicLong restored = new AtomicLong();
+    private final AtomicLong outOfOrder = new AtomicLong();
+    private volatile OffsetDateTime startedAt;
+    private volatile OffsetDateTime finishedAt;
+    private volatile String lastError;
+    private long nextPermitNanos;
+
+    public DocumentStorageReconciler(@Lazy DocumentStorage storage,
+                                     DocumentBlobRepository blobRepository,
+                                     LoanDocumentRepository documentRepository,
+                                     ContentAddressedDocumentStore documentStore,
+                                     @Value("${file.reconciler.grace:1h}") Duration grace,
+                                     @Value("${file.reconciler.retention:7d}") Duration retention,
+                                     @Value("${file.reconciler.keys-per-second:200}") int keysPerSecond) {
+        this.storage = storage;
+        this.blobRepository = blobRepository;
+        this.documentRepository = documentRepository;
+        this.documentStore = documentStore;
+        this.grace = grace;
+        this.retention = retention;
+        this.intervalNanos = keysPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / keysPerSecond : 0;
+    }
+
+    @Scheduled(cron = "${file.reconciler.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        // A paced run can take hours; on the scheduler thread it would hold up every other scheduled task
+        if (!start()) {
+            log.info("Storage reconciliation still running; skipped the scheduled run");
+        }
+    }
+
+    /**
+     * Starts a run in the background unless one is already in progress. Returns whether a new run was started.
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(this::run, "storage-reconciler");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running.get());
+        status.put("scanned", scanned.get());
+        status.put("quarantined", quarantined.get());
+        status.put("missing", missing.get());
+        status.put("purged", purged.get());
+        status.put("restored", restored.get());
+        status.put("outOfOrder", outOfOrder.get());
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", finishedAt);
+        status.put("lastError", lastError);
+        return status;
+    }
+
+    private void run() {
+        startedAt = OffsetDateTime.now();
+        finishedAt = null;
+        lastError = null;
+        scanned.set(0);
+        quarantined.set(0);
+        missing.set(0);
+        purged.set(0);
+        restored.set(0);
+        outOfOrder.set(0);
+        try {
+            Instant cutoff = Instant.now().minus(grace);
+            normalizeLegacyPaths();
+            reconcile(cutoff.toEpochMilli());
+            purgeQuarantine(Instant.now().minus(retention).toEpochMilli());
+            int staging = documentStore.purgeStaleStagingFiles(cutoff);
+            log.info("Storage reconciliation finished: {} keys scanned, {} quarantined, {} purged, {} restored, "
+                    + "{} missing, {} out of order, {} stale staging files removed",
+                    scanned.get(), quarantined.get(), purged.get(), restored.get(), missing.get(), outOfOrder.get(), staging);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            lastError = e.getMessage();
+            log.error("Storage reconciliation aborted. Error: {}", e.getMessage());
+        } finally {
+            finishedAt = OffsetDateTime.now();
+            running.set(false);
+        }
+    }
+
+    /**
+     * Older uploads stored the full file path; reduce it to the storage key so the rows sort by key.
+     */
+    private void normalizeLegacyPaths() {
+        List<LoanDocument> page;
+        while (!(page = documentRepository.findTop500ByContentHashIsNullAndFilePathContaining("/")).isEmpty()) {
+            for (LoanDocument document : page) {
+                document.setFilePath(Paths.get(document.getFilePath()).getFileName().toString());
+            }
+            documentRepository.saveAll(page);
+        }
+    }
+
+    private void reconcile(long cutoffMillis) throws IOException, InterruptedException {
+        Cursor<DocumentBlob> blobs = new Cursor<>("document_blobs", DocumentBlob::getContentHash,
+                after -> blobRepository.findTop500ByContentHashGreaterThanOrderByContentHashAsc(after));
+        Cursor<LoanDocument> legacy = new Cursor<>("loan_documents", LoanDocument::getFilePath,
+                after -> documentRepository.findTop500ByContentHashIsNullAndFilePathGreaterThanOrderByFilePathAsc(after));
+
+        try (Stream<String> keys = storage.keys()) {
+            Cursor<String> stored = new Cursor<>("storage", keys.iterator());
+            while (stored.peek() != null || blobs.peek() != null || legacy.peek() != null) {
+                pace();
+                scanned.incrementAndGet();
+                String storedKey = stored.peekKey();
+                boolean blobFirst = legacy.peekKey() == null
+                        || (blobs.peekKey() != null && blobs.peekKey().compareTo(legacy.peekKey()) <= 0);
+                Cursor<?> rows = blobFirst ? blobs : legacy;
+                String rowKey = rows.peekKey();
+
+                int order = storedKey == null ? 1 : rowKey == null ? -1 : storedKey.compareTo(rowKey);
+                if (order < 0) {
+                    handleOrphan(stored.next(), cutoffMillis);
+                } else if (order > 0) {
+                    handleMissingObject(rows.next(), cutoffMillis);
+                } else {
+                    stored.next();
+                    Object row = rows.next();
+                    if (row instanceof DocumentBlob blob) {
+                        purgeIfUnreferenced(blob, cutoffMillis);
+                    }
+                }
+            }
+        }
+    }
+
+    private void handleOrphan(String key, long cutoffMillis) throws IOException {
+        StoredObject object = storage.stat(key);
+        // Gone since the listing, or young enough to belong to an upload that has not committed yet
+        if (object == null || object.getLastModified() > cutoffMillis || isReferenced(key)) {
+            return;
+        }
+        storage.quarantine(key);
+        quarantined.incrementAndGet();
+        log.info("Quarantined orphaned object {} ({} bytes)", key, object.getSize());
+    }
+
+    private void handleMissingObject(Object row, long cutoffMillis) throws IOException {
+        if (row instanceof DocumentBlob blob) {
+            if (blob.getRefCount() == 0) {
+                purgeIfUnreferenced(blob, cutoffMillis);
+                return;
+            }
+            if (storage.stat(blob.getContentHash()) == null) {
+                missing.incrementAndGet();
+                log.warn("Blob {} has {} references but no stored object", blob.getContentHash(), blob.getRefCount());
+            }
+        } else {
+            LoanDocument document = (LoanDocument) row;
+            if (storage.stat(document.getFilePath()) == null) {
+                missing.incrementAndGet();
+                log.warn("Document {} ({}) has no stored object", document.getId(), document.getFileName());
+            }
+        }
+    }
+
+    private void purgeIfUnreferenced(DocumentBlob blob, long cutoffMillis) {
+        if (blob.getRefCount() == 0 && blob.getCreatedAt().toInstant().toEpochMilli() < cutoffMillis) {
+            documentStore.purgeIfUnreferenced(blob.getContentHash());
+            purged.incrementAndGet();
+        }
+    }
+
+    private void purgeQuarantine(long cutoffMillis) throws IOException, InterruptedException {
+        List<StoredObject> expired;
+        try (Stream<StoredObject> objects = storage.quarantined()) {
+            expired = objects.filter(object -> object.getLastModified() < cutoffMillis).toList();
+        }
+        for (StoredObject object : expired) {
+            pace();
+            if (isReferenced(object.getKey())) {
+                storage.restore(object.getKey());
+                restored.incrementAndGet();
+                log.warn("Restored quarantined object {}: it is referenced again", object.getKey());
+            } else {
+                storage.purgeQuarantined(object.getKey());
+                purged.incrementAndGet();
+                log.info("Purged quarantined object {} ({} bytes)", object.getKey(), object.getSize());
+            }
+        }
+    }
+
+    private boolean isReferenced(String key) {
+        return blobRepository.existsById(key) || documentRepository.existsByContentHashIsNullAndFilePath(key);
+    }
+
+    private void pace() throws InterruptedException {
+        if (intervalNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long wait = nextPermitNanos - now;
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        nextPermitNanos = Math.max(nextPermitNanos, now) + intervalNanos;
+    }
+
+    /**
+     * Peekable, ascending sequence of rows or keys. Database-backed cursors fetch the next page by
+     * key (keyset pagination), so they never hold more than one page. Pages continue after the last
+     * key fetched, in the database's order; a key that is not above the previous one in
+     * {@link String} order is skipped, so the merge-join above only ever sees ascending keys.
+     */
+    private final class Cursor<T> {
+        private final String source;
+        private final Function<T, String> keyOf;
+        private final Function<String, List<T>> fetch;
+        private Iterator<T> page;
+        private T next;
+        private String lastKey = "";
+        private String fetchAfter = "";
+        private boolean lastPage;
+        private boolean exhausted;
+
+        @SuppressWarnings("unchecked")
+        Cursor(String source, Iterator<T> keys) {
+            this.source = source;
+            this.keyOf = value -> (String) value;
+            this.fetch = null;
+            this.page = keys;
+        }
+
+        Cursor(String source, Function<T, String> keyOf, Function<String, List<T>> fetch) {
+            this.source = source;
+            this.keyOf = keyOf;
+            this.fetch = fetch;
+        }
+
+        T peek() {
+            while (next == null && !exhausted) {
+                if ((page == null || !page.hasNext()) && fetch != null && !lastPage) {
+                    List<T> rows = fetch.apply(fetchAfter);
+                    lastPage = rows.size() < PAGE_SIZE;
+                    if (!rows.isEmpty()) {
+                        fetchAfter = keyOf.apply(rows.get(rows.size() - 1));
+                    }
+                    page = rows.iterator();
+                }
+                if (page == null || !page.hasNext()) {
+                    exhausted = true;
+                    break;
+                }
+                T candidate = page.next();
+                String key = keyOf.apply(candidate);
+                if (key.compareTo(lastKey) <= 0) {
+                    outOfOrder.incrementAndGet();
+                    log.warn("Skipped key {} from {}: listed after {}", key, source, lastKey);
+                    continue;
+                }
+                next = candidate;
+                lastKey = key;
+            }
+            return next;
+        }
+
+        String peekKey() {
+            T value = peek();
+            return value == null ? null : keyOf.apply(value);
+        }
+
+        T next() {
+            T value = peek();
+            next = null;
+            return value;
+        }
+    }
+}
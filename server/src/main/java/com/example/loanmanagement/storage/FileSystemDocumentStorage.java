@@ -0,0 +1,167 @@
+package com.example.loanmanagement.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Stores each object at {@code <root>/<k0k1>/<k2k3>/<key>}, two levels of fan-out taken from the
+ * key prefix. With hex content hashes that gives 65,536 leaf directories, keeping each one small.
+ * Because the directories are key prefixes, walking them in name order lists the keys in order.
+ */
+public class FileSystemDocumentStorage implements DocumentStorage {
+
+    private static final int SHARD_WIDTH = 2;
+    private static final String QUARANTINE_DIR = "quarantine";
+
+    private final Path root;
+
+    public FileSystemDocumentStorage(Path root) {
+        this.root = root;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    Path resolve(String key) {
+        DocumentStorage.checkKey(key);
+        if (key.length() <= 2 * SHARD_WIDTH) {
+            throw new IllegalArgumentException("Storage key too short: " + key);
+        }
+        return root.resolve(key.substring(0, SHARD_WIDTH))
+                .resolve(key.substring(SHARD_WIDTH, 2 * SHARD_WIDTH))
+                .resolve(key);
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        Path target = resolve(key);
+        if (Files.exists(target)) {
+            Files.deleteIfExists(source);
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Lost a race against another writer of the same key
+            Files.deleteIfExists(source);
+        }
+    }
+
+    @Override
+    public StoredObject stat(String key) throws IOException {
+        Path path = resolve(key);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new StoredObject(key, attributes.size(), attributes.lastModifiedTime().toMillis(), path);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public InputStream openStream(String key, long offset) throws IOException {
+        FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ);
+        channel.position(offset);
+        return Channels.newInputStream(channel);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public Stream<String> keys() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+        // Shard directories are listed one at a time, so memory stays bounded by the largest shard
+        return sortedChildren(root, true).stream()
+                .filter(FileSystemDocumentStorage::isShard)
+                .flatMap(first -> uncheckedChildren(first, true).stream().filter(FileSystemDocumentStorage::isShard))
+                .flatMap(second -> uncheckedChildren(second, false).stream())
+                .map(path -> path.getFileName().toString());
+    }
+
+    @Override
+    public void quarantine(String key) throws IOException {
+        Path quarantined = quarantinePath(key);
+        Files.createDirectories(quarantined.getParent());
+        Files.move(resolve(key), quarantined, StandardCopyOption.ATOMIC_MOVE);
+        Files.setLastModifiedTime(quarantined, FileTime.from(Instant.now()));
+    }
+
+    @Override
+    public Stream<StoredObject> quarantined() throws IOException {
+        Path directory = root.resolve(QUARANTINE_DIR);
+        if (!Files.isDirectory(directory)) {
+            return Stream.empty();
+        }
+        List<StoredObject> objects = new ArrayList<>();
+        for (Path path : sortedChildren(directory, false)) {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            objects.add(new StoredObject(path.getFileName().toString(), attributes.size(),
+                    attributes.lastModifiedTime().toMillis(), path));
+        }
+        return objects.stream();
+    }
+
+    @Override
+    public void restore(String key) throws IOException {
+        put(key, quarantinePath(key));
+    }
+
+    @Override
+    public void purgeQuarantined(String key) throws IOException {
+        Files.deleteIfExists(quarantinePath(key));
+    }
+
+    private Path quarantinePath(String key) {
+        DocumentStorage.checkKey(key);
+        return root.resolve(QUARANTINE_DIR).resolve(key);
+    }
+
+    // Skips the staging directory and anything else that is not part of the layout
+    private static boolean isShard(Path directory) {
+        return directory.getFileName().toString().length() == SHARD_WIDTH;
+    }
+
+    private static List<Path> uncheckedChildren(Path directory, boolean directories) {
+        try {
+            return sortedChildren(directory, directories);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Path> sortedChildren(Path directory, boolean directories) throws IOException {
+        List<Path> children = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path child : stream) {
+                if (directories ? Files.isDirectory(child) : Files.isRegularFile(child)) {
+                    children.add(child);
+                }
+            }
+        }
+        children.sort(null);
+        return children;
+    }
+}
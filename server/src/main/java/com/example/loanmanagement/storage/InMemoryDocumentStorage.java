@@ -0,0 +1,93 @@
+package com.example.loanmanagement.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps objects on the heap. Meant for tests and throwaway local runs, not for real documents.
+ */
+public class InMemoryDocumentStorage implements DocumentStorage {
+
+    private final ConcurrentSkipListMap<String, Entry> objects = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Entry> quarantine = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        DocumentStorage.checkKey(key);
+        if (!objects.containsKey(key)) {
+            objects.putIfAbsent(key, new Entry(Files.readAllBytes(source), System.currentTimeMillis()));
+        }
+        Files.deleteIfExists(source);
+    }
+
+    @Override
+    public StoredObject stat(String key) {
+        Entry entry = objects.get(key);
+        return entry == null ? null : new StoredObject(key, entry.data.length, entry.lastModified, null);
+    }
+
+    @Override
+    public InputStream openStream(String key, long offset) throws IOException {
+        Entry entry = objects.get(key);
+        if (entry == null) {
+            throw new NoSuchFileException(key);
+        }
+        int start = (int) Math.min(offset, entry.data.length);
+        return new ByteArrayInputStream(entry.data, start, entry.data.length - start);
+    }
+
+    @Override
+    public void delete(String key) {
+        objects.remove(key);
+    }
+
+    @Override
+    public Stream<String> keys() {
+        return objects.keySet().stream();
+    }
+
+    @Override
+    public void quarantine(String key) throws IOException {
+        Entry entry = objects.remove(key);
+        if (entry == null) {
+            throw new NoSuchFileException(key);
+        }
+        quarantine.put(key, new Entry(entry.data, System.currentTimeMillis()));
+    }
+
+    @Override
+    public Stream<StoredObject> quarantined() {
+        return quarantine.entrySet().stream()
+                .map(entry -> new StoredObject(entry.getKey(), entry.getValue().data.length, entry.getValue().lastModified, null));
+    }
+
+    @Override
+    public void restore(String key) throws IOException {
+        Entry entry = quarantine.remove(key);
+        if (entry == null) {
+            throw new NoSuchFileException(key);
+        }
+        objects.putIfAbsent(key, entry);
+    }
+
+    @Override
+    public void purgeQuarantined(String key) {
+        quarantine.remove(key);
+    }
+
+    private static final class Entry {
+        private final byte[] data;
+        private final long lastModified;
+
+        Entry(byte[] data, long lastModified) {
+            this.data = data;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.loanmanagement.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.stream.Stream;
+
+/**
+ * Serves a {@link DocumentStorage} while files from the old flat upload directory are still being
+ * moved into it by {@link DocumentStorageMigrator}. New objects only go to the target; reads fall
+ * back to the flat directory for keys that have not been moved yet.
+ * <p>
+ * Lookups try the target, then the flat directory, then the target again: a file is only ever moved
+ * from the flat directory to the target, so a reader racing the migrator always finds it in one of
+ * the three places.
+ * <p>
+ * {@link #keys()} lists the target only. The flat directory can hold millions of files in no
+ * particular order, and sorting them would mean holding every name; its files are listed once the
+ * migrator has moved them, and until then the reconciler merely misses orphans among them.
+ */
+public class MigratingDocumentStorage implements DocumentStorage {
+
+    private final DocumentStorage target;
+    private final Path legacyDir;
+
+    public MigratingDocumentStorage(DocumentStorage target, Path legacyDir) {
+        this.target = target;
+        this.legacyDir = legacyDir;
+    }
+
+    public DocumentStorage getTarget() {
+        return target;
+    }
+
+    public Path getLegacyDir() {
+        return legacyDir;
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        target.put(key, source);
+    }
+
+    @Override
+    public StoredObject stat(String key) throws IOException {
+        StoredObject object = target.stat(key);
+        if (object != null) {
+            return object;
+        }
+        Path legacy = legacyPath(key);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(legacy, BasicFileAttributes.class);
+            if (attributes.isRegularFile()) {
+                return new StoredObject(key, attributes.size(), attributes.lastModifiedTime().toMillis(), legacy);
+            }
+        } catch (NoSuchFileException e) {
+            // Not in the flat directory either, or moved while we looked
+        }
+        return target.stat(key);
+    }
+
+    @Override
+    public InputStream openStream(String key, long offset) throws IOException {
+        try {
+            return target.openStream(key, offset);
+        } catch (NoSuchFileException e) {
+            // Fall through to the flat directory
+        }
+        try {
+            InputStream in = Files.newInputStream(legacyPath(key));
+            in.skipNBytes(offset);
+            return in;
+        } catch (NoSuchFileException e) {
+            return target.openStream(key, offset);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        // Flat copy first: a concurrent move then either fails or leaves the file for the target delete
+        Files.deleteIfExists(legacyPath(key));
+        target.delete(key);
+    }
+
+    @Override
+    public Stream<String> keys() throws IOException {
+        return target.keys();
+    }
+
+    @Override
+    public void quarantine(String key) throws IOException {
+        // An orphan still in the flat directory joins the target first, so quarantine lives in one place
+        Path legacy = legacyPath(key);
+        if (Files.isRegularFile(legacy)) {
+            target.put(key, legacy);
+        }
+        target.quarantine(key);
+    }
+
+    @Override
+    public Stream<StoredObject> quarantined() throws IOException {
+        return target.quarantined();
+    }
+
+    @Override
+    public void restore(String key) throws IOException {
+        target.restore(key);
+    }
+
+    @Override
+    public void purgeQuarantined(String key) throws IOException {
+        target.purgeQuarantined(key);
+    }
+
+    /**
+     * Regular files directly in the flat directory, i.e. the files still waiting to be migrated, read
+     * lazily in directory order. The stream must be closed.
+     */
+    Stream<Path> legacyFiles() throws IOException {
+        if (!Files.isDirectory(legacyDir)) {
+            return Stream.empty();
+        }
+        return Files.list(legacyDir).filter(Files::isRegularFile);
+    }
+
+    private Path legacyPath(String key) {
+        DocumentStorage.checkKey(key);
+        return legacyDir.resolve(key);
+    }
+}
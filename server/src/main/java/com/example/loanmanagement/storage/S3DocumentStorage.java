@@ -0,0 +1,152 @@
+package com.example.loanmanagement.storage;
+
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Stores objects in an S3 bucket under {@code prefix}. Works against any S3-compatible server
+ * (MinIO, Ceph, LocalStack) when the client is built with an endpoint override and path-style access.
+ * Ranged downloads are served with ranged GETs, so large documents are never buffered.
+ */
+public class S3DocumentStorage implements DocumentStorage {
+
+    private static final int NOT_FOUND = 404;
+    private static final String QUARANTINE_PREFIX = "quarantine/";
+
+    private final S3Client client;
+    private final String bucket;
+    private final String prefix;
+
+    public S3DocumentStorage(S3Client client, String bucket, String prefix) {
+        this.client = client;
+        this.bucket = bucket;
+        this.prefix = prefix == null ? "" : prefix;
+    }
+
+    private String objectKey(String key) {
+        DocumentStorage.checkKey(key);
+        return prefix + key;
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        try {
+            // Keys are content hashes or unique names, so an existing object already holds these bytes
+            if (stat(key) == null) {
+                client.putObject(builder -> builder.bucket(bucket).key(objectKey(key)), RequestBody.fromFile(source));
+            }
+        } catch (SdkException e) {
+            throw new IOException("Failed to store object " + key + ": " + e.getMessage(), e);
+        }
+        Files.deleteIfExists(source);
+    }
+
+    @Override
+    public StoredObject stat(String key) throws IOException {
+        try {
+            HeadObjectResponse head = client.headObject(builder -> builder.bucket(bucket).key(objectKey(key)));
+            return new StoredObject(key, head.contentLength(), head.lastModified().toEpochMilli(), null);
+        } catch (NoSuchKeyException e) {
+            return null;
+        } catch (S3Exception e) {
+            // HEAD responses carry no body, so a missing key usually arrives as a bare 404
+            if (e.statusCode() == NOT_FOUND) {
+                return null;
+            }
+            throw new IOException("Failed to stat object " + key + ": " + e.getMessage(), e);
+        } catch (SdkException e) {
+            throw new IOException("Failed to stat object " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream openStream(String key, long offset) throws IOException {
+        GetObjectRequest.Builder request = GetObjectRequest.builder().bucket(bucket).key(objectKey(key));
+        if (offset > 0) {
+            request.range("bytes=" + offset + "-");
+        }
+        try {
+            return client.getObject(request.build());
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(key);
+        } catch (SdkException e) {
+            throw new IOException("Failed to read object " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            client.deleteObject(builder -> builder.bucket(bucket).key(objectKey(key)));
+        } catch (SdkException e) {
+            throw new IOException("Failed to delete object " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Stream<String> keys() {
+        // ListObjectsV2 returns keys in ascending order, a page at a time
+        // The delimiter keeps the quarantine folder below the prefix out of the listing
+        return client.listObjectsV2Paginator(builder -> builder.bucket(bucket).prefix(prefix).delimiter("/"))
+                .contents()
+                .stream()
+                .map(S3Object::key)
+                .map(objectKey -> objectKey.substring(prefix.length()));
+    }
+
+    @Override
+    public void quarantine(String key) throws IOException {
+        // A copy gets a fresh LastModified, which is what the quarantine retention is measured from
+        move(objectKey(key), prefix + QUARANTINE_PREFIX + key);
+    }
+
+    @Override
+    public Stream<StoredObject> quarantined() {
+        String quarantinePrefix = prefix + QUARANTINE_PREFIX;
+        return client.listObjectsV2Paginator(builder -> builder.bucket(bucket).prefix(quarantinePrefix))
+                .contents()
+                .stream()
+                .map(object -> new StoredObject(object.key().substring(quarantinePrefix.length()),
+                        object.size(), object.lastModified().toEpochMilli(), null));
+    }
+
+    @Override
+    public void restore(String key) throws IOException {
+        move(prefix + QUARANTINE_PREFIX + key, objectKey(key));
+    }
+
+    @Override
+    public void purgeQuarantined(String key) throws IOException {
+        DocumentStorage.checkKey(key);
+        try {
+            client.deleteObject(builder -> builder.bucket(bucket).key(prefix + QUARANTINE_PREFIX + key));
+        } catch (SdkException e) {
+            throw new IOException("Failed to delete quarantined object " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void move(String from, String to) throws IOException {
+        try {
+            client.copyObject(builder -> builder.sourceBucket(bucket).sourceKey(from)
+                    .destinationBucket(bucket).destinationKey(to));
+            client.deleteObject(builder -> builder.bucket(bucket).key(from));
+        } catch (NoSuchKeyException e) {
+            throw new NoSuchFileException(from);
+        } catch (SdkException e) {
+            throw new IOException("Failed to move object " + from + " to " + to + ": " + e.getMessage(), e);
+        }
+    }
+}
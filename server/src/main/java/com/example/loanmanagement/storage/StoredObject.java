@@ -0,0 +1,38 @@
+package com.example.loanmanagement.storage;
+
+import java.nio.file.Path;
+
+/**
+ * Metadata of an object in {@link DocumentStorage}. {@code localPath} is set when the bytes sit in
+ * a local file, so downloads can hand it to sendfile instead of copying through the heap.
+ */
+public class StoredObject {
+
+    private final String key;
+    private final long size;
+    private final long lastModified;
+    private final Path localPath;
+
+    public StoredObject(String key, long size, long lastModified, Path localPath) {
+        this.key = key;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.localPath = localPath;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public Path getLocalPath() {
+        return localPath;
+    }
+}
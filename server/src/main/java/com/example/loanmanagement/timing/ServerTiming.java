@@ -0,0 +1,112 @@
+package com.example.loanmanagement.timing;
+
+import java.util.Locale;
+
+/**
+ * Per-request accumulator of the time spent in each {@link Phase}, reported in the
+ * {@code Server-Timing} header and the access log. Recording is a thread-local lookup and a clock
+ * read, and does nothing on threads without a request.
+ */
+public final class ServerTiming {
+
+    public enum Phase {
+        AUTH("auth", "JWT and password checks"),
+        DB("db", "SQL statements"),
+        EMI("emi", "EMI schedule calculation"),
+        MAIL("mail", "Email sends"),
+        IO("io", "Document storage operations");
+
+        private final String metric;
+        private final String description;
+
+        Phase(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    public enum Level {
+        OFF, SUMMARY, DETAIL
+    }
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startedAt = System.nanoTime();
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+
+    private ServerTiming() {
+    }
+
+    public static ServerTiming begin() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The start of a phase for {@link #record(Phase, long)}, or 0 outside a request.
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0 : System.nanoTime();
+    }
+
+    public static void record(Phase phase, long start) {
+        if (start != 0) {
+            recordNanos(phase, System.nanoTime() - start);
+        }
+    }
+
+    public static void recordNanos(Phase phase, long elapsed) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.nanos[phase.ordinal()] += elapsed;
+            timing.counts[phase.ordinal()]++;
+        }
+    }
+
+    /**
+     * The {@code Server-Timing} value: phases that ran, then the total so far. {@code DETAIL} adds
+     * what each phase covers and how often it ran.
+     */
+    public String header(Level level) {
+        StringBuilder header = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            header.append(phase.metric).append(";dur=").append(millis(nanos[phase.ordinal()]));
+            if (level == Level.DETAIL) {
+                header.append(";desc=\"").append(phase.description).append(": ")
+                        .append(count).append('"');
+            }
+            header.append(", ");
+        }
+        return header.append("total;dur=").append(millis(System.nanoTime() - startedAt)).toString();
+    }
+
+    /**
+     * The phases as {@code key=value} pairs for the access log, with counts at {@code DETAIL}.
+     */
+    public String fields(Level level) {
+        StringBuilder fields = new StringBuilder(128);
+        fields.append("total=").append(millis(System.nanoTime() - startedAt));
+        for (Phase phase : PHASES) {
+            fields.append(' ').append(phase.metric).append('=').append(millis(nanos[phase.ordinal()]));
+            if (level == Level.DETAIL) {
+                fields.append(' ').append(phase.metric).append("_count=").append(counts[phase.ordinal()]);
+            }
+        }
+        return fields.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.loanmanagement.warmup;
+
+import com.example.loanmanagement.dto.AuthResponse;
+import com.example.loanmanagement.dto.LoanApplicationRequest;
+import com.example.loanmanagement.entity.EmiSchedule;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.LoanStatus;
+import com.example.loanmanagement.entity.enums.PaymentStatus;
+import com.example.loanmanagement.entity.enums.Role;
+import com.example.loanmanagement.entity.id.UuidV7Generator;
+import com.example.loanmanagement.repository.EmiScheduleRepository;
+import com.example.loanmanagement.repository.LoanApplicationRepository;
+import com.example.loanmanagement.repository.LoanDocumentRepository;
+import com.example.loanmanagement.repository.UserRepository;
+import com.example.loanmanagement.service.JwtService;
+import com.example.loanmanagement.service.LoanService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the paths every request takes, on synthetic data, before the application reports itself
+ * ready, so the first requests after a deploy do not pay for the interpreter and the JIT:
+ * JWT issue and verification, Jackson for loans, EMI schedules and application requests, the EMI
+ * arithmetic, and the Hibernate queries behind the schedule, payment and download endpoints.
+ * <p>
+ * Application runners finish before Spring Boot switches readiness to accepting traffic, so
+ * {@code /actuator/health/readiness} stays down until the warm-up is over. It stops after
+ * {@code warmup.iterations} rounds or {@code warmup.budget}, whichever comes first. Nothing is
+ * written to the database and no mail is sent; the queries look up ids that do not exist, in
+ * read-only transactions that a replica serves when there is one.
+ * <p>
+ * Services are called on their targets, which keeps the warm-up out of their timers and of the SQL
+ * accounting. The queries ignore the second-level cache, whose hit and miss counts would otherwise
+ * start every deploy with thousands of misses. Connection pool metrics do include the warm-up.
+ */
+@Slf4j
+public class WarmUp implements ApplicationRunner {
+
+    private static final int[] TENURES = {60, 120, 180, 240, 300, 360};
+
+    private final JwtService jwtService;
+    private final LoanService loanService;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final LoanApplicationRepository loanRepository;
+    private final EmiScheduleRepository emiRepository;
+    private final LoanDocumentRepository documentRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate readOnly;
+    private final int iterations;
+    private final Duration budget;
+
+    private volatile int completedIterations;
+    private volatile long elapsedNanos;
+
+    public WarmUp(JwtService jwtService,
+                  LoanService loanService,
+                  ObjectMapper objectMapper,
+                  UserRepository userRepository,
+                  LoanApplicationRepository loanRepository,
+                  EmiScheduleRepository emiRepository,
+                  LoanDocumentRepository documentRepository,
+                  EntityManagerFactory entityManagerFactory,
+                  PlatformTransactionManager transactionManager,
+                  MeterRegistry meterRegistry,
+                  int iterations,
+                  Duration budget) {
+        this.jwtService = unproxied(jwtService);
+        this.loanService = unproxied(loanService);
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.loanRepository = loanRepository;
+        this.emiRepository = emiRepository;
+        this.documentRepository = documentRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        // Named, so ReplicaAwareTransactionManager treats it like a read-only service method
+        this.readOnly.setName(WarmUp.class.getName() + ".queries");
+        this.iterations = iterations;
+        this.budget = budget;
+
+        Gauge.builder("warmup.iterations", this, warmUp -> warmUp.completedIterations)
+                .description("Rounds of synthetic work run before readiness")
+                .register(meterRegistry);
+        TimeGauge.builder("warmup.duration", this, TimeUnit.NANOSECONDS, warmUp -> warmUp.elapsedNanos)
+                .description("Time spent warming up before readiness")
+                .register(meterRegistry);
+    }
+
+    public int getCompletedIterations() {
+        return completedIterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (iterations <= 0 || budget.isZero() || budget.isNegative()) {
+            return;
+        }
+        User user = user();
+        LoanApplication loan = loan(user, 240);
+        List<EmiSchedule> schedule = schedule(loan);
+        List<LoanApplication> loans = List.of(loan, loan(user, 120), loan(user, 360));
+        byte[] applicationRequest = ("{\"amount\":4500000.00,\"tenureMonths\":240,\"interestRate\":8.50,"
+                + "\"propertyValue\":6200000.00,\"purpose\":\"Purchase of a 2BHK apartment\"}").getBytes(StandardCharsets.UTF_8);
+
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + budget.toNanos();
+        int round = 0;
+        try {
+            while (round < iterations && System.nanoTime() < deadline) {
+                jwt(user);
+                json(loans, schedule, applicationRequest);
+                emi(round);
+                queries();
+                completedIterations = ++round;
+            }
+        } catch (RuntimeException e) {
+            // A cold start is slower, not broken
+            log.warn("Warm-up stopped after {} rounds: {}", round, e.toString());
+        }
+        elapsedNanos = System.nanoTime() - startedAt;
+        log.info("Warm-up ran {} rounds in {} ms", round, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    private void jwt(User user) {
+        AuthResponse tokens = jwtService.generateTokens(user);
+        // What JwtAuthenticationFilter does with every request
+        if (!jwtService.isRefreshToken(tokens.getAccessToken())) {
+            jwtService.extractUserId(tokens.getAccessToken());
+        }
+        jwtService.isRefreshToken(tokens.getRefreshToken());
+    }
+
+    private void json(List<LoanApplication> loans, List<EmiSchedule> schedule, byte[] applicationRequest) {
+        try {
+            objectMapper.writeValueAsBytes(loans);
+            objectMapper.writeValueAsBytes(loans.get(0));
+            objectMapper.writeValueAsBytes(schedule);
+            objectMapper.writeValueAsBytes(schedule.get(0));
+            objectMapper.writeValueAsBytes(Map.of("message", "Loan status updated", "loanId", loans.get(0).getId()));
+            objectMapper.readValue(applicationRequest, LoanApplicationRequest.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void emi(int round) {
+        int tenure = TENURES[round % TENURES.length];
+        loanService.calculateMonthlyEMI(new BigDecimal("4500000.00"), new BigDecimal("8.50"), tenure);
+        loanService.calculateMonthlyEMI(new BigDecimal("2750000.00"), new BigDecimal("9.15"), tenure);
+    }
+
+    private void queries() {
+        UUID missing = UuidV7Generator.next();
+        readOnly.executeWithoutResult(status -> {
+            // As properties rather than Session.setCacheMode, which find() overrides with them
+            EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+            entityManager.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+            entityManager.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+            userRepository.findById(missing);
+            loanRepository.findById(missing);
+            emiRepository.findByLoan(loanRepository.getReferenceById(missing));
+            emiRepository.findWithApplicantById(missing);
+            emiRepository.findByLoanApplicantIdAndPaymentStatusOrderByDueDate(missing, PaymentStatus.PENDING);
+            loanRepository.findByApplicantId(missing);
+            documentRepository.findById(missing);
+            documentRepository.findByLoanId(missing);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unproxied(T bean) {
+        Object target = AopProxyUtils.getSingletonTarget(bean);
+        return target != null ? (T) target : bean;
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(UuidV7Generator.next());
+        user.setFullName("Warm-up Borrower");
+        user.setEmail("warm-up@example.com");
+        user.setRole(Role.USER);
+        return user;
+    }
+
+    private static LoanApplication loan(User applicant, int tenureMonths) {
+        LoanApplication loan = new LoanApplication();
+        loan.setId(UuidV7Generator.next());
+        loan.setApplicant(applicant);
+        loan.setAmount(new BigDecimal("4500000.00"));
+        loan.setPropertyValue(new BigDecimal("6200000.00"));
+        loan.setTenureMonths(tenureMonths);
+        loan.setInterestRate(new BigDecimal("8.50"));
+        loan.setPurpose("Purchase of a 2BHK apartment");
+        loan.setStatus(LoanStatus.APPROVED);
+        loan.setUpdatedAt(OffsetDateTime.now());
+        return loan;
+    }
+
+    private static List<EmiSchedule> schedule(LoanApplication loan) {
+        List<EmiSchedule> schedule = new ArrayList<>(loan.getTenureMonths());
+        LocalDate dueDate = LocalDate.now().plusMonths(1);
+        for (int i = 0; i < loan.getTenureMonths(); i++) {
+            EmiSchedule emi = new EmiSchedule();
+            emi.setId(UuidV7Generator.next());
+            emi.setLoan(loan);
+            emi.setDueDate(dueDate.plusMonths(i));
+            emi.setAmount(new BigDecimal("39052.43"));
+            emi.setPaymentStatus(i < 6 ? PaymentStatus.PAID : PaymentStatus.PENDING);
+            emi.setTransactionId(i < 6 ? "TXN" + (100000 + i) : null);
+            schedule.add(emi);
+        }
+        return schedule;
+    }
+}
@@ -0,0 +1,4 @@
+-- Admin for the load generator's dashboard requests; the password is "loadtest-admin"
+merge into users (id, full_name, email, password, role, created_at) key (email)
+values ('01900000-0000-7000-8000-000000000001', 'Load Test Admin', 'loadtest-admin@example.com',
+        '$2a$10$vyKESeyl5uSHiOkS5RNKfOzB.52rGCglz7fcJXtscmfThAegfv6/.', 'ADMIN', current_timestamp);
@@ -0,0 +1,88 @@
+-- H2 counterpart of mysql/V1 for local runs. UUIDs and timestamps use the native H2 types that
+-- Hibernate's H2 dialect expects.
+
+create table users (
+    id uuid not null,
+    full_name varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    role enum ('ADMIN','USER') not null,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone,
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table home_loan_applications (
+    id uuid not null,
+    user_id uuid not null,
+    amount numeric(15,2) not null,
+    tenure_months integer not null,
+    property_value numeric(15,2),
+    interest_rate numeric(5,2) not null,
+    purpose varchar(500),
+    status enum ('APPROVED','CLOSED','DISBURSED','DRAFT','REJECTED','SUBMITTED','UNDER_REVIEW') not null,
+    submitted_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone,
+    primary key (id),
+    constraint fk_home_loan_applications_user foreign key (user_id) references users (id)
+);
+
+create table emi_schedule (
+    id uuid not null,
+    loan_id uuid not null,
+    due_date date not null,
+    amount numeric(15,2) not null,
+    payment_status enum ('OVERDUE','PAID','PENDING') not null,
+    transaction_id varchar(255),
+    primary key (id),
+    constraint fk_emi_schedule_loan foreign key (loan_id) references home_loan_applications (id)
+);
+
+create table loan_documents (
+    id uuid not null,
+    loan_id uuid not null,
+    document_type enum ('ADDRESS_PROOF','BANK_STATEMENT','ID_PROOF','OTHER','SALARY_SLIP') not null,
+    file_name varchar(255) not null,
+    file_path varchar(255) not null,
+    content_hash varchar(64),
+    file_size bigint,
+    content_encoding varchar(16),
+    uploaded_at timestamp(6) with time zone not null,
+    primary key (id),
+    constraint fk_loan_documents_loan foreign key (loan_id) references home_loan_applications (id)
+);
+
+create table document_blobs (
+    content_hash varchar(64) not null,
+    size_bytes bigint not null,
+    ref_count integer not null,
+    storage_path varchar(255) not null,
+    encoding varchar(16),
+    stored_size_bytes bigint,
+    created_at timestamp(6) with time zone not null,
+    primary key (content_hash)
+);
+
+create table upload_sessions (
+    id uuid not null,
+    loan_id uuid not null,
+    document_type enum ('ADDRESS_PROOF','BANK_STATEMENT','ID_PROOF','OTHER','SALARY_SLIP') not null,
+    file_name varchar(255) not null,
+    total_size bigint not null,
+    received_bytes bigint not null,
+    created_at timestamp(6) with time zone not null,
+    updated_at timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+create table pending_notifications (
+    id uuid not null,
+    recipient varchar(255) not null,
+    notification_type enum ('EMI_REMINDER','LOAN_STATUS_UPDATE') not null,
+    loan_id uuid not null,
+    emi_id uuid,
+    loan_status enum ('APPROVED','CLOSED','DISBURSED','DRAFT','REJECTED','SUBMITTED','UNDER_REVIEW'),
+    created_at timestamp(6) with time zone not null,
+    primary key (id)
+);
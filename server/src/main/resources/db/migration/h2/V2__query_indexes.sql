@@ -0,0 +1,25 @@
+-- Same indexes as mysql/V2.
+
+-- findByLoan, findByLoanAndPaymentStatus
+create index idx_emi_schedule_loan_status_due on emi_schedule (loan_id, payment_status, due_date);
+
+-- findByDueDateBeforeAndPaymentStatus, findDueWithApplicant (overdue marking and reminders)
+create index idx_emi_schedule_status_due on emi_schedule (payment_status, due_date);
+
+-- findByApplicant, findByApplicantId
+create index idx_home_loan_applications_user on home_loan_applications (user_id);
+
+-- findByStatus (admin dashboard counts and the review queue), in submission order
+create index idx_home_loan_applications_status_submitted on home_loan_applications (status, submitted_at);
+
+-- findByLoanId (document lists and bundles)
+create index idx_loan_documents_loan on loan_documents (loan_id);
+
+-- Reconciler pages through uploads from before content addressing by file name
+create index idx_loan_documents_hash_path on loan_documents (content_hash, file_path);
+
+-- Expired session cleanup
+create index idx_upload_sessions_updated on upload_sessions (updated_at);
+
+-- Digest flush reads the queue in arrival order
+create index idx_pending_notifications_created on pending_notifications (created_at);
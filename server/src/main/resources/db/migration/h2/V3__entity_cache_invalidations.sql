@@ -0,0 +1,11 @@
+-- Change log of cached entities; every node polls it to evict the entries other nodes changed
+create table entity_cache_invalidations (
+    id bigint generated by default as identity,
+    entity_name varchar(255) not null,
+    entity_id varchar(36) not null,
+    origin varchar(36) not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_entity_cache_invalidations_created on entity_cache_invalidations (created_at);
@@ -0,0 +1,3 @@
+-- When an installment went into a reminder digest; the daily run reminds each installment once.
+-- The run's due-date window is served by idx_emi_schedule_status_due.
+alter table emi_schedule add column reminded_at timestamp(6) with time zone;
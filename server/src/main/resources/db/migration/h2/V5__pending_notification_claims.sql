@@ -0,0 +1,6 @@
+-- The node that holds a queued notification in memory and will send it. Rows of a node that stopped
+-- without releasing them are taken over once claimed_at is older than notification.digest.claim-timeout.
+alter table pending_notifications add column claimed_by varchar(36);
+alter table pending_notifications add column claimed_at timestamp(6) with time zone;
+
+create index idx_pending_notifications_claim on pending_notifications (claimed_by, claimed_at);
@@ -0,0 +1,6 @@
+-- The user who opened the session; only they (or an admin) may read, append to, complete or abort it.
+-- Sessions opened before this column existed belong to the borrower of their loan.
+alter table upload_sessions add column owner_id uuid;
+update upload_sessions set owner_id = (select l.user_id from home_loan_applications l where l.id = upload_sessions.loan_id);
+delete from upload_sessions where owner_id is null;
+alter table upload_sessions alter column owner_id set not null;
@@ -0,0 +1,88 @@
+-- Schema as previously created by hibernate.ddl-auto=update. Existing databases are baselined at
+-- this version (spring.flyway.baseline-on-migrate) and start from V2.
+
+create table users (
+    id binary(16) not null,
+    full_name varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    role enum ('ADMIN','USER') not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    primary key (id),
+    constraint uk_users_email unique (email)
+) engine=InnoDB;
+
+create table home_loan_applications (
+    id binary(16) not null,
+    user_id binary(16) not null,
+    amount decimal(15,2) not null,
+    tenure_months integer not null,
+    property_value decimal(15,2),
+    interest_rate decimal(5,2) not null,
+    purpose varchar(500),
+    status enum ('APPROVED','CLOSED','DISBURSED','DRAFT','REJECTED','SUBMITTED','UNDER_REVIEW') not null,
+    submitted_at datetime(6) not null,
+    updated_at datetime(6),
+    primary key (id),
+    constraint fk_home_loan_applications_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table emi_schedule (
+    id binary(16) not null,
+    loan_id binary(16) not null,
+    due_date date not null,
+    amount decimal(15,2) not null,
+    payment_status enum ('OVERDUE','PAID','PENDING') not null,
+    transaction_id varchar(255),
+    primary key (id),
+    constraint fk_emi_schedule_loan foreign key (loan_id) references home_loan_applications (id)
+) engine=InnoDB;
+
+create table loan_documents (
+    id binary(16) not null,
+    loan_id binary(16) not null,
+    document_type enum ('ADDRESS_PROOF','BANK_STATEMENT','ID_PROOF','OTHER','SALARY_SLIP') not null,
+    file_name varchar(255) not null,
+    file_path varchar(255) not null,
+    content_hash varchar(64),
+    file_size bigint,
+    content_encoding varchar(16),
+    uploaded_at datetime(6) not null,
+    primary key (id),
+    constraint fk_loan_documents_loan foreign key (loan_id) references home_loan_applications (id)
+) engine=InnoDB;
+
+create table document_blobs (
+    content_hash varchar(64) not null,
+    size_bytes bigint not null,
+    ref_count integer not null,
+    storage_path varchar(255) not null,
+    encoding varchar(16),
+    stored_size_bytes bigint,
+    created_at datetime(6) not null,
+    primary key (content_hash)
+) engine=InnoDB;
+
+create table upload_sessions (
+    id binary(16) not null,
+    loan_id binary(16) not null,
+    document_type enum ('ADDRESS_PROOF','BANK_STATEMENT','ID_PROOF','OTHER','SALARY_SLIP') not null,
+    file_name varchar(255) not null,
+    total_size bigint not null,
+    received_bytes bigint not null,
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table pending_notifications (
+    id binary(16) not null,
+    recipient varchar(255) not null,
+    notification_type enum ('EMI_REMINDER','LOAN_STATUS_UPDATE') not null,
+    loan_id binary(16) not null,
+    emi_id binary(16),
+    loan_status enum ('APPROVED','CLOSED','DISBURSED','DRAFT','REJECTED','SUBMITTED','UNDER_REVIEW'),
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,6 @@
+-- The user who opened the session; only they (or an admin) may read, append to, complete or abort it.
+-- Sessions opened before this column existed belong to the borrower of their loan.
+alter table upload_sessions add column owner_id binary(16);
+update upload_sessions s join home_loan_applications l on l.id = s.loan_id set s.owner_id = l.user_id;
+delete from upload_sessions where owner_id is null;
+alter table upload_sessions modify owner_id binary(16) not null;
@@ -0,0 +1,49 @@
+package com.example.loanmanagement.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With a management port, as by default, the scrape and the probes answer there without a token and
+ * are not served on the public port at all.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureObservability(tracing = false) // tests turn metrics export off otherwise
+@ActiveProfiles("test")
+class ManagementPortTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int serverPort;
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void prometheusIsOnlyOnTheManagementPort() throws Exception {
+        HttpResponse<String> management = get(managementPort, "/actuator/prometheus");
+        assertThat(management.statusCode()).isEqualTo(200);
+        assertThat(management.body()).contains("# TYPE hikaricp_connections_active gauge");
+        assertThat(get(managementPort, "/actuator/health/liveness").statusCode()).isEqualTo(200);
+
+        HttpResponse<String> publicPort = get(serverPort, "/actuator/prometheus");
+        assertThat(publicPort.statusCode()).isNotEqualTo(200);
+        assertThat(publicPort.body()).doesNotContain("hikaricp_connections_active");
+    }
+
+    private HttpResponse<String> get(int port, String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.loanmanagement.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Signs up, logs in and applies for a loan, so each timer has recorded something, then scrapes
+ * {@code /actuator/prometheus} the way Prometheus does. The test profile serves the actuator on the
+ * main port; {@link ManagementPortTest} covers the separate one.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false) // tests turn metrics export off otherwise
+@ActiveProfiles("test")
+class PrometheusScrapeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void scrapeHasTheRequestJwtBcryptAndEmiTimersAndThePoolAndOutboxGauges() throws Exception {
+        String email = "metrics-" + UUID.randomUUID() + "@example.com";
+        mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fullName\":\"Ananya Sharma\",\"email\":\"" + email + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk());
+        JsonNode tokens = objectMapper.readTree(mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        mockMvc.perform(post("/api/loans/apply").contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.get("accessToken").asText())
+                        .content("{\"amount\":1200000.00,\"tenureMonths\":12,\"interestRate\":8.50,"
+                                + "\"propertyValue\":2000000.00,\"purpose\":\"Home renovation\"}"))
+                .andExpect(status().isCreated());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("jwt_issue_seconds_bucket{")
+                .contains("jwt_verify_seconds_bucket{")
+                .contains("password_encode_seconds_bucket{")
+                .contains("password_matches_seconds_bucket{")
+                .contains("emi_schedule_generate_seconds_bucket{")
+                .contains("hikaricp_connections_active{")
+                .contains("hikaricp_connections_pending{")
+                .contains("notification_pending ");
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.loanmanagement.controller;
+
+import com.example.loanmanagement.dto.LoanApplicationRequest;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.LoanDocument;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.DocumentType;
+import com.example.loanmanagement.entity.enums.Role;
+import com.example.loanmanagement.repository.DocumentBlobRepository;
+import com.example.loanmanagement.repository.UserRepository;
+import com.example.loanmanagement.service.DocumentService;
+import com.example.loanmanagement.service.JwtService;
+import com.example.loanmanagement.service.LoanService;
+import com.example.loanmanagement.storage.DocumentCompressor;
+import com.example.loanmanagement.storage.DocumentStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compressible uploads are stored gzip-encoded and sent as stored to clients that accept gzip;
+ * everyone else gets the original bytes, with their own entity tag and ranges.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CompressedDocumentDownloadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private DocumentService documentService;
+    @Autowired
+    private DocumentBlobRepository blobRepository;
+    @Autowired
+    private DocumentStorage storage;
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+    private LoanApplication loan;
+
+    @BeforeEach
+    void setUp() {
+        User borrower = user();
+        token = "Bearer " + jwtService.generateTokens(borrower).getAccessToken();
+        loan = loanService.applyForLoan(borrower.getId(), application());
+    }
+
+    @Test
+    void storesCompressibleUploadsGzipEncodedAndOthersRaw() throws IOException {
+        byte[] text = statement();
+        LoanDocument compressed = upload("statement.csv", text);
+        assertThat(compressed.getContentEncoding()).isEqualTo(DocumentCompressor.GZIP);
+        assertThat(compressed.getFileSize()).isEqualTo(text.length);
+        assertThat(blobRepository.findById(compressed.getContentHash()).orElseThrow().getStoredSize()).isLessThan(text.length / 2);
+        assertThat(gunzip(stored(compressed.getContentHash()))).isEqualTo(text);
+
+        byte[] noise = new byte[text.length];
+        new Random(7).nextBytes(noise);
+        LoanDocument raw = upload("scan.bin", noise);
+        assertThat(raw.getContentEncoding()).isNull();
+        assertThat(blobRepository.findById(raw.getContentHash()).orElseThrow().getStoredSize()).isEqualTo(noise.length);
+        assertThat(stored(raw.getContentHash())).isEqualTo(noise);
+    }
+
+    @Test
+    void sendsTheStoredBytesToClientsThatAcceptGzip() throws Exception {
+        byte[] text = statement();
+        LoanDocument document = upload("statement.csv", text);
+
+        MvcResult result = mockMvc.perform(get(url(document)).header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(content().bytes(stored(document.getContentHash())))
+                .andReturn();
+        assertThat(gunzip(result.getResponse().getContentAsByteArray())).isEqualTo(text);
+    }
+
+    @Test
+    void decodesForOtherClientsWithTheirOwnEntityTagAndRanges() throws Exception {
+        byte[] text = statement();
+        LoanDocument document = upload("statement.csv", text);
+
+        String encodedTag = mockMvc.perform(get(url(document)).header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        MvcResult decoded = mockMvc.perform(get(url(document)).header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, text.length))
+                .andExpect(content().bytes(text))
+                .andReturn();
+        String decodedTag = decoded.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(decodedTag).isNotEqualTo(encodedTag);
+
+        // Ranges and validators refer to the original bytes
+        mockMvc.perform(get(url(document)).header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.RANGE, "bytes=1000-1099").header(HttpHeaders.IF_RANGE, decodedTag))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 1000-1099/" + text.length))
+                .andExpect(content().bytes(Arrays.copyOfRange(text, 1000, 1100)));
+        mockMvc.perform(get(url(document)).header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.IF_NONE_MATCH, decodedTag))
+                .andExpect(status().isNotModified());
+        // The encoded representation's tag does not validate the decoded one
+        mockMvc.perform(get(url(document)).header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.IF_NONE_MATCH, encodedTag))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(text));
+    }
+
+    private LoanDocument upload(String fileName, byte[] content) throws IOException {
+        return documentService.uploadDocument(loan.getId(), DocumentType.BANK_STATEMENT,
+                new MockMultipartFile("file", fileName, "application/octet-stream", content));
+    }
+
+    private byte[] stored(String hash) throws IOException {
+        try (InputStream in = storage.openStream(hash, 0)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * A bank statement export, unique per call so uploads are not deduplicated across tests.
+     */
+    private static byte[] statement() {
+        StringBuilder csv = new StringBuilder("date,description,amount,balance,").append(UUID.randomUUID()).append('\n');
+        for (int i = 1; i <= 500; i++) {
+            csv.append("2024-03-").append(String.format("%02d", i % 28 + 1))
+                    .append(",NEFT salary credit ACME INFOTECH PVT LTD,").append(85000 + i).append(".00,")
+                    .append(120000 + i * 7).append(".50\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String url(LoanDocument document) {
+        return "/api/documents/" + document.getId() + "/download";
+    }
+
+    private User user() {
+        User user = new User();
+        user.setFullName("Ananya Sharma");
+        user.setEmail("compressed-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-hash");
+        user.setRole(Role.USER);
+        return userRepository.save(user);
+    }
+
+    private static LoanApplicationRequest application() {
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setAmount(new BigDecimal("1200000.00"));
+        request.setTenureMonths(12);
+        request.setInterestRate(new BigDecimal("8.50"));
+        request.setPropertyValue(new BigDecimal("2000000.00"));
+        request.setPurpose("Home renovation");
+        return request;
+    }
+}
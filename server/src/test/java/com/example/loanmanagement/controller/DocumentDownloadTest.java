@@ -0,0 +1,185 @@
+package com.example.loanmanagement.controller;
+
+import com.example.loanmanagement.dto.LoanApplicationRequest;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.LoanDocument;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.DocumentType;
+import com.example.loanmanagement.entity.enums.Role;
+import com.example.loanmanagement.repository.UserRepository;
+import com.example.loanmanagement.service.DocumentService;
+import com.example.loanmanagement.service.JwtService;
+import com.example.loanmanagement.service.LoanService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Byte ranges and conditional requests on {@code GET /api/documents/{id}/download}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DocumentDownloadTest {
+
+    private static final int SIZE = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private DocumentService documentService;
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+    private byte[] data;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User borrower = user();
+        token = "Bearer " + jwtService.generateTokens(borrower).getAccessToken();
+        LoanApplication loan = loanService.applyForLoan(borrower.getId(), application());
+        // Random bytes do not compress, so the document is stored and sent as uploaded
+        data = new byte[SIZE];
+        new Random(42).nextBytes(data);
+        LoanDocument document = documentService.uploadDocument(loan.getId(), DocumentType.BANK_STATEMENT,
+                new MockMultipartFile("file", "statement.pdf", "application/pdf", data));
+        url = "/api/documents/" + document.getId() + "/download";
+    }
+
+    @Test
+    void sendsTheWholeDocumentWithValidators() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, SIZE))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"statement.pdf\""))
+                .andExpect(content().bytes(data));
+    }
+
+    @Test
+    void sendsAByteRange() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, token).header(HttpHeaders.RANGE, "bytes=100-199"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-199/" + SIZE))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+                .andExpect(content().bytes(Arrays.copyOfRange(data, 100, 200)));
+    }
+
+    @Test
+    void sendsSuffixAndOpenEndedRanges() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, token).header(HttpHeaders.RANGE, "bytes=-500"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 9500-9999/" + SIZE))
+                .andExpect(content().bytes(Arrays.copyOfRange(data, 9500, SIZE)));
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, token).header(HttpHeaders.RANGE, "bytes=9000-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 9000-9999/" + SIZE))
+                .andExpect(content().bytes(Arrays.copyOfRange(data, 9000, SIZE)));
+        // An end past the document is cut to its last byte
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, token).header(HttpHeaders.RANGE, "bytes=9990-20000"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 9990-9999/" + SIZE))
+                .andExpect(content().bytes(Arrays.copyOfRange(data, 9990, SIZE)));
+    }
+
+    @Test
+    void rejectsUnsatisfiableRanges() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, token).header(HttpHeaders.RANGE, "bytes=" + SIZE + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + SIZE));
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, token).header(HttpHeaders.RANGE, "bytes=-0"))
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+
+    @Test
+    void ignoresMultipleAndMalformedRanges() throws Exception {
+        for (String range : new String[]{"bytes=0-9,20-29", "bytes=20-10", "items=0-9", "bytes=abc"}) {
+            mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, token).header(HttpHeaders.RANGE, range))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                    .andExpect(content().bytes(data));
+        }
+    }
+
+    @Test
+    void answersNotModifiedToAMatchingEntityTag() throws Exception {
+        String eTag = eTag();
+
+        MvcResult result = mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"something-else\", " + eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andReturn();
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, token).header(HttpHeaders.IF_NONE_MATCH, "\"something-else\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(data));
+    }
+
+    @Test
+    void sendsTheRangeOnlyWhileIfRangeStillMatches() throws Exception {
+        String eTag = eTag();
+
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, eTag))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(data, 0, 10)));
+        // The client's copy is of another version: it gets the whole current document
+        mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.RANGE, "bytes=0-9").header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(data));
+    }
+
+    private String eTag() throws Exception {
+        return mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, token))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private User user() {
+        User user = new User();
+        user.setFullName("Ananya Sharma");
+        user.setEmail("download-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-hash");
+        user.setRole(Role.USER);
+        return userRepository.save(user);
+    }
+
+    private static LoanApplicationRequest application() {
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setAmount(new BigDecimal("1200000.00"));
+        request.setTenureMonths(12);
+        request.setInterestRate(new BigDecimal("8.50"));
+        request.setPropertyValue(new BigDecimal("2000000.00"));
+        request.setPurpose("Home renovation");
+        return request;
+    }
+}
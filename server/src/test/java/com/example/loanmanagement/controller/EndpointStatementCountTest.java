@@ -0,0 +1,113 @@
+package com.example.loanmanagement.controller;
+
+import com.example.loanmanagement.datasource.SqlAccounting;
+import com.example.loanmanagement.dto.LoanApplicationRequest;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.Role;
+import com.example.loanmanagement.repository.UserRepository;
+import com.example.loanmanagement.service.JwtService;
+import com.example.loanmanagement.service.LoanService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The list endpoints that used to issue a statement per loan. Each borrower here has several
+ * loans, so a query repeated per loan or per applicant shows up as a repeated statement shape.
+ * The counts include the JWT filter's user lookup.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EndpointStatementCountTest {
+
+    private static final int LOANS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private JwtService jwtService;
+
+    private String borrowerToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        User borrower = user(Role.USER);
+        for (int i = 0; i < LOANS; i++) {
+            loanService.applyForLoan(borrower.getId(), application());
+        }
+        // A second applicant, so the admin list has more than one applicant to fetch
+        loanService.applyForLoan(user(Role.USER).getId(), application());
+        borrowerToken = "Bearer " + jwtService.generateTokens(borrower).getAccessToken();
+        adminToken = "Bearer " + jwtService.generateTokens(user(Role.ADMIN)).getAccessToken();
+    }
+
+    @Test
+    void pendingEmis() throws Exception {
+        SqlAccounting.capture(() -> mockMvc.perform(get("/api/emi/pending").header(HttpHeaders.AUTHORIZATION, borrowerToken))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$", hasSize(LOANS * 12)))
+                        // The loan of each installment is serialized as its id only
+                        .andExpect(jsonPath("$[0].loan.id").exists())
+                        .andExpect(jsonPath("$[0].loan.amount").doesNotExist()))
+                .assertStatementsAtMost(2)
+                .assertNoRepeatedStatements(2);
+    }
+
+    @Test
+    void myLoans() throws Exception {
+        SqlAccounting.capture(() -> mockMvc.perform(get("/api/loans/my-loans").header(HttpHeaders.AUTHORIZATION, borrowerToken))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$", hasSize(LOANS)))
+                        .andExpect(jsonPath("$[0].applicant.email").exists())
+                        .andExpect(jsonPath("$[0].applicant.password").doesNotExist()))
+                .assertStatementsAtMost(2)
+                .assertNoRepeatedStatements(2);
+    }
+
+    @Test
+    void adminPendingLoans() throws Exception {
+        SqlAccounting.capture(() -> mockMvc.perform(get("/api/admin/loans/pending").header(HttpHeaders.AUTHORIZATION, adminToken))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$[*].applicant.email").exists()))
+                .assertStatementsAtMost(2)
+                .assertNoRepeatedStatements(2);
+    }
+
+    private User user(Role role) {
+        User user = new User();
+        user.setFullName("Ananya Sharma");
+        user.setEmail("statements-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-hash");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private static LoanApplicationRequest application() {
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setAmount(new BigDecimal("1200000.00"));
+        request.setTenureMonths(12);
+        request.setInterestRate(new BigDecimal("8.50"));
+        request.setPropertyValue(new BigDecimal("2000000.00"));
+        request.setPurpose("Home renovation");
+        return request;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.loanmanagement.controller;
+
+import com.example.loanmanagement.config.filter.ServerTimingFilter;
+import com.example.loanmanagement.dto.LoanApplicationRequest;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.Role;
+import com.example.loanmanagement.repository.UserRepository;
+import com.example.loanmanagement.service.JwtService;
+import com.example.loanmanagement.service.LoanService;
+import com.example.loanmanagement.timing.ServerTiming;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The {@code Server-Timing} header at each level, switched at runtime through the admin API.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ServerTimingTest {
+
+    private static final String DUR = ";dur=\\d+\\.\\d";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ServerTimingFilter serverTimingFilter;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private JwtService jwtService;
+
+    private String borrowerToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        User borrower = user(Role.USER);
+        loanService.applyForLoan(borrower.getId(), application());
+        borrowerToken = "Bearer " + jwtService.generateTokens(borrower).getAccessToken();
+        adminToken = "Bearer " + jwtService.generateTokens(user(Role.ADMIN)).getAccessToken();
+    }
+
+    @AfterEach
+    void restoreLevel() {
+        // The filter is shared by every test in this context
+        serverTimingFilter.setLevel(ServerTiming.Level.SUMMARY);
+    }
+
+    @Test
+    void summaryListsThePhasesThatRanAndTheTotal() throws Exception {
+        setLevel("summary");
+
+        assertThat(myLoans()).matches("auth" + DUR + ", db" + DUR + ", total" + DUR);
+    }
+
+    @Test
+    void detailDescribesEachPhaseWithItsCount() throws Exception {
+        setLevel("detail");
+
+        assertThat(myLoans()).matches("auth" + DUR + ";desc=\"JWT and password checks: \\d+\", "
+                + "db" + DUR + ";desc=\"SQL statements: \\d+\", total" + DUR);
+    }
+
+    @Test
+    void offSendsNoHeader() throws Exception {
+        setLevel("off");
+
+        assertThat(myLoans()).isNull();
+    }
+
+    private void setLevel(String level) throws Exception {
+        mockMvc.perform(put("/api/admin/server-timing").header(HttpHeaders.AUTHORIZATION, adminToken)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"level\":\"" + level + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.level").value(level.toUpperCase(Locale.ROOT)));
+    }
+
+    private String myLoans() throws Exception {
+        return mockMvc.perform(get("/api/loans/my-loans").header(HttpHeaders.AUTHORIZATION, borrowerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andReturn().getResponse().getHeader(ServerTimingFilter.HEADER);
+    }
+
+    private User user(Role role) {
+        User user = new User();
+        user.setFullName("Ananya Sharma");
+        user.setEmail("timing-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-hash");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private static LoanApplicationRequest application() {
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setAmount(new BigDecimal("1200000.00"));
+        request.setTenureMonths(12);
+        request.setInterestRate(new BigDecimal("8.50"));
+        request.setPropertyValue(new BigDecimal("2000000.00"));
+        request.setPurpose("Home renovation");
+        return request;
+    }
+}
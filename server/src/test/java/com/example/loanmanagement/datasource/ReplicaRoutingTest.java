@@ -0,0 +1,160 @@
+package com.example.loanmanagement.datasource;
+
+import com.example.loanmanagement.dto.LoanApplicationRequest;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.id.UuidV7Generator;
+import com.example.loanmanagement.repository.LoanApplicationRepository;
+import com.example.loanmanagement.repository.UserRepository;
+import com.example.loanmanagement.service.LoanService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primary and replica are two separate in-memory H2 databases with the same schema, and nothing
+ * replicates between them: a row written to one only is what a lagging replica looks like.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    private static final String PRIMARY_URL = url("primary");
+    private static final String REPLICA_URL = url("replica");
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+        registry.add("spring.datasource.url", () -> PRIMARY_URL);
+        registry.add("datasource.replicas[0].url", () -> REPLICA_URL);
+    }
+
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private LoanApplicationRepository loanRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DataSource dataSource;
+
+    private final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private User borrower;
+    private User otherBorrower;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        routingDataSource = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        borrower = replicatedUser("Ananya Sharma");
+        otherBorrower = replicatedUser("Rohan Mehta");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void declaredReadOnlyServiceMethodsReadTheReplica() {
+        UUID replicaOnly = UuidV7Generator.next();
+        replica.update("insert into home_loan_applications (id, user_id, amount, tenure_months, interest_rate, status, submitted_at) "
+                + "values (?, ?, 4500000, 240, 8.5, 'SUBMITTED', ?)", replicaOnly, borrower.getId(), now());
+        signIn(otherBorrower);
+
+        long replicaConnections = replicaConnections();
+        assertThat(loanService.getUserLoans(borrower.getId()))
+                .extracting(LoanApplication::getId)
+                .containsExactly(replicaOnly);
+        assertThat(replicaConnections()).isGreaterThan(replicaConnections);
+
+        // Repository calls without a declared read-only service transaction stay on the primary
+        assertThat(loanRepository.findByApplicantId(borrower.getId())).isEmpty();
+    }
+
+    @Test
+    void aBorrowerReadsTheirOwnWriteFromThePrimary() {
+        signIn(borrower);
+        LoanApplication applied = loanService.applyForLoan(borrower.getId(), application());
+
+        long pinnedReads = readYourWritesReads();
+        assertThat(loanService.getUserLoans(borrower.getId()))
+                .extracting(LoanApplication::getId)
+                .containsExactly(applied.getId());
+        assertThat(readYourWritesReads()).isGreaterThan(pinnedReads);
+
+        // Anyone else still reads the replica, which has not seen the loan yet
+        signIn(otherBorrower);
+        assertThat(loanService.getUserLoans(borrower.getId())).isEmpty();
+    }
+
+    private User replicatedUser(String fullName) {
+        UUID id = UuidV7Generator.next();
+        String email = "replica-" + id + "@example.com";
+        for (JdbcTemplate database : List.of(primary, replica)) {
+            database.update("insert into users (id, full_name, email, password, role, created_at) values (?, ?, ?, ?, 'USER', ?)",
+                    id, fullName, email, "not-a-hash", now());
+        }
+        return userRepository.findById(id).orElseThrow();
+    }
+
+    private static void signIn(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    private static LoanApplicationRequest application() {
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setAmount(new BigDecimal("4500000.00"));
+        request.setTenureMonths(240);
+        request.setInterestRate(new BigDecimal("8.50"));
+        request.setPropertyValue(new BigDecimal("6200000.00"));
+        request.setPurpose("Purchase of a 2BHK apartment");
+        return request;
+    }
+
+    @SuppressWarnings("unchecked")
+    private long replicaConnections() {
+        List<Map<String, Object>> replicas = (List<Map<String, Object>>) routingDataSource.getStatistics().get("replicas");
+        return (Long) replicas.get(0).get("connections");
+    }
+
+    private long readYourWritesReads() {
+        return (Long) routingDataSource.getStatistics().get("readYourWritesReads");
+    }
+
+    private static Timestamp now() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+
+    private static String url(String name) {
+        return "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+}
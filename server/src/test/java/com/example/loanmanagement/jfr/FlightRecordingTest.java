@@ -0,0 +1,116 @@
+package com.example.loanmanagement.jfr;
+
+import com.example.loanmanagement.dto.LoanApplicationRequest;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.DocumentType;
+import com.example.loanmanagement.entity.enums.Role;
+import com.example.loanmanagement.repository.UserRepository;
+import com.example.loanmanagement.service.DocumentService;
+import com.example.loanmanagement.service.JwtService;
+import com.example.loanmanagement.service.LoanService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A dump from {@code POST /api/admin/jfr/dump} is a recording JFR tools can read, holding the
+ * application's own events next to the JVM's.
+ */
+@SpringBootTest(properties = "jfr.recording.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FlightRecordingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private DocumentService documentService;
+    @Autowired
+    private JwtService jwtService;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void dumpHoldsTheApplicationEvents() throws Exception {
+        String token = "Bearer " + jwtService.generateTokens(user(Role.ADMIN)).getAccessToken();
+        // Submitting a loan records its status and schedule, the upload a document write
+        LoanApplication loan = loanService.applyForLoan(user(Role.USER).getId(), application());
+        documentService.uploadDocument(loan.getId(), DocumentType.ID_PROOF, new MockMultipartFile("file", "pan-card.pdf",
+                "application/pdf", ("PAN card " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8)));
+
+        mockMvc.perform(get("/api/admin/jfr").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("loan-management"))
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+        byte[] dump = mockMvc.perform(post("/api/admin/jfr/dump").param("window", "5m")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, endsWith(".jfr\"")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Path file = Files.write(tempDir.resolve("dump.jfr"), dump);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Set<String> types = events.stream().map(event -> event.getEventType().getName()).collect(Collectors.toSet());
+        assertThat(types).contains(
+                "com.example.loanmanagement.LoanStatus",
+                "com.example.loanmanagement.EmiGeneration",
+                "com.example.loanmanagement.DocumentIo",
+                "com.example.loanmanagement.JwtVerification",
+                "jdk.JVMInformation");
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("com.example.loanmanagement.DocumentIo");
+            assertThat(event.getString("operation")).isEqualTo("upload");
+            assertThat(event.getString("loanId")).isEqualTo(loan.getId().toString());
+        });
+    }
+
+    private User user(Role role) {
+        User user = new User();
+        user.setFullName("Ananya Sharma");
+        user.setEmail("jfr-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-hash");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private static LoanApplicationRequest application() {
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setAmount(new BigDecimal("1200000.00"));
+        request.setTenureMonths(12);
+        request.setInterestRate(new BigDecimal("8.50"));
+        request.setPropertyValue(new BigDecimal("2000000.00"));
+        request.setPurpose("Home renovation");
+        return request;
+    }
+}
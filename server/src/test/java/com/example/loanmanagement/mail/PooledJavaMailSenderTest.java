@@ -0,0 +1,96 @@
+package com.example.loanmanagement.mail;
+
+import com.example.loanmanagement.support.SmtpStandIn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PooledJavaMailSenderTest {
+
+    private SmtpStandIn smtp;
+    private PooledJavaMailSender sender;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtp = new SmtpStandIn();
+        sender = new PooledJavaMailSender(2, 3, Duration.ofSeconds(30), Duration.ofSeconds(5));
+        sender.setHost("localhost");
+        sender.setPort(smtp.getPort());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sender.destroy();
+        smtp.close();
+    }
+
+    @Test
+    void submitsABatchOverOneConnection() {
+        sender.send(messages(3));
+
+        assertThat(smtp.getMessages()).hasSize(3);
+        assertThat(smtp.getMessages()).extracting(SmtpStandIn.Message::recipients)
+                .containsExactly(List.of("borrower-0@example.com"),
+                        List.of("borrower-1@example.com"),
+                        List.of("borrower-2@example.com"));
+        assertThat(smtp.getConnections()).isEqualTo(1);
+        assertThat(sender.getMetrics().getMessagesSent()).isEqualTo(3);
+        assertThat(sender.getMetrics().getConnectionsOpened()).isEqualTo(1);
+    }
+
+    @Test
+    void reusesTheAuthenticatedConnectionForLaterSends() {
+        sender.send(messages(1));
+        sender.send(messages(1));
+
+        assertThat(smtp.getMessages()).hasSize(2);
+        assertThat(smtp.getConnections()).isEqualTo(1);
+        assertThat(sender.getMetrics().getConnectionsReused()).isEqualTo(1);
+        assertThat(sender.getMetrics().getConnectionReuseRatio()).isEqualTo(0.5);
+        assertThat(sender.getIdleConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void opensANewConnectionAfterTheMessagesPerConnectionLimit() {
+        sender.send(messages(7));
+
+        assertThat(smtp.getMessages()).hasSize(7);
+        // Three messages per connection
+        assertThat(smtp.getConnections()).isEqualTo(3);
+        assertThat(sender.getMetrics().getConnectionsOpened()).isEqualTo(3);
+        assertThat(sender.getMetrics().getConnectionsClosed()).isEqualTo(2);
+    }
+
+    @Test
+    void reconnectsWhenTheServerDroppedThePooledConnection() throws Exception {
+        sender.send(messages(1));
+        smtp.dropConnections();
+        // Let the client side see the close
+        Thread.sleep(100);
+
+        sender.send(messages(1));
+
+        assertThat(smtp.getMessages()).hasSize(2);
+        assertThat(smtp.getConnections()).isEqualTo(2);
+        assertThat(sender.getMetrics().getMessagesFailed()).isZero();
+        assertThat(sender.getMetrics().getReconnects()).isEqualTo(1);
+    }
+
+    private static SimpleMailMessage[] messages(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom("noreply@loanmanagement.com");
+            message.setTo("borrower-" + i + "@example.com");
+            message.setSubject("EMI Payment Reminder");
+            message.setText("Your EMI is due.");
+            return message;
+        }).toArray(SimpleMailMessage[]::new);
+    }
+}
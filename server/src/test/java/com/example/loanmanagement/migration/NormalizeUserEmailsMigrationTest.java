@@ -0,0 +1,78 @@
+package com.example.loanmanagement.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Migrates a fresh H2 database up to V5, adds the users, then runs V6 the way Spring Boot does.
+ */
+class NormalizeUserEmailsMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:emails-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway().target("5").load().migrate();
+    }
+
+    @Test
+    void lowerCasesExistingEmails() {
+        insertUser("Ananya.Sharma@Example.com");
+        insertUser("rohan@example.com");
+
+        flyway().load().migrate();
+
+        assertThat(jdbcTemplate.queryForList("select email from users order by email", String.class))
+                .containsExactly("ananya.sharma@example.com", "rohan@example.com");
+    }
+
+    @Test
+    void stopsAtEmailsThatDifferOnlyInCase() {
+        insertUser("Ananya.Sharma@example.com");
+        insertUser("ananya.sharma@example.com");
+        insertUser("Rohan@example.com");
+
+        assertThatThrownBy(() -> flyway().load().migrate())
+                .isInstanceOf(FlywayException.class)
+                .hasMessageContaining("ananya.sharma@example.com (2 accounts)")
+                .hasMessageNotContaining("rohan");
+
+        assertThat(jdbcTemplate.queryForList("select email from users order by email", String.class))
+                .containsExactly("Ananya.Sharma@example.com", "Rohan@example.com", "ananya.sharma@example.com");
+
+        // Once the accounts are sorted out by hand, the next start migrates
+        jdbcTemplate.update("update users set email = 'ananya.sharma+old@example.com' where email = 'Ananya.Sharma@example.com'");
+        flyway().load().migrate();
+        assertThat(jdbcTemplate.queryForList("select email from users order by email", String.class))
+                .containsExactly("ananya.sharma+old@example.com", "ananya.sharma@example.com", "rohan@example.com");
+    }
+
+    private FluentConfiguration flyway() {
+        V6__Normalize_user_emails migration = new V6__Normalize_user_emails();
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .javaMigrations(migration)
+                .callbacks(migration);
+    }
+
+    private void insertUser(String email) {
+        jdbcTemplate.update("insert into users (id, full_name, email, password, role, created_at) values (?, ?, ?, ?, 'USER', ?)",
+                UUID.randomUUID(), "Borrower", email, "not-a-hash", new Timestamp(System.currentTimeMillis()));
+    }
+}
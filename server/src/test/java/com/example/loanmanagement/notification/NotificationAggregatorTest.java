@@ -0,0 +1,171 @@
+package com.example.loanmanagement.notification;
+
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.PendingNotification;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.LoanStatus;
+import com.example.loanmanagement.entity.enums.NotificationType;
+import com.example.loanmanagement.repository.EmiScheduleRepository;
+import com.example.loanmanagement.repository.LoanApplicationRepository;
+import com.example.loanmanagement.repository.PendingNotificationRepository;
+import com.example.loanmanagement.repository.UserRepository;
+import com.example.loanmanagement.service.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two aggregators on one database stand in for two nodes. The application's own aggregator only
+ * recovers at startup here, so it leaves the rows these tests write alone.
+ */
+@SpringBootTest(properties = "notification.digest.recover-interval=3600000")
+@ActiveProfiles("test")
+class NotificationAggregatorTest {
+
+    @Autowired
+    private PendingNotificationRepository notificationRepository;
+    @Autowired
+    private LoanApplicationRepository loanRepository;
+    @Autowired
+    private EmiScheduleRepository emiRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private LoanApplication loan;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository.deleteAll();
+        User user = new User();
+        user.setFullName("Ananya Sharma");
+        user.setEmail("ananya-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-hash");
+        userRepository.save(user);
+
+        loan = new LoanApplication();
+        loan.setApplicant(user);
+        loan.setAmount(new BigDecimal("4500000.00"));
+        loan.setPropertyValue(new BigDecimal("6200000.00"));
+        loan.setTenureMonths(240);
+        loan.setInterestRate(new BigDecimal("8.50"));
+        loan.setStatus(LoanStatus.APPROVED);
+        loanRepository.save(loan);
+    }
+
+    @Test
+    void releasedNotificationsAreSentByOneNode() {
+        pending(null, null, LoanStatus.UNDER_REVIEW);
+        pending(null, null, LoanStatus.APPROVED);
+        EmailService mailA = mailService();
+        EmailService mailB = mailService();
+        NotificationAggregator nodeA = node(mailA);
+        NotificationAggregator nodeB = node(mailB);
+
+        nodeA.recoverPending();
+        nodeB.recoverPending();
+        assertThat(nodeA.getPendingCount()).isEqualTo(2);
+        assertThat(nodeB.getPendingCount()).isZero();
+
+        nodeA.flushDue();
+        nodeB.flushDue();
+
+        ArgumentCaptor<List<NotificationDigest>> digests = digestCaptor();
+        verify(mailA).sendNotificationDigests(digests.capture());
+        assertThat(digests.getValue()).singleElement()
+                .satisfies(digest -> assertThat(digest.getStatusChanges()).singleElement()
+                        .satisfies(change -> assertThat(change.getTransitions())
+                                .containsExactly(LoanStatus.UNDER_REVIEW, LoanStatus.APPROVED)));
+        verify(mailB, never()).sendNotificationDigests(anyList());
+        assertThat(notificationRepository.count()).isZero();
+    }
+
+    @Test
+    void staleClaimsAreTakenOverAndLiveOnesAreNot() {
+        pending("stopped-node", OffsetDateTime.now().minusMinutes(11), LoanStatus.UNDER_REVIEW);
+        pending("live-node", OffsetDateTime.now().minusSeconds(30), LoanStatus.APPROVED);
+        NotificationAggregator node = node(mailService());
+
+        node.recoverPending();
+
+        assertThat(node.getPendingCount()).isEqualTo(1);
+        assertThat(notificationRepository.findAll()).extracting(PendingNotification::getClaimedBy)
+                .contains("live-node")
+                .doesNotContain("stopped-node");
+    }
+
+    @Test
+    void rowsTakenOverByAnotherNodeAreNeitherSentNorDeleted() {
+        EmailService mail = mailService();
+        NotificationAggregator node = node(mail);
+        loan.setStatus(LoanStatus.DISBURSED);
+        node.loanStatusChanged(loan);
+
+        // Another node took the row over while this one stalled
+        PendingNotification row = notificationRepository.findAll().get(0);
+        row.setClaimedBy("other-node");
+        notificationRepository.save(row);
+
+        node.flushDue();
+
+        verify(mail, never()).sendNotificationDigests(anyList());
+        assertThat(notificationRepository.findAll()).extracting(PendingNotification::getClaimedBy)
+                .containsExactly("other-node");
+    }
+
+    @Test
+    void shutdownReleasesTheClaims() {
+        NotificationAggregator node = new NotificationAggregator(notificationRepository, loanRepository, emiRepository,
+                mailService(), transactionManager, Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(10));
+        node.loanStatusChanged(loan);
+
+        node.destroy();
+
+        assertThat(notificationRepository.findAll()).extracting(PendingNotification::getClaimedBy).containsOnlyNulls();
+    }
+
+    private NotificationAggregator node(EmailService mail) {
+        return new NotificationAggregator(notificationRepository, loanRepository, emiRepository, mail,
+                transactionManager, Duration.ZERO, Duration.ofMinutes(5), Duration.ofMinutes(10));
+    }
+
+    private void pending(String claimedBy, OffsetDateTime claimedAt, LoanStatus status) {
+        PendingNotification notification = new PendingNotification();
+        notification.setRecipient(loan.getApplicant().getEmail());
+        notification.setType(NotificationType.LOAN_STATUS_UPDATE);
+        notification.setLoanId(loan.getId());
+        notification.setLoanStatus(status);
+        notification.setClaimedBy(claimedBy);
+        notification.setClaimedAt(claimedAt);
+        notificationRepository.save(notification);
+    }
+
+    private static EmailService mailService() {
+        EmailService mail = mock(EmailService.class);
+        when(mail.sendNotificationDigests(anyList())).thenReturn(List.of());
+        return mail;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<NotificationDigest>> digestCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.loanmanagement.repository;
+
+import com.example.loanmanagement.datasource.SqlAccounting;
+import com.example.loanmanagement.datasource.StatementStats;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.enums.LoanStatus;
+import com.example.loanmanagement.entity.enums.PaymentStatus;
+import com.example.loanmanagement.entity.id.UuidV7Generator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the hot repository queries against a seeded H2 database, then asks the database for the plan
+ * of the exact SQL Hibernate issued, as captured by {@link SqlAccounting}, with the same arguments
+ * bound. Each plan must use the index db/migration added for that query, and scan no table.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryIndexTest {
+
+    private static final int USERS = 200;
+    private static final int LOANS_PER_USER = 2;
+    private static final int INSTALLMENTS = 24;
+    private static final LoanStatus[] STATUSES = LoanStatus.values();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EmiScheduleRepository emiRepository;
+    @Autowired
+    private LoanApplicationRepository loanRepository;
+    @Autowired
+    private LoanDocumentRepository documentRepository;
+
+    private UUID userId;
+    private UUID loanId;
+
+    @BeforeAll
+    void seed() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        LocalDate firstDue = LocalDate.now().minusMonths(INSTALLMENTS / 2);
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> loans = new ArrayList<>();
+        List<Object[]> emis = new ArrayList<>();
+        List<Object[]> documents = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            UUID user = UuidV7Generator.next();
+            users.add(new Object[]{user, "Borrower " + u, "index-" + u + "-" + user + "@example.com", "not-a-hash", "USER", now});
+            for (int l = 0; l < LOANS_PER_USER; l++) {
+                UUID loan = UuidV7Generator.next();
+                loans.add(new Object[]{loan, user, 4500000, 240, 8.5, STATUSES[(u + l) % STATUSES.length].name(), now});
+                for (int i = 0; i < INSTALLMENTS; i++) {
+                    LocalDate dueDate = firstDue.plusMonths(i);
+                    String status = dueDate.isBefore(LocalDate.now()) ? "PAID" : "PENDING";
+                    emis.add(new Object[]{UuidV7Generator.next(), loan, dueDate, 39052.43, status});
+                }
+                documents.add(new Object[]{UuidV7Generator.next(), loan, "SALARY_SLIP", "salary-slip.pdf", "seed/" + loan, now});
+                loanId = loan;
+            }
+            userId = user;
+        }
+        jdbcTemplate.batchUpdate("insert into users (id, full_name, email, password, role, created_at) values (?, ?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("insert into home_loan_applications (id, user_id, amount, tenure_months, interest_rate, status, submitted_at) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", loans);
+        jdbcTemplate.batchUpdate("insert into emi_schedule (id, loan_id, due_date, amount, payment_status) values (?, ?, ?, ?, ?)", emis);
+        jdbcTemplate.batchUpdate("insert into loan_documents (id, loan_id, document_type, file_name, file_path, uploaded_at) "
+                + "values (?, ?, ?, ?, ?, ?)", documents);
+        // Row counts and selectivity for the optimizer
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void installmentsOfALoanByStatus() throws Exception {
+        LoanApplication loan = loanRepository.getReferenceById(loanId);
+        assertUsesIndex(plan(() -> emiRepository.findByLoanAndPaymentStatus(loan, PaymentStatus.PENDING),
+                loanId, PaymentStatus.PENDING.name()), "idx_emi_schedule_loan_status_due");
+    }
+
+    @Test
+    void overdueScan() throws Exception {
+        LocalDate today = LocalDate.now();
+        assertUsesIndex(plan(() -> emiRepository.findByDueDateBeforeAndPaymentStatus(today, PaymentStatus.PENDING),
+                today, PaymentStatus.PENDING.name()), "idx_emi_schedule_status_due");
+    }
+
+    @Test
+    void reminderWindowScan() throws Exception {
+        LocalDate today = LocalDate.now();
+        LocalDate cutoff = today.plusDays(3);
+        assertUsesIndex(plan(() -> emiRepository.findUnremindedDueWithApplicant(today, cutoff, PaymentStatus.PENDING, Limit.of(500)),
+                today, cutoff, PaymentStatus.PENDING.name(), 500), "idx_emi_schedule_status_due");
+    }
+
+    @Test
+    void loansByStatus() throws Exception {
+        assertUsesIndex(plan(() -> loanRepository.findByStatus(LoanStatus.SUBMITTED), LoanStatus.SUBMITTED.name()),
+                "idx_home_loan_applications_status_submitted");
+        assertUsesIndex(plan(() -> loanRepository.findWithApplicantByStatus(LoanStatus.SUBMITTED), LoanStatus.SUBMITTED.name()),
+                "idx_home_loan_applications_status_submitted");
+    }
+
+    // H2 keeps the index it created for the foreign key next to ours on the same column, and picks
+    // either; InnoDB drops its implicit one, see V2
+    @Test
+    void loansOfABorrower() throws Exception {
+        assertUsesIndex(plan(() -> loanRepository.findByApplicantId(userId), userId),
+                "idx_home_loan_applications_user", "fk_home_loan_applications_user");
+    }
+
+    @Test
+    void documentsOfALoan() throws Exception {
+        assertUsesIndex(plan(() -> documentRepository.findByLoanId(loanId), loanId),
+                "idx_loan_documents_loan", "fk_loan_documents_loan");
+    }
+
+    private static void assertUsesIndex(String plan, String... indexes) {
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+        assertThat(plan.toLowerCase()).containsAnyOf(indexes);
+    }
+
+    private String plan(SqlAccounting.Work query, Object... arguments) throws Exception {
+        StatementStats stats = SqlAccounting.capture(query);
+        assertThat(stats.getShapeCounts()).hasSize(1);
+        String sql = stats.getShapeCounts().keySet().iterator().next();
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, arguments);
+    }
+}
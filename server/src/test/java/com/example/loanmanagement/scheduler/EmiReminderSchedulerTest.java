@@ -0,0 +1,138 @@
+package com.example.loanmanagement.scheduler;
+
+import com.example.loanmanagement.entity.EmiSchedule;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.LoanStatus;
+import com.example.loanmanagement.entity.enums.PaymentStatus;
+import com.example.loanmanagement.repository.EmiScheduleRepository;
+import com.example.loanmanagement.repository.LoanApplicationRepository;
+import com.example.loanmanagement.repository.UserRepository;
+import com.example.loanmanagement.support.SmtpStandIn;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "emi.reminder.enabled=true",
+        "emi.reminder.cron=-",
+        "emi.reminder.days-ahead=3",
+        "notification.digest.window=0s",
+        "notification.digest.flush-interval=100"
+})
+@ActiveProfiles("test")
+class EmiReminderSchedulerTest {
+
+    private static final SmtpStandIn smtp = startSmtp();
+
+    @Autowired
+    private EmiReminderScheduler scheduler;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LoanApplicationRepository loanRepository;
+    @Autowired
+    private EmiScheduleRepository emiRepository;
+
+    @DynamicPropertySource
+    static void mailServer(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", smtp::getPort);
+    }
+
+    @AfterAll
+    static void stopSmtp() throws IOException {
+        smtp.close();
+    }
+
+    @Test
+    void remindsEachInstallmentInTheWindowOnce() throws Exception {
+        LocalDate today = LocalDate.now();
+        User borrower = borrower();
+        LoanApplication loan = loan(borrower);
+        EmiSchedule overdue = emi(loan, today.minusDays(10), PaymentStatus.PENDING);
+        EmiSchedule dueTomorrow = emi(loan, today.plusDays(1), PaymentStatus.PENDING);
+        EmiSchedule paid = emi(loan, today.plusDays(2), PaymentStatus.PAID);
+        EmiSchedule dueInThreeDays = emi(loan, today.plusDays(3), PaymentStatus.PENDING);
+        EmiSchedule dueNextWeek = emi(loan, today.plusDays(7), PaymentStatus.PENDING);
+
+        scheduler.sendDueReminders();
+
+        Map<UUID, EmiSchedule> stored = emiRepository.findAll().stream()
+                .collect(Collectors.toMap(EmiSchedule::getId, Function.identity()));
+        assertThat(stored.get(dueTomorrow.getId()).getRemindedAt()).isNotNull();
+        assertThat(stored.get(dueInThreeDays.getId()).getRemindedAt()).isNotNull();
+        assertThat(stored.get(overdue.getId()).getRemindedAt()).isNull();
+        assertThat(stored.get(paid.getId()).getRemindedAt()).isNull();
+        assertThat(stored.get(dueNextWeek.getId()).getRemindedAt()).isNull();
+
+        // Both installments in one digest
+        List<SmtpStandIn.Message> messages = awaitMessages(1);
+        assertThat(messages.get(0).recipients()).containsExactly(borrower.getEmail());
+        assertThat(messages.get(0).data()).contains("2 notifications");
+
+        // The next day's run finds nothing new to send
+        scheduler.sendDueReminders();
+        Thread.sleep(500);
+        assertThat(smtp.getMessages()).hasSize(1);
+    }
+
+    private List<SmtpStandIn.Message> awaitMessages(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (smtp.getMessages().size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(smtp.getMessages()).hasSize(count);
+        return smtp.getMessages();
+    }
+
+    private User borrower() {
+        User user = new User();
+        user.setFullName("Ananya Sharma");
+        user.setEmail("ananya.sharma@example.com");
+        user.setPassword("not-a-hash");
+        return userRepository.save(user);
+    }
+
+    private LoanApplication loan(User applicant) {
+        LoanApplication loan = new LoanApplication();
+        loan.setApplicant(applicant);
+        loan.setAmount(new BigDecimal("4500000.00"));
+        loan.setPropertyValue(new BigDecimal("6200000.00"));
+        loan.setTenureMonths(240);
+        loan.setInterestRate(new BigDecimal("8.50"));
+        loan.setStatus(LoanStatus.DISBURSED);
+        return loanRepository.save(loan);
+    }
+
+    private EmiSchedule emi(LoanApplication loan, LocalDate dueDate, PaymentStatus status) {
+        EmiSchedule emi = new EmiSchedule();
+        emi.setLoan(loan);
+        emi.setDueDate(dueDate);
+        emi.setAmount(new BigDecimal("39052.43"));
+        emi.setPaymentStatus(status);
+        return emiRepository.save(emi);
+    }
+
+    private static SmtpStandIn startSmtp() {
+        try {
+            return new SmtpStandIn();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
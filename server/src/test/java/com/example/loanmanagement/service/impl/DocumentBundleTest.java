@@ -0,0 +1,138 @@
+package com.example.loanmanagement.service.impl;
+
+import com.example.loanmanagement.dto.LoanApplicationRequest;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.LoanDocument;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.DocumentType;
+import com.example.loanmanagement.entity.enums.Role;
+import com.example.loanmanagement.repository.UserRepository;
+import com.example.loanmanagement.service.DocumentService;
+import com.example.loanmanagement.service.LoanService;
+import com.example.loanmanagement.storage.DocumentCompressor;
+import com.example.loanmanagement.storage.DocumentStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The ZIP bundle of a loan's documents: one entry per document under its type, original bytes even
+ * when stored compressed, and a list of the files that could not be read instead of failing.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DocumentBundleTest {
+
+    @Autowired
+    private DocumentService documentService;
+    @Autowired
+    private DocumentStorage storage;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LoanService loanService;
+
+    private LoanApplication loan;
+    private byte[] slip;
+    private byte[] secondSlip;
+    private byte[] statement;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        loan = loan();
+        // Unique per test, so no blob is shared with another test's documents
+        slip = new byte[8_000];
+        new Random().nextBytes(slip);
+        secondSlip = ("Salary slip for April " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        statement = statement();
+        upload(DocumentType.SALARY_SLIP, "slip.pdf", slip);
+        upload(DocumentType.SALARY_SLIP, "slip.pdf", secondSlip);
+        LoanDocument compressed = upload(DocumentType.BANK_STATEMENT, "statement.csv", statement);
+        assertThat(compressed.getContentEncoding()).isEqualTo(DocumentCompressor.GZIP);
+    }
+
+    @Test
+    void bundlesEveryDocumentUnderItsType() throws IOException {
+        Map<String, byte[]> entries = bundle();
+
+        assertThat(entries).containsOnlyKeys("SALARY_SLIP/slip.pdf", "SALARY_SLIP/slip (2).pdf", "BANK_STATEMENT/statement.csv");
+        assertThat(entries.values()).anySatisfy(content -> assertThat(content).isEqualTo(slip));
+        assertThat(entries.values()).anySatisfy(content -> assertThat(content).isEqualTo(secondSlip));
+        // Stored gzip-encoded, bundled as uploaded
+        assertThat(entries.get("BANK_STATEMENT/statement.csv")).isEqualTo(statement);
+    }
+
+    @Test
+    void listsDocumentsWhoseFileIsMissing() throws IOException {
+        byte[] idProof = ("PAN card " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        LoanDocument lost = upload(DocumentType.ID_PROOF, "pan-card.pdf", idProof);
+        storage.delete(lost.getContentHash());
+
+        Map<String, byte[]> entries = bundle();
+
+        assertThat(entries).containsOnlyKeys("SALARY_SLIP/slip.pdf", "SALARY_SLIP/slip (2).pdf",
+                "BANK_STATEMENT/statement.csv", "MISSING_FILES.txt");
+        assertThat(new String(entries.get("MISSING_FILES.txt"), StandardCharsets.UTF_8)).isEqualTo("ID_PROOF/pan-card.pdf");
+        assertThat(entries.get("BANK_STATEMENT/statement.csv")).isEqualTo(statement);
+    }
+
+    private Map<String, byte[]> bundle() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        documentService.writeDocumentBundle(loan.getId(), out);
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                assertThat(entries.put(entry.getName(), zip.readAllBytes())).as("entry %s", entry.getName()).isNull();
+            }
+        }
+        return entries;
+    }
+
+    private LoanDocument upload(DocumentType type, String fileName, byte[] content) throws IOException {
+        return documentService.uploadDocument(loan.getId(), type,
+                new MockMultipartFile("file", fileName, "application/octet-stream", content));
+    }
+
+    private static byte[] statement() {
+        StringBuilder csv = new StringBuilder("date,description,amount,").append(UUID.randomUUID()).append('\n');
+        for (int i = 1; i <= 300; i++) {
+            csv.append("2024-04-").append(String.format("%02d", i % 28 + 1))
+                    .append(",UPI payment GROCERY MART,-").append(1200 + i).append(".00\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private LoanApplication loan() {
+        User user = new User();
+        user.setFullName("Ananya Sharma");
+        user.setEmail("bundle-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-hash");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setAmount(new BigDecimal("1200000.00"));
+        request.setTenureMonths(12);
+        request.setInterestRate(new BigDecimal("8.50"));
+        request.setPropertyValue(new BigDecimal("2000000.00"));
+        request.setPurpose("Home renovation");
+        return loanService.applyForLoan(user.getId(), request);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.loanmanagement.service.impl;
+
+import com.example.loanmanagement.dto.UploadSessionRequest;
+import com.example.loanmanagement.dto.UploadSessionResponse;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.DocumentType;
+import com.example.loanmanagement.entity.enums.Role;
+import com.example.loanmanagement.entity.id.UuidV7Generator;
+import com.example.loanmanagement.repository.LoanApplicationRepository;
+import com.example.loanmanagement.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UploadSessionServiceImplTest {
+
+    private static final String ZERO_CHECKSUM = "0".repeat(64);
+
+    @Autowired
+    private UploadSessionServiceImpl uploadSessionService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LoanApplicationRepository loanRepository;
+
+    @AfterEach
+    void noLocksLeft() {
+        assertThat(locks()).isEmpty();
+    }
+
+    @Test
+    void unknownSessionIdsLeaveNoLockBehind() {
+        User user = user(Role.USER);
+        for (int i = 0; i < 3; i++) {
+            UUID unknown = UuidV7Generator.next();
+            assertThatThrownBy(() -> uploadSessionService.appendChunk(unknown, 0, ZERO_CHECKSUM,
+                    new ByteArrayInputStream(new byte[1]), user))
+                    .hasMessageContaining("Upload session not found");
+            assertThatThrownBy(() -> uploadSessionService.completeSession(unknown, user))
+                    .hasMessageContaining("Upload session not found");
+            assertThatThrownBy(() -> uploadSessionService.abortSession(unknown, user))
+                    .hasMessageContaining("Upload session not found");
+        }
+    }
+
+    @Test
+    void completedAndAbortedSessionsLeaveNoLockBehind() throws Exception {
+        User borrower = user(Role.USER);
+        LoanApplication loan = loan(borrower);
+        byte[] content = "salary slip".getBytes(StandardCharsets.UTF_8);
+
+        UploadSessionResponse completed = uploadSessionService.createSession(request(loan, content.length), borrower);
+        uploadSessionService.appendChunk(completed.getId(), 0, sha256(content), new ByteArrayInputStream(content), borrower);
+        assertThat(locks()).containsOnlyKeys(completed.getId());
+        uploadSessionService.completeSession(completed.getId(), borrower);
+
+        UploadSessionResponse aborted = uploadSessionService.createSession(request(loan, content.length), borrower);
+        uploadSessionService.appendChunk(aborted.getId(), 0, sha256(content), new ByteArrayInputStream(content), borrower);
+        uploadSessionService.abortSession(aborted.getId(), borrower);
+    }
+
+    @Test
+    void onlyTheOwnerOrAnAdminCanUseASession() throws Exception {
+        User borrower = user(Role.USER);
+        User other = user(Role.USER);
+        LoanApplication loan = loan(borrower);
+        byte[] content = "bank statement".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> uploadSessionService.createSession(request(loan, content.length), other))
+                .hasMessageContaining("Loan not found");
+
+        UUID sessionId = uploadSessionService.createSession(request(loan, content.length), borrower).getId();
+        assertThatThrownBy(() -> uploadSessionService.getSession(sessionId, other))
+                .hasMessageContaining("Upload session not found");
+        assertThatThrownBy(() -> uploadSessionService.appendChunk(sessionId, 0, sha256(content),
+                new ByteArrayInputStream(content), other))
+                .hasMessageContaining("Upload session not found");
+        assertThatThrownBy(() -> uploadSessionService.completeSession(sessionId, other))
+                .hasMessageContaining("Upload session not found");
+        assertThatThrownBy(() -> uploadSessionService.abortSession(sessionId, other))
+                .hasMessageContaining("Upload session not found");
+        assertThat(locks()).isEmpty();
+
+        uploadSessionService.appendChunk(sessionId, 0, sha256(content), new ByteArrayInputStream(content), borrower);
+        assertThat(uploadSessionService.getSession(sessionId, borrower).getReceivedBytes()).isEqualTo(content.length);
+        assertThat(uploadSessionService.getSession(sessionId, user(Role.ADMIN)).getReceivedBytes()).isEqualTo(content.length);
+        uploadSessionService.abortSession(sessionId, borrower);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<UUID, ?> locks() {
+        Object target = AopProxyUtils.getSingletonTarget(uploadSessionService);
+        return (Map<UUID, ?>) ReflectionTestUtils.getField(target != null ? target : uploadSessionService, "locks");
+    }
+
+    private User user(Role role) {
+        User user = new User();
+        user.setFullName("Ananya Sharma");
+        user.setEmail("ananya-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-hash");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private LoanApplication loan(User applicant) {
+        LoanApplication loan = new LoanApplication();
+        loan.setApplicant(applicant);
+        loan.setAmount(new BigDecimal("4500000.00"));
+        loan.setTenureMonths(240);
+        loan.setInterestRate(new BigDecimal("8.50"));
+        return loanRepository.save(loan);
+    }
+
+    private static UploadSessionRequest request(LoanApplication loan, long size) {
+        UploadSessionRequest request = new UploadSessionRequest();
+        request.setLoanId(loan.getId());
+        request.setDocumentType(DocumentType.SALARY_SLIP);
+        request.setFileName("salary-slip.pdf");
+        request.setTotalSize(size);
+        return request;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.loanmanagement.storage;
+
+import com.example.loanmanagement.dto.LoanApplicationRequest;
+import com.example.loanmanagement.entity.DocumentBlob;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.LoanDocument;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.DocumentType;
+import com.example.loanmanagement.entity.enums.Role;
+import com.example.loanmanagement.repository.DocumentBlobRepository;
+import com.example.loanmanagement.repository.LoanDocumentRepository;
+import com.example.loanmanagement.repository.UserRepository;
+import com.example.loanmanagement.service.DocumentService;
+import com.example.loanmanagement.service.LoanService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Identical uploads share one blob; the blob goes when its last document does, and only once
+ * that delete has committed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ContentAddressedDocumentStoreTest {
+
+    @Autowired
+    private DocumentService documentService;
+    @Autowired
+    private DocumentBlobRepository blobRepository;
+    @Autowired
+    private LoanDocumentRepository documentRepository;
+    @Autowired
+    private DocumentStorage storage;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void sharesOneBlobAndPurgesItWithTheLastReference() throws IOException {
+        byte[] content = ("Identity proof " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        LoanDocument first = upload(loan(), content);
+        LoanDocument second = upload(loan(), content);
+
+        String hash = first.getContentHash();
+        assertThat(second.getContentHash()).isEqualTo(hash);
+        assertThat(refCount(hash)).isEqualTo(2);
+        assertThat(storage.stat(hash)).isNotNull();
+
+        documentService.deleteDocument(first.getId());
+        assertThat(refCount(hash)).isEqualTo(1);
+        assertThat(storage.stat(hash)).isNotNull();
+
+        documentService.deleteDocument(second.getId());
+        assertThat(blobRepository.existsById(hash)).isFalse();
+        assertThat(storage.stat(hash)).isNull();
+    }
+
+    @Test
+    void keepsTheBlobWhenTheDeleteRollsBack() throws IOException {
+        LoanDocument document = upload(loan(), ("Salary slip " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        String hash = document.getContentHash();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                documentService.deleteDocument(document.getId());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            status.setRollbackOnly();
+        });
+
+        assertThat(documentRepository.existsById(document.getId())).isTrue();
+        assertThat(refCount(hash)).isEqualTo(1);
+        assertThat(storage.stat(hash)).isNotNull();
+    }
+
+    private int refCount(String hash) {
+        return blobRepository.findById(hash).map(DocumentBlob::getRefCount).orElseThrow();
+    }
+
+    private LoanDocument upload(LoanApplication loan, byte[] content) throws IOException {
+        return documentService.uploadDocument(loan.getId(), DocumentType.ID_PROOF,
+                new MockMultipartFile("file", "id-proof.txt", "text/plain", content));
+    }
+
+    private LoanApplication loan() {
+        User user = new User();
+        user.setFullName("Ananya Sharma");
+        user.setEmail("blobs-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-hash");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setAmount(new BigDecimal("1200000.00"));
+        request.setTenureMonths(12);
+        request.setInterestRate(new BigDecimal("8.50"));
+        request.setPropertyValue(new BigDecimal("2000000.00"));
+        request.setPurpose("Home renovation");
+        return loanService.applyForLoan(user.getId(), request);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.loanmanagement.storage;
+
+import com.example.loanmanagement.dto.LoanApplicationRequest;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.LoanDocument;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.DocumentType;
+import com.example.loanmanagement.entity.enums.Role;
+import com.example.loanmanagement.repository.UserRepository;
+import com.example.loanmanagement.service.DocumentService;
+import com.example.loanmanagement.service.LoanService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Downloads go through {@link DocumentCache}: small documents are kept after the first read,
+ * deleting a document drops its entry, and documents above the per-entry cap are never kept.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DocumentCacheTest {
+
+    @Autowired
+    private DocumentService documentService;
+    @Autowired
+    private DocumentCache documentCache;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LoanService loanService;
+
+    private LoanApplication loan;
+
+    @BeforeEach
+    void setUp() {
+        loan = loan();
+    }
+
+    @Test
+    void servesRepeatedDownloadsFromMemory() throws IOException {
+        byte[] content = randomBytes(20_000);
+        LoanDocument document = upload(content);
+        String key = document.getContentHash();
+        assertThat(documentCache.getIfPresent(key)).isNull();
+
+        assertThat(download(document)).isEqualTo(content);
+        DocumentCache.CachedObject cached = documentCache.getIfPresent(key);
+        assertThat(cached).isNotNull();
+        assertThat(cached.getData()).isEqualTo(content);
+
+        long hits = hitCount();
+        assertThat(download(document)).isEqualTo(content);
+        assertThat(hitCount()).isGreaterThan(hits);
+    }
+
+    @Test
+    void dropsTheEntryWhenTheDocumentIsDeleted() throws IOException {
+        LoanDocument document = upload(randomBytes(20_000));
+        download(document);
+        assertThat(documentCache.getIfPresent(document.getContentHash())).isNotNull();
+
+        documentService.deleteDocument(document.getId());
+
+        assertThat(documentCache.getIfPresent(document.getContentHash())).isNull();
+    }
+
+    @Test
+    void neverKeepsDocumentsAboveTheEntryCap() throws IOException {
+        long maxEntryBytes = (long) documentCache.getStatistics().get("maxEntryBytes");
+        // Random bytes are stored uncompressed, so the stored object is over the cap too
+        byte[] content = randomBytes((int) (maxEntryBytes + DataSize.ofKilobytes(1).toBytes()));
+        LoanDocument document = upload(content);
+
+        assertThat(download(document)).isEqualTo(content);
+        assertThat(download(document)).isEqualTo(content);
+
+        assertThat(documentCache.getIfPresent(document.getContentHash())).isNull();
+    }
+
+    private byte[] download(LoanDocument document) throws IOException {
+        try (InputStream in = documentService.downloadDocument(document.getId()).openDecodedStream(0)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private long hitCount() {
+        return (long) documentCache.getStatistics().get("hitCount");
+    }
+
+    private LoanDocument upload(byte[] content) throws IOException {
+        return documentService.uploadDocument(loan.getId(), DocumentType.ADDRESS_PROOF,
+                new MockMultipartFile("file", "utility-bill.pdf", "application/pdf", content));
+    }
+
+    // Unique per call, so no blob is shared with another test's documents
+    private static byte[] randomBytes(int size) {
+        byte[] content = new byte[size];
+        new Random().nextBytes(content);
+        return content;
+    }
+
+    private LoanApplication loan() {
+        User user = new User();
+        user.setFullName("Ananya Sharma");
+        user.setEmail("cache-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-hash");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setAmount(new BigDecimal("1200000.00"));
+        request.setTenureMonths(12);
+        request.setInterestRate(new BigDecimal("8.50"));
+        request.setPropertyValue(new BigDecimal("2000000.00"));
+        request.setPurpose("Home renovation");
+        return loanService.applyForLoan(user.getId(), request);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.loanmanagement.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentStorageMigratorTest {
+
+    // More than one batch
+    private static final int FILES = 2500;
+
+    @TempDir
+    private Path legacyDir;
+
+    @Test
+    void movesTheFlatDirectoryInBatchesAndLeavesFilesThatFail() throws Exception {
+        for (int i = 0; i < FILES; i++) {
+            Files.writeString(legacyDir.resolve(String.format("doc-%05d.pdf", i)), "document " + i, StandardCharsets.UTF_8);
+        }
+        // Not a valid storage key, so every batch would return it again if it were not remembered
+        Files.writeString(legacyDir.resolve(".unmovable"), "stays", StandardCharsets.UTF_8);
+        InMemoryDocumentStorage target = new InMemoryDocumentStorage();
+        MigratingDocumentStorage storage = new MigratingDocumentStorage(target, legacyDir);
+
+        // Files not moved yet are read from the flat directory but not listed
+        assertThat(storage.stat("doc-00000.pdf").getLocalPath()).isEqualTo(legacyDir.resolve("doc-00000.pdf"));
+        assertThat(keys(storage)).isEmpty();
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("documentStorage", storage);
+        DocumentStorageMigrator migrator = new DocumentStorageMigrator(beanFactory.getBeanProvider(DocumentStorage.class),
+                false, Duration.ZERO);
+        assertThat(migrator.start()).isTrue();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (Boolean.TRUE.equals(migrator.getStatus().get("running"))) {
+            assertThat(System.nanoTime()).as("migration finished").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+
+        Map<String, Object> status = migrator.getStatus();
+        assertThat(status.get("moved")).isEqualTo((long) FILES);
+        assertThat(status.get("failed")).isEqualTo(1L);
+        assertThat(status.get("remaining")).isEqualTo(0L);
+        try (Stream<Path> left = Files.list(legacyDir)) {
+            assertThat(left.map(file -> file.getFileName().toString())).containsExactly(".unmovable");
+        }
+        List<String> keys = keys(storage);
+        assertThat(keys).hasSize(FILES).isSorted();
+        try (InputStream in = storage.openStream("doc-01234.pdf", 0)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("document 1234");
+        }
+    }
+
+    private static List<String> keys(DocumentStorage storage) throws IOException {
+        try (Stream<String> keys = storage.keys()) {
+            return keys.toList();
+        }
+    }
+}
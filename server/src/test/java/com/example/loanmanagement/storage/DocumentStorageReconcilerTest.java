@@ -0,0 +1,231 @@
+package com.example.loanmanagement.storage;
+
+import com.example.loanmanagement.dto.LoanApplicationRequest;
+import com.example.loanmanagement.entity.DocumentBlob;
+import com.example.loanmanagement.entity.LoanApplication;
+import com.example.loanmanagement.entity.LoanDocument;
+import com.example.loanmanagement.entity.User;
+import com.example.loanmanagement.entity.enums.DocumentType;
+import com.example.loanmanagement.entity.enums.Role;
+import com.example.loanmanagement.repository.DocumentBlobRepository;
+import com.example.loanmanagement.repository.LoanDocumentRepository;
+import com.example.loanmanagement.repository.UserRepository;
+import com.example.loanmanagement.service.LoanService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the reconciler over its own in-memory storage, against the rows of the test database.
+ * Rows left by other tests have no object here; they only add to the {@code missing} count.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DocumentStorageReconcilerTest {
+
+    private static final Duration LONG = Duration.ofDays(7);
+
+    @Autowired
+    private DocumentBlobRepository blobRepository;
+    @Autowired
+    private LoanDocumentRepository documentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LoanService loanService;
+    @Autowired
+    private DocumentCompressor compressor;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        prefix = "rc" + UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @Test
+    void mergesTheListingWithBlobsAndLegacyDocuments() throws Exception {
+        InMemoryDocumentStorage storage = new InMemoryDocumentStorage();
+        String liveBlob = prefix + "-a";
+        String legacyFile = prefix + "-b.pdf";
+        String orphan = prefix + "-c";
+        String unreferenced = prefix + "-d";
+        String missingBlob = prefix + "-e";
+        put(storage, liveBlob);
+        put(storage, legacyFile);
+        put(storage, orphan);
+        put(storage, unreferenced);
+        blob(liveBlob, 1, OffsetDateTime.now());
+        legacyDocument(legacyFile);
+        blob(unreferenced, 0, OffsetDateTime.now().minusHours(2));
+        blob(missingBlob, 1, OffsetDateTime.now());
+        Thread.sleep(10);
+
+        Map<String, Object> status = run(reconciler(storage, Duration.ZERO, LONG));
+
+        assertThat(storage.stat(liveBlob)).isNotNull();
+        assertThat(storage.stat(legacyFile)).isNotNull();
+        assertThat(storage.stat(orphan)).isNull();
+        assertThat(quarantinedKeys(storage)).containsExactly(orphan);
+        // A blob row at zero references is purged with its object, not quarantined
+        assertThat(storage.stat(unreferenced)).isNull();
+        assertThat(blobRepository.existsById(unreferenced)).isFalse();
+        assertThat(blobRepository.existsById(missingBlob)).isTrue();
+        assertThat((Long) status.get("quarantined")).isEqualTo(1);
+        assertThat((Long) status.get("missing")).isPositive();
+        assertThat((Long) status.get("outOfOrder")).isZero();
+    }
+
+    @Test
+    void leavesObjectsAndBlobsYoungerThanTheGracePeriod() throws Exception {
+        InMemoryDocumentStorage storage = new InMemoryDocumentStorage();
+        String orphan = prefix + "-a";
+        String unreferenced = prefix + "-b";
+        put(storage, orphan);
+        put(storage, unreferenced);
+        blob(unreferenced, 0, OffsetDateTime.now());
+
+        Map<String, Object> status = run(reconciler(storage, Duration.ofHours(1), LONG));
+
+        assertThat(storage.stat(orphan)).isNotNull();
+        assertThat(storage.stat(unreferenced)).isNotNull();
+        assertThat(blobRepository.existsById(unreferenced)).isTrue();
+        assertThat(quarantinedKeys(storage)).isEmpty();
+        assertThat((Long) status.get("quarantined")).isZero();
+    }
+
+    @Test
+    void purgesExpiredQuarantineUnlessTheKeyIsReferencedAgain() throws Exception {
+        InMemoryDocumentStorage storage = new InMemoryDocumentStorage();
+        String purged = prefix + "-a";
+        String restored = prefix + "-b";
+        put(storage, purged);
+        put(storage, restored);
+        Thread.sleep(10);
+
+        run(reconciler(storage, Duration.ZERO, LONG));
+        assertThat(quarantinedKeys(storage)).containsExactly(purged, restored);
+
+        // The upload that wrote it committed after all
+        blob(restored, 1, OffsetDateTime.now());
+        Thread.sleep(10);
+        Map<String, Object> status = run(reconciler(storage, Duration.ZERO, Duration.ZERO));
+
+        assertThat(quarantinedKeys(storage)).isEmpty();
+        assertThat(storage.stat(purged)).isNull();
+        assertThat(storage.stat(restored)).isNotNull();
+        assertThat((Long) status.get("restored")).isEqualTo(1);
+    }
+
+    @Test
+    void skipsKeysListedOutOfOrderAndNeverQuarantinesALiveObject() throws Exception {
+        String first = prefix + "-a";
+        String second = prefix + "-b";
+        String third = prefix + "-c";
+        InMemoryDocumentStorage storage = new InMemoryDocumentStorage() {
+            @Override
+            public Stream<String> keys() {
+                // As a listing collated differently from String.compareTo would arrive
+                return Stream.of(second, first, third);
+            }
+        };
+        put(storage, first);
+        put(storage, second);
+        put(storage, third);
+        blob(first, 1, OffsetDateTime.now());
+        blob(third, 1, OffsetDateTime.now());
+        Thread.sleep(10);
+
+        Map<String, Object> status = run(reconciler(storage, Duration.ZERO, LONG));
+
+        assertThat(storage.stat(first)).isNotNull();
+        assertThat(storage.stat(third)).isNotNull();
+        assertThat(quarantinedKeys(storage)).containsExactly(second);
+        assertThat((Long) status.get("outOfOrder")).isEqualTo(1);
+    }
+
+    private DocumentStorageReconciler reconciler(DocumentStorage storage, Duration grace, Duration retention) {
+        ContentAddressedDocumentStore documentStore = new ContentAddressedDocumentStore(blobRepository, storage,
+                compressor, transactionManager, "target/test-uploads");
+        return new DocumentStorageReconciler(storage, blobRepository, documentRepository, documentStore,
+                grace, retention, 0);
+    }
+
+    private static Map<String, Object> run(DocumentStorageReconciler reconciler) throws InterruptedException {
+        assertThat(reconciler.start()).isTrue();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (Boolean.TRUE.equals(reconciler.getStatus().get("running"))) {
+            assertThat(System.nanoTime()).as("reconciliation finished").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        Map<String, Object> status = reconciler.getStatus();
+        assertThat(status.get("lastError")).isNull();
+        return status;
+    }
+
+    private static void put(DocumentStorage storage, String key) throws IOException {
+        Path file = Files.createTempFile("reconciler-", ".part");
+        Files.writeString(file, key, StandardCharsets.UTF_8);
+        storage.put(key, file);
+    }
+
+    private static List<String> quarantinedKeys(DocumentStorage storage) throws IOException {
+        try (Stream<StoredObject> objects = storage.quarantined()) {
+            return objects.map(StoredObject::getKey).toList();
+        }
+    }
+
+    private void blob(String hash, int refCount, OffsetDateTime createdAt) {
+        transaction.executeWithoutResult(status -> {
+            blobRepository.acquire(hash, 4, hash, null, 4, createdAt);
+            DocumentBlob blob = blobRepository.findById(hash).orElseThrow();
+            blob.setRefCount(refCount);
+        });
+    }
+
+    private void legacyDocument(String filePath) {
+        User user = new User();
+        user.setFullName("Ananya Sharma");
+        user.setEmail("reconciler-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("not-a-hash");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setAmount(new BigDecimal("1200000.00"));
+        request.setTenureMonths(12);
+        request.setInterestRate(new BigDecimal("8.50"));
+        request.setPropertyValue(new BigDecimal("2000000.00"));
+        request.setPurpose("Home renovation");
+        LoanApplication loan = loanService.applyForLoan(user.getId(), request);
+
+        LoanDocument document = new LoanDocument();
+        document.setLoan(loan);
+        document.setDocumentType(DocumentType.SALARY_SLIP);
+        document.setFileName("salary-slip.pdf");
+        document.setFilePath(filePath);
+        documentRepository.save(document);
+    }
+}
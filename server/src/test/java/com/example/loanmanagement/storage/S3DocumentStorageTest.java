@@ -0,0 +1,142 @@
+package com.example.loanmanagement.storage;
+
+import com.example.loanmanagement.support.S3StandIn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the S3 backend against {@link S3StandIn}, with the client built the way {@code StorageConfig}
+ * builds it for an S3-compatible server.
+ */
+class S3DocumentStorageTest {
+
+    private static final String BUCKET = "loan-documents";
+    private static final String PREFIX = "documents/";
+
+    @TempDir
+    private Path tempDir;
+
+    private S3StandIn standIn;
+    private S3Client client;
+    private S3DocumentStorage storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        standIn = new S3StandIn(BUCKET);
+        client = S3Client.builder()
+                .region(Region.US_EAST_1)
+                .forcePathStyle(true)
+                .endpointOverride(URI.create(standIn.getEndpoint()))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .build();
+        storage = new S3DocumentStorage(client, BUCKET, PREFIX);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        standIn.close();
+    }
+
+    @Test
+    void storesReadsAndDeletesUnderThePrefix() throws IOException {
+        Path source = file("salary slip for March");
+
+        storage.put("b1", source);
+
+        assertThat(source).doesNotExist();
+        assertThat(standIn.getKeys()).containsExactly(PREFIX + "b1");
+        StoredObject object = storage.stat("b1");
+        assertThat(object.getSize()).isEqualTo(21);
+        assertThat(object.getLastModified()).isPositive();
+        assertThat(read("b1", 0)).isEqualTo("salary slip for March");
+        assertThat(read("b1", 12)).isEqualTo("for March");
+
+        storage.delete("b1");
+        assertThat(storage.stat("b1")).isNull();
+        assertThatThrownBy(() -> storage.openStream("b1", 0)).isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void keepsTheStoredObjectWhenTheKeyExists() throws IOException {
+        storage.put("b1", file("first"));
+        Path second = file("second");
+
+        storage.put("b1", second);
+
+        assertThat(second).doesNotExist();
+        assertThat(read("b1", 0)).isEqualTo("first");
+    }
+
+    @Test
+    void listsKeysInOrderWithoutTheQuarantine() throws IOException {
+        storage.put("c3", file("c"));
+        storage.put("a1", file("a"));
+        storage.put("b2", file("b"));
+
+        storage.quarantine("b2");
+
+        assertThat(keys()).containsExactly("a1", "c3");
+        assertThat(storage.stat("b2")).isNull();
+        assertThat(quarantinedKeys()).containsExactly("b2");
+        assertThat(standIn.getKeys()).contains(PREFIX + "quarantine/b2");
+    }
+
+    @Test
+    void restoresAndPurgesQuarantinedObjects() throws IOException {
+        storage.put("a1", file("a"));
+        storage.put("b2", file("b"));
+        storage.quarantine("a1");
+        storage.quarantine("b2");
+
+        storage.restore("a1");
+        storage.purgeQuarantined("b2");
+
+        assertThat(keys()).containsExactly("a1");
+        assertThat(read("a1", 0)).isEqualTo("a");
+        assertThat(quarantinedKeys()).isEmpty();
+        assertThat(standIn.getKeys()).containsExactly(PREFIX + "a1");
+        assertThatThrownBy(() -> storage.restore("b2")).isInstanceOf(NoSuchFileException.class);
+    }
+
+    private Path file(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(tempDir, "upload-", ".part"), content, StandardCharsets.UTF_8);
+    }
+
+    private String read(String key, long offset) throws IOException {
+        try (InputStream in = storage.openStream(key, offset)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private List<String> keys() {
+        try (Stream<String> keys = storage.keys()) {
+            return keys.toList();
+        }
+    }
+
+    private List<String> quarantinedKeys() {
+        try (Stream<StoredObject> objects = storage.quarantined()) {
+            return objects.map(StoredObject::getKey).toList();
+        }
+    }
+}
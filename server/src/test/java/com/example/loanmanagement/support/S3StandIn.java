@@ -0,0 +1,268 @@
+package com.example.loanmanagement.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+
+/**
+ * An in-process, path-style S3 server for tests: one bucket, objects on the heap, and only the
+ * calls {@code S3DocumentStorage} makes (HEAD, GET with {@code Range}, PUT, copy, DELETE and a
+ * single-page ListObjectsV2 with {@code prefix} and {@code delimiter}). Requests are not
+ * authenticated; signed streaming uploads are decoded.
+ */
+public class S3StandIn implements AutoCloseable {
+
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+
+    private final String bucket;
+    private final HttpServer server;
+    private final NavigableMap<String, StoredObject> objects = new ConcurrentSkipListMap<>();
+
+    public S3StandIn(String bucket) throws IOException {
+        this.bucket = bucket;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String getEndpoint() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Object keys currently in the bucket, in ascending order.
+     */
+    public TreeSet<String> getKeys() {
+        return new TreeSet<>(objects.keySet());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String prefix = "/" + bucket;
+            if (!path.equals(prefix) && !path.startsWith(prefix + "/")) {
+                error(exchange, 404, "NoSuchBucket");
+                return;
+            }
+            String key = path.length() > prefix.length() + 1 ? path.substring(prefix.length() + 1) : "";
+            String method = exchange.getRequestMethod();
+            if (key.isEmpty() && method.equals("GET")) {
+                list(exchange);
+                return;
+            }
+            switch (method) {
+                case "HEAD" -> head(exchange, key);
+                case "GET" -> get(exchange, key);
+                case "PUT" -> put(exchange, key);
+                case "DELETE" -> {
+                    objects.remove(key);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> error(exchange, 405, "MethodNotAllowed");
+            }
+        }
+    }
+
+    private void head(HttpExchange exchange, String key) throws IOException {
+        StoredObject object = objects.get(key);
+        if (object == null) {
+            // Like S3, a HEAD miss has no body to name the error
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        headers(exchange, object);
+        exchange.getResponseHeaders().set("Content-Length", Long.toString(object.data.length));
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void get(HttpExchange exchange, String key) throws IOException {
+        StoredObject object = objects.get(key);
+        if (object == null) {
+            error(exchange, 404, "NoSuchKey");
+            return;
+        }
+        headers(exchange, object);
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        int start = 0;
+        if (range != null && range.startsWith("bytes=") && range.endsWith("-")) {
+            start = Math.min(Integer.parseInt(range.substring("bytes=".length(), range.length() - 1)), object.data.length);
+            exchange.getResponseHeaders().set("Content-Range",
+                    "bytes " + start + "-" + (object.data.length - 1) + "/" + object.data.length);
+        }
+        int length = object.data.length - start;
+        exchange.sendResponseHeaders(start > 0 ? 206 : 200, length == 0 ? -1 : length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(object.data, start, length);
+        }
+    }
+
+    private void put(HttpExchange exchange, String key) throws IOException {
+        String copySource = exchange.getRequestHeaders().getFirst("x-amz-copy-source");
+        if (copySource != null) {
+            String source = URLDecoder.decode(copySource, StandardCharsets.UTF_8);
+            source = source.startsWith("/") ? source.substring(1) : source;
+            StoredObject object = source.startsWith(bucket + "/") ? objects.get(source.substring(bucket.length() + 1)) : null;
+            if (object == null) {
+                error(exchange, 404, "NoSuchKey");
+                return;
+            }
+            StoredObject copy = new StoredObject(object.data, Instant.now());
+            objects.put(key, copy);
+            xml(exchange, 200, "<CopyObjectResult><LastModified>" + copy.lastModified + "</LastModified><ETag>\""
+                    + copy.etag + "\"</ETag></CopyObjectResult>");
+            return;
+        }
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        String contentSha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        if (contentSha != null && contentSha.startsWith("STREAMING-")) {
+            body = decodeChunks(body);
+        }
+        StoredObject object = new StoredObject(body, Instant.now());
+        objects.put(key, object);
+        exchange.getResponseHeaders().set("ETag", "\"" + object.etag + "\"");
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void list(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+        String prefix = query.getOrDefault("prefix", "");
+        String delimiter = query.get("delimiter");
+        StringBuilder contents = new StringBuilder();
+        TreeSet<String> commonPrefixes = new TreeSet<>();
+        int count = 0;
+        for (Map.Entry<String, StoredObject> entry : objects.tailMap(prefix, true).entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            int folder = delimiter == null ? -1 : key.indexOf(delimiter, prefix.length());
+            if (folder >= 0) {
+                commonPrefixes.add(key.substring(0, folder + delimiter.length()));
+                continue;
+            }
+            StoredObject object = entry.getValue();
+            contents.append("<Contents><Key>").append(key).append("</Key><LastModified>").append(object.lastModified)
+                    .append("</LastModified><ETag>\"").append(object.etag).append("\"</ETag><Size>")
+                    .append(object.data.length).append("</Size><StorageClass>STANDARD</StorageClass></Contents>");
+            count++;
+        }
+        StringBuilder result = new StringBuilder("<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">")
+                .append("<Name>").append(bucket).append("</Name><Prefix>").append(prefix).append("</Prefix>")
+                .append("<KeyCount>").append(count + commonPrefixes.size()).append("</KeyCount>")
+                .append("<MaxKeys>1000</MaxKeys><IsTruncated>false</IsTruncated>")
+                .append(contents);
+        for (String commonPrefix : commonPrefixes) {
+            result.append("<CommonPrefixes><Prefix>").append(commonPrefix).append("</Prefix></CommonPrefixes>");
+        }
+        xml(exchange, 200, result.append("</ListBucketResult>").toString());
+    }
+
+    private static void headers(HttpExchange exchange, StoredObject object) {
+        exchange.getResponseHeaders().set("Last-Modified", HTTP_DATE.format(object.lastModified));
+        exchange.getResponseHeaders().set("ETag", "\"" + object.etag + "\"");
+        exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+    }
+
+    private static void error(HttpExchange exchange, int status, String code) throws IOException {
+        xml(exchange, status, "<Error><Code>" + code + "</Code><Message>" + code + "</Message></Error>");
+    }
+
+    private static void xml(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int equals = parameter.indexOf('=');
+            String name = equals < 0 ? parameter : parameter.substring(0, equals);
+            String value = equals < 0 ? "" : parameter.substring(equals + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    /**
+     * Strips the {@code aws-chunked} framing: {@code <hex size>;chunk-signature=...\r\n<data>\r\n}, ending with a zero-size chunk.
+     */
+    private static byte[] decodeChunks(byte[] body) {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        int position = 0;
+        while (position < body.length) {
+            int lineEnd = indexOfCrlf(body, position);
+            String header = new String(body, position, lineEnd - position, StandardCharsets.US_ASCII);
+            int semicolon = header.indexOf(';');
+            int size = Integer.parseInt(semicolon < 0 ? header : header.substring(0, semicolon), 16);
+            if (size == 0) {
+                break;
+            }
+            data.write(body, lineEnd + 2, size);
+            position = lineEnd + 2 + size + 2;
+        }
+        return data.toByteArray();
+    }
+
+    private static int indexOfCrlf(byte[] body, int from) {
+        for (int i = from; i < body.length - 1; i++) {
+            if (body[i] == '\r' && body[i + 1] == '\n') {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Malformed chunked upload");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static final class StoredObject {
+        private final byte[] data;
+        private final Instant lastModified;
+        private final String etag;
+
+        StoredObject(byte[] data, Instant lastModified) {
+            this.data = data;
+            // Whole seconds, like the Last-Modified header
+            this.lastModified = lastModified.truncatedTo(ChronoUnit.SECONDS);
+            this.etag = md5(data);
+        }
+
+        private static String md5(byte[] data) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(data));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
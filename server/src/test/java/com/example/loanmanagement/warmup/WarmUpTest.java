@@ -0,0 +1,58 @@
+package com.example.loanmanagement.warmup;
+
+import com.example.loanmanagement.cache.CaffeineRegionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Starts with a short warm-up, as a deploy does, and checks what it leaves behind in the metrics.
+ */
+@SpringBootTest(properties = {"warmup.enabled=true", "warmup.iterations=20"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false) // tests turn metrics export off otherwise
+@ActiveProfiles("test")
+class WarmUpTest {
+
+    @Autowired
+    private WarmUp warmUp;
+    @Autowired
+    private CaffeineRegionFactory regionFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void leavesTheSecondLevelCacheStatisticsAlone() {
+        assertThat(warmUp.getCompletedIterations()).isEqualTo(20);
+
+        assertThat(regionFactory.getStatistics()).isNotEmpty();
+        regionFactory.getStatistics().forEach((region, statistics) ->
+                assertThat(((Map<String, Object>) statistics).get("missCount")).as(region).isEqualTo(0L));
+    }
+
+    @Test
+    void timesTheFirstRequestsAsWarmed() throws Exception {
+        mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"nobody@example.com\",\"password\":\"password123\"}"));
+
+        Timer timer = meterRegistry.find("startup.requests").tag("uri", "/api/auth/login").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.getId().getTag("warmup")).isEqualTo("warmed");
+        assertThat(timer.count()).isPositive();
+    }
+}